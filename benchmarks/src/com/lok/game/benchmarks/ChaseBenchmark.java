@@ -0,0 +1,93 @@
+package com.lok.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.lok.game.ecs.EntityEngine;
+import com.lok.game.ecs.EntityEngine.EntityID;
+import com.lok.game.ecs.components.AIChaseComponent;
+import com.lok.game.ecs.systems.AIChaseSystem;
+import com.lok.game.headless.HeadlessSimulation;
+import com.lok.game.map.Map;
+import com.lok.game.pathfinding.FlowField;
+
+// Demons that all chase the player from random positions of the demon lair map, and a complete rebuild of the shared flow field.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChaseBenchmark {
+    @Param({ "100", "1000" })
+    public int		  chaserCount;
+
+    private Array<Entity> entities;
+    private AIChaseSystem aiChaseSystem;
+    private FlowField	  flowField;
+    private int		  goalTileIndexX;
+    private int		  goalTileIndexY;
+
+    @Setup(Level.Trial)
+    public void setup(HeadlessState headlessState) {
+	final EntityEngine entityEngine = EntityEngine.getEngine();
+	final Vector2 position = new Vector2();
+
+	entities = new Array<Entity>(chaserCount);
+	for (int i = 0; i < chaserCount; ++i) {
+	    headlessState.getRandomPathablePosition(1, 1.5f, position);
+	    final Entity entity = entityEngine.createEntity(EntityID.DEMON_01, position.x, position.y);
+	    final AIChaseComponent aiChaseComponent = entity.getComponent(AIChaseComponent.class);
+	    aiChaseComponent.chaseRadius = Float.MAX_VALUE;
+	    aiChaseComponent.loseRadius = Float.MAX_VALUE;
+	    entities.add(entity);
+	}
+	aiChaseSystem = entityEngine.getSystem(AIChaseSystem.class);
+
+	final Map map = headlessState.getMap();
+	headlessState.getRandomPathablePosition(1, 1.5f, position);
+	goalTileIndexX = map.getTileIndexX(position.x);
+	goalTileIndexY = map.getTileIndexY(position.y);
+	flowField = new FlowField(map);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+	for (Entity entity : entities) {
+	    EntityEngine.getEngine().removeEntity(entity);
+	}
+	entities.clear();
+    }
+
+    @Benchmark
+    public void aiChaseSystem() {
+	aiChaseSystem.update(HeadlessSimulation.FIXED_STEP);
+    }
+
+    @Benchmark
+    public int flowFieldRebuild() {
+	// alternate between two neighbor tiles like a walking player. A build covers at most (2 * MAX_STEPS + 1)^2 / 2 tiles
+	goalTileIndexX += goalTileIndexX % 2 == 0 ? 1 : -1;
+	flowField.setGoal(goalTileIndexX, goalTileIndexY);
+	for (int i = 0; i < 5; ++i) {
+	    flowField.update();
+	}
+	return flowField.getDistance(goalTileIndexX, goalTileIndexY);
+    }
+}
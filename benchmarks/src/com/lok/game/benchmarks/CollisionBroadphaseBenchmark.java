@@ -0,0 +1,112 @@
+package com.lok.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.lok.game.ecs.SpatialHash;
+import com.lok.game.ecs.components.CollisionComponent;
+
+// Compares the old O(n^2) entity vs entity collision check of the CollisionSystem with the SpatialHash broadphase.
+// Entities are spread with a constant density (like a populated lair) so that the map grows with the entity count.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBroadphaseBenchmark {
+    // entities per square world unit
+    private static final float			DENSITY	= 0.2f;
+
+    @Param({ "100", "1000", "10000" })
+    public int					entityCount;
+
+    private ComponentMapper<CollisionComponent>	collisionComponentMapper;
+    private Array<Entity>			entities;
+    private SpatialHash				spatialHash;
+    private Array<Entity>			candidates;
+    private float				moveOffset;
+
+    @Setup
+    public void setup() {
+	MathUtils.random = new RandomXS128(42);
+	collisionComponentMapper = ComponentMapper.getFor(CollisionComponent.class);
+	spatialHash = new SpatialHash(collisionComponentMapper, 2.5f);
+	candidates = new Array<Entity>();
+	entities = new Array<Entity>(entityCount);
+	moveOffset = 0.05f;
+
+	final float mapSize = (float) Math.sqrt(entityCount / DENSITY);
+	for (int i = 0; i < entityCount; ++i) {
+	    final CollisionComponent collisionComponent = new CollisionComponent();
+	    collisionComponent.collisionRectangle.set(MathUtils.random(mapSize), MathUtils.random(mapSize), 0.8125f, 0.3125f);
+
+	    final Entity entity = new Entity();
+	    entity.add(collisionComponent);
+	    entities.add(entity);
+	    spatialHash.entityAdded(entity);
+	}
+    }
+
+    @Benchmark
+    public int bruteForce() {
+	int collisions = 0;
+	for (int i = 0; i < entities.size; ++i) {
+	    final Entity entity = entities.get(i);
+	    final CollisionComponent collisionComponent = collisionComponentMapper.get(entity);
+	    for (int j = 0; j < entities.size; ++j) {
+		final Entity otherEntity = entities.get(j);
+		if (entity != otherEntity && collisionComponentMapper.get(otherEntity).collisionRectangle.overlaps(collisionComponent.collisionRectangle)) {
+		    ++collisions;
+		}
+	    }
+	}
+	return collisions;
+    }
+
+    @Benchmark
+    public int spatialHash() {
+	int collisions = 0;
+	for (int i = 0; i < entities.size; ++i) {
+	    final Entity entity = entities.get(i);
+	    final CollisionComponent collisionComponent = collisionComponentMapper.get(entity);
+	    candidates.clear();
+	    spatialHash.query(collisionComponent.collisionRectangle, candidates);
+	    for (int j = 0; j < candidates.size; ++j) {
+		final Entity otherEntity = candidates.get(j);
+		if (entity != otherEntity && collisionComponentMapper.get(otherEntity).collisionRectangle.overlaps(collisionComponent.collisionRectangle)) {
+		    ++collisions;
+		}
+	    }
+	}
+	return collisions;
+    }
+
+    @Benchmark
+    public void spatialHashUpdate() {
+	// move every entity a little bit like the MovementSystem does and alternate direction on every call
+	moveOffset = -moveOffset;
+	for (int i = 0; i < entities.size; ++i) {
+	    final Entity entity = entities.get(i);
+	    final CollisionComponent collisionComponent = collisionComponentMapper.get(entity);
+	    collisionComponent.collisionRectangle.x += moveOffset;
+	    spatialHash.update(entity, collisionComponent);
+	}
+    }
+}
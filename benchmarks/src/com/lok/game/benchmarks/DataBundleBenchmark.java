@@ -0,0 +1,68 @@
+package com.lok.game.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import com.lok.game.assets.DataBundle;
+import com.lok.game.assets.DataBundleWriter;
+
+// Json data of the startup: parsing the json files compared to decoding them from a DataBundle that is compiled in memory from the same files
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataBundleBenchmark {
+    private static final String[] FILE_PATHS = { "json/animations.json", "json/player.json", "json/townfolk.json", "json/monsters.json",
+	    "conversations/elder_intro.json", "conversations/elder_game.json", "conversations/blacksmith_intro.json", "conversations/portal.json",
+	    "conversations/shaman_intro.json" };
+
+    private DataBundle		  dataBundle;
+
+    @Setup(Level.Trial)
+    public void setup(HeadlessState headlessState) throws IOException {
+	final JsonReader jsonReader = new JsonReader();
+	final DataBundleWriter writer = new DataBundleWriter();
+	for (String filePath : FILE_PATHS) {
+	    final FileHandle file = Gdx.files.internal(filePath);
+	    writer.addDocument(filePath, file.lastModified(), jsonReader.parse(file));
+	}
+	final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+	writer.write(outputStream);
+	dataBundle = new DataBundle(ByteBuffer.wrap(outputStream.toByteArray()));
+    }
+
+    @Benchmark
+    public void parseJson(Blackhole blackhole) {
+	final JsonReader jsonReader = new JsonReader();
+	for (String filePath : FILE_PATHS) {
+	    blackhole.consume(jsonReader.parse(Gdx.files.internal(filePath)));
+	}
+    }
+
+    @Benchmark
+    public void decodeBundle(Blackhole blackhole) {
+	for (String filePath : FILE_PATHS) {
+	    blackhole.consume(dataBundle.getJson(filePath));
+	}
+    }
+}
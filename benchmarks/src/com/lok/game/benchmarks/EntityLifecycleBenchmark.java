@@ -0,0 +1,61 @@
+package com.lok.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.lok.game.ecs.EntityEngine;
+import com.lok.game.ecs.EntityEngine.EntityID;
+
+// EntityEngine.createEntity and removeEntity of a batch of demons like it happens on a map change
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityLifecycleBenchmark {
+    @Param({ "10", "100", "1000" })
+    public int		   batchSize;
+
+    private Array<Vector2> positions;
+    private Array<Entity>  entities;
+
+    @Setup(Level.Trial)
+    public void setup(HeadlessState headlessState) {
+	positions = new Array<Vector2>(batchSize);
+	entities = new Array<Entity>(batchSize);
+	for (int i = 0; i < batchSize; ++i) {
+	    positions.add(headlessState.getRandomPathablePosition(1, 1.5f, new Vector2()));
+	}
+    }
+
+    @Benchmark
+    public int createAndRemoveEntities() {
+	final EntityEngine entityEngine = EntityEngine.getEngine();
+
+	for (Vector2 position : positions) {
+	    entities.add(entityEngine.createEntity(EntityID.DEMON_01, position.x, position.y));
+	}
+	final int numCreated = entities.size;
+	for (Entity entity : entities) {
+	    entityEngine.removeEntity(entity);
+	}
+	entities.clear();
+	return numCreated;
+    }
+}
@@ -0,0 +1,59 @@
+package com.lok.game.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.lok.game.Utils;
+import com.lok.game.headless.HeadlessLauncher;
+import com.lok.game.headless.HeadlessSimulation;
+import com.lok.game.map.Map;
+import com.lok.game.map.MapManager.MapID;
+
+// Headless simulation with loaded assets and an active map for benchmarks that need the real EntityEngine.
+// The working directory has to be the assets directory (see jmh task).
+@State(Scope.Benchmark)
+public class HeadlessState {
+    private HeadlessSimulation simulation;
+    private Map		       map;
+    private final Rectangle    testArea	= new Rectangle();
+
+    @Setup(Level.Trial)
+    public void setup() {
+	MathUtils.random.setSeed(42);
+	simulation = HeadlessLauncher.launch(0);
+	map = Utils.getAssetManager().get(MapID.DEMON_LAIR_01.name(), Map.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+	// the application thread would keep the forked VM alive
+	Gdx.app.exit();
+    }
+
+    public HeadlessSimulation getSimulation() {
+	return simulation;
+    }
+
+    public Map getMap() {
+	return map;
+    }
+
+    /**
+     * Returns a random position of the map where an area of the given size is pathable
+     */
+    public Vector2 getRandomPathablePosition(float width, float height, Vector2 result) {
+	final Rectangle boundary = map.getBoundary();
+	do {
+	    testArea.set(MathUtils.random(boundary.width - width), MathUtils.random(boundary.height - height), width, height);
+	} while (!map.isPathable(testArea));
+
+	return result.set(testArea.x, testArea.y);
+    }
+}
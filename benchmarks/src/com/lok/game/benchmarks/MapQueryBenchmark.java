@@ -0,0 +1,110 @@
+package com.lok.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.lok.game.map.Map;
+import com.lok.game.map.MapManager;
+
+// Map.isPathable on generated maps of different sizes. Collision areas have the same density as in the demon lair (one area per 20 tiles).
+// linearScan is the check against every collision area that was used before the tile bitmap.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapQueryBenchmark {
+    private static final int TILE_SIZE_IN_PIXELS = 16;
+    private static final int NUM_QUERIES	 = 1024;
+
+    @Param({ "50", "100", "200" })
+    public int		     mapSizeInTiles;
+
+    private Map		     map;
+    private Array<Rectangle> queries;
+
+    @Setup
+    public void setup() {
+	MathUtils.random = new RandomXS128(42);
+
+	final TiledMap tiledMap = new TiledMap();
+	final MapProperties mapProperties = tiledMap.getProperties();
+	mapProperties.put("tilewidth", TILE_SIZE_IN_PIXELS);
+	mapProperties.put("tileheight", TILE_SIZE_IN_PIXELS);
+	mapProperties.put("width", mapSizeInTiles);
+	mapProperties.put("height", mapSizeInTiles);
+
+	final MapLayer collisionLayer = new MapLayer();
+	collisionLayer.setName("Collision");
+	final int numCollisionAreas = mapSizeInTiles * mapSizeInTiles / 20;
+	final float mapSizeInPixels = mapSizeInTiles * TILE_SIZE_IN_PIXELS;
+	for (int i = 0; i < numCollisionAreas; ++i) {
+	    // mix of tile aligned walls and freely placed obstacles
+	    final float width = MathUtils.random(1, 6) * TILE_SIZE_IN_PIXELS * (i % 2 == 0 ? 1 : MathUtils.random(0.3f, 1f));
+	    final float height = MathUtils.random(1, 6) * TILE_SIZE_IN_PIXELS * (i % 2 == 0 ? 1 : MathUtils.random(0.3f, 1f));
+	    final float x = i % 2 == 0 ? MathUtils.random(mapSizeInTiles - 1) * TILE_SIZE_IN_PIXELS : MathUtils.random(mapSizeInPixels);
+	    final float y = i % 2 == 0 ? MathUtils.random(mapSizeInTiles - 1) * TILE_SIZE_IN_PIXELS : MathUtils.random(mapSizeInPixels);
+	    collisionLayer.getObjects().add(new RectangleMapObject(x, y, width, height));
+	}
+	tiledMap.getLayers().add(collisionLayer);
+	map = new Map(null, tiledMap);
+
+	// collision rectangle of a demon
+	queries = new Array<Rectangle>(NUM_QUERIES);
+	final float mapSize = mapSizeInTiles * TILE_SIZE_IN_PIXELS * MapManager.WORLD_UNITS_PER_PIXEL;
+	for (int i = 0; i < NUM_QUERIES; ++i) {
+	    queries.add(new Rectangle(MathUtils.random(mapSize), MathUtils.random(mapSize), 0.8125f, 0.3125f));
+	}
+    }
+
+    @Benchmark
+    public int isPathable() {
+	int pathable = 0;
+	for (int i = 0; i < queries.size; ++i) {
+	    if (map.isPathable(queries.get(i))) {
+		++pathable;
+	    }
+	}
+	return pathable;
+    }
+
+    @Benchmark
+    public int linearScan() {
+	final Array<Rectangle> collisionAreas = map.getCollisionAreas();
+	int pathable = 0;
+	for (int i = 0; i < queries.size; ++i) {
+	    final Rectangle query = queries.get(i);
+	    boolean isPathable = true;
+	    for (int j = 0; j < collisionAreas.size; ++j) {
+		if (collisionAreas.get(j).overlaps(query)) {
+		    isPathable = false;
+		    break;
+		}
+	    }
+	    if (isPathable) {
+		++pathable;
+	    }
+	}
+	return pathable;
+    }
+}
@@ -0,0 +1,105 @@
+package com.lok.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntArray;
+import com.lok.game.map.Map;
+import com.lok.game.pathfinding.AStarPathfinder;
+import com.lok.game.pathfinding.HierarchicalPath;
+import com.lok.game.pathfinding.PathfindingService;
+
+// Long paths across the demon lair map: A* on the tiles compared to the abstract search of the PathAbstraction with the refinement of the
+// first segment (what a chaser needs to start walking) and of all segments. The queries repeat, so the hierarchical searches mostly hit the path
+// caches of the PathfindingService like chasers that search again from the same tile.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfindingBenchmark {
+    private static final int   NUM_QUERIES  = 64;
+    // minimum distance between start and goal in tiles
+    private static final int   MIN_DISTANCE = 40;
+
+    private Map		       map;
+    private AStarPathfinder    pathfinder;
+    private PathfindingService pathfindingService;
+    private int[]	       queries;
+    private int		       nextQuery;
+    private IntArray	       path;
+    private HierarchicalPath   hierarchicalPath;
+
+    @Setup(Level.Trial)
+    public void setup(HeadlessState headlessState) {
+	map = headlessState.getMap();
+	pathfinder = new AStarPathfinder(map);
+	pathfindingService = PathfindingService.getService();
+	path = new IntArray();
+	hierarchicalPath = new HierarchicalPath();
+
+	// pairs of start and goal tiles that are connected
+	queries = new int[NUM_QUERIES * 2];
+	final int numTilesX = map.getNumTilesX();
+	final int numTilesY = map.getNumTilesY();
+	int numQueries = 0;
+	while (numQueries < NUM_QUERIES) {
+	    final int start = MathUtils.random(numTilesX * numTilesY - 1);
+	    final int goal = MathUtils.random(numTilesX * numTilesY - 1);
+	    if (!map.isTileWalkable(start % numTilesX, start / numTilesX) || Math.abs(start % numTilesX - goal % numTilesX) + Math.abs(start / numTilesX - goal / numTilesX) < MIN_DISTANCE
+		    || !pathfinder.findPath(start, goal, Integer.MAX_VALUE, path)) {
+		continue;
+	    }
+	    queries[numQueries * 2] = start;
+	    queries[numQueries * 2 + 1] = goal;
+	    ++numQueries;
+	}
+	nextQuery = 0;
+    }
+
+    private int nextQuery() {
+	nextQuery = (nextQuery + 2) % queries.length;
+	return nextQuery;
+    }
+
+    @Benchmark
+    public int tileSearch() {
+	final int query = nextQuery();
+	pathfinder.findPath(queries[query], queries[query + 1], Integer.MAX_VALUE, path);
+	return path.size;
+    }
+
+    @Benchmark
+    public int hierarchicalFirstSegment() {
+	final int query = nextQuery();
+	final int numTilesX = map.getNumTilesX();
+	pathfindingService.findPath(queries[query] % numTilesX, queries[query] / numTilesX, queries[query + 1] % numTilesX, queries[query + 1] / numTilesX, hierarchicalPath);
+	hierarchicalPath.refineNext(path);
+	return path.size;
+    }
+
+    @Benchmark
+    public int hierarchicalAllSegments() {
+	final int query = nextQuery();
+	final int numTilesX = map.getNumTilesX();
+	pathfindingService.findPath(queries[query] % numTilesX, queries[query] / numTilesX, queries[query + 1] % numTilesX, queries[query + 1] / numTilesX, hierarchicalPath);
+	int numTiles = 0;
+	while (hierarchicalPath.refineNext(path)) {
+	    numTiles += path.size;
+	}
+	return numTiles;
+    }
+}
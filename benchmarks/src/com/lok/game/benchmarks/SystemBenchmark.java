@@ -0,0 +1,112 @@
+package com.lok.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.lok.game.ecs.EntityEngine;
+import com.lok.game.ecs.EntityEngine.EntityID;
+import com.lok.game.ecs.components.MapRevelationComponent;
+import com.lok.game.ecs.systems.AIWanderSystem;
+import com.lok.game.ecs.systems.CollisionSystem;
+import com.lok.game.ecs.systems.MapRevelationSystem;
+import com.lok.game.ecs.systems.MovementSystem;
+import com.lok.game.headless.HeadlessSimulation;
+
+// Single systems and a complete tick of the EntityEngine with additional wandering demons on the demon lair map.
+// Every demon also gets a MapRevelationComponent so that the MapRevelationSystem processes the same amount of entities.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SystemBenchmark {
+    @Param({ "100", "1000", "5000" })
+    public int			entityCount;
+
+    private Array<Entity>	entities;
+    private MovementSystem	movementSystem;
+    private CollisionSystem	collisionSystem;
+    private AIWanderSystem	aiWanderSystem;
+    private MapRevelationSystem	mapRevelationSystem;
+
+    @Setup(Level.Trial)
+    public void setup(HeadlessState headlessState) {
+	final EntityEngine entityEngine = EntityEngine.getEngine();
+	final Vector2 position = new Vector2();
+
+	entities = new Array<Entity>(entityCount);
+	for (int i = 0; i < entityCount; ++i) {
+	    headlessState.getRandomPathablePosition(1, 1.5f, position);
+	    final Entity entity = entityEngine.createEntity(EntityID.DEMON_01, position.x, position.y);
+	    final MapRevelationComponent mapRevelationComponent = entityEngine.createComponent(MapRevelationComponent.class);
+	    mapRevelationComponent.minRevelationRadius = 2;
+	    mapRevelationComponent.maxRevelationRadius = 3;
+	    mapRevelationComponent.revelationRadius = 2;
+	    mapRevelationComponent.incPerFrame = 0.5f;
+	    entity.add(mapRevelationComponent);
+	    entities.add(entity);
+	}
+
+	movementSystem = entityEngine.getSystem(MovementSystem.class);
+	collisionSystem = entityEngine.getSystem(CollisionSystem.class);
+	aiWanderSystem = entityEngine.getSystem(AIWanderSystem.class);
+	mapRevelationSystem = entityEngine.getSystem(MapRevelationSystem.class);
+
+	// let every demon pick a direction. The first decisions are spread over the recheck delay and the AIWanderSystem makes a limited number of
+	// decisions per update
+	final int numUpdates = (int) (AIWanderSystem.RECHECK_DELAY / HeadlessSimulation.FIXED_STEP) + entityCount / AIWanderSystem.MAX_DECISIONS_PER_TICK;
+	for (int i = 0; i <= numUpdates; ++i) {
+	    aiWanderSystem.update(HeadlessSimulation.FIXED_STEP);
+	}
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+	for (Entity entity : entities) {
+	    EntityEngine.getEngine().removeEntity(entity);
+	}
+	entities.clear();
+    }
+
+    @Benchmark
+    public void movementSystem() {
+	movementSystem.update(HeadlessSimulation.FIXED_STEP);
+    }
+
+    @Benchmark
+    public void collisionSystem() {
+	collisionSystem.update(HeadlessSimulation.FIXED_STEP);
+    }
+
+    @Benchmark
+    public void aiWanderSystem() {
+	aiWanderSystem.update(HeadlessSimulation.FIXED_STEP);
+    }
+
+    @Benchmark
+    public void mapRevelationSystem() {
+	mapRevelationSystem.update(HeadlessSimulation.FIXED_STEP);
+    }
+
+    @Benchmark
+    public void engineTick(HeadlessState headlessState) {
+	headlessState.getSimulation().step(1);
+    }
+}
@@ -0,0 +1,103 @@
+package com.lok.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.lok.game.ui.EntityRenderState;
+import com.lok.game.ui.GameRenderer;
+import com.lok.game.ui.RenderQueue;
+
+// y-sort of the GameRenderer. shuffled sorts a random order, moving sorts the already sorted entities again after every entity moved a little bit
+// which is the usual case from one frame to the next. renderQueue does the same for the incremental RenderQueue of the GameRenderer.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YSortBenchmark {
+    @Param({ "100", "1000", "10000" })
+    public int				     entityCount;
+
+    private GameRenderer.yPositionComparator comparator;
+    private Array<EntityRenderState>	     shuffledEntities;
+    private Array<EntityRenderState>	     entities;
+    private RenderQueue			     renderQueue;
+    private float			     moveOffset;
+
+    @Setup
+    public void setup() {
+	MathUtils.random = new RandomXS128(42);
+	comparator = new GameRenderer.yPositionComparator();
+	shuffledEntities = new Array<EntityRenderState>(entityCount);
+	entities = new Array<EntityRenderState>(entityCount);
+	moveOffset = 0.05f;
+
+	final float mapSize = (float) Math.sqrt(entityCount / 0.2f);
+	for (int i = 0; i < entityCount; ++i) {
+	    final EntityRenderState entity = new EntityRenderState();
+	    entity.instanceID = i + 1;
+	    entity.x = MathUtils.random(mapSize);
+	    entity.y = MathUtils.random(mapSize);
+	    entity.width = 1;
+	    entity.height = 1.5f;
+	    shuffledEntities.add(entity);
+	}
+	entities.addAll(shuffledEntities);
+	entities.sort(comparator);
+	renderQueue = new RenderQueue(comparator);
+	renderQueue.begin();
+	for (EntityRenderState entity : shuffledEntities) {
+	    renderQueue.add(entity, RenderQueue.DRAW_SPRITE);
+	}
+	renderQueue.end();
+    }
+
+    @Benchmark
+    public Array<EntityRenderState> shuffled() {
+	entities.clear();
+	entities.addAll(shuffledEntities);
+	entities.sort(comparator);
+	return entities;
+    }
+
+    @Benchmark
+    public Array<EntityRenderState> moving() {
+	// every second entity moves up or down and alternates the direction on every call
+	moveOffset = -moveOffset;
+	for (int i = 0; i < entities.size; i += 2) {
+	    entities.get(i).y += i % 4 == 0 ? moveOffset : -moveOffset;
+	}
+	entities.sort(comparator);
+	return entities;
+    }
+
+    @Benchmark
+    public Array<EntityRenderState> renderQueue() {
+	moveOffset = -moveOffset;
+	final Array<EntityRenderState> queuedEntities = renderQueue.getEntities();
+	for (int i = 0; i < queuedEntities.size; i += 2) {
+	    queuedEntities.get(i).y += i % 4 == 0 ? moveOffset : -moveOffset;
+	}
+	renderQueue.begin();
+	for (EntityRenderState entity : shuffledEntities) {
+	    renderQueue.add(entity, RenderQueue.DRAW_SPRITE);
+	}
+	renderQueue.end();
+	return queuedEntities;
+    }
+}
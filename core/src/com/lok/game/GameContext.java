@@ -0,0 +1,13 @@
+package com.lok.game;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+
+// Services of the running application listener that are accessed via Utils. Implemented by the game itself and by the headless simulation.
+public interface GameContext {
+    public AssetManager getAssetManager();
+
+    public String getLabel(String labelKey);
+
+    public Skin getUISkin();
+}
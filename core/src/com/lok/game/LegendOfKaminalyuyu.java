@@ -17,6 +17,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.I18NBundle;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.lok.game.assets.AssetManifestManager;
 import com.lok.game.assets.loader.AnimationLoader;
 import com.lok.game.assets.loader.ConversationLoader;
 import com.lok.game.assets.loader.EntityConfigurationLoader;
@@ -30,7 +31,7 @@ import com.lok.game.screen.Screen;
 import com.lok.game.screen.TownScreen;
 import com.lok.game.ui.Animation;
 
-public class LegendOfKaminalyuyu extends Game {
+public class LegendOfKaminalyuyu extends Game implements GameContext {
     private final static String				     TAG = LegendOfKaminalyuyu.class.getSimpleName();
 
     private AssetManager				     assetManager;
@@ -68,18 +69,23 @@ public class LegendOfKaminalyuyu extends Game {
 	Colors.put("Thought", new Color(0x9fa2a3ff));
 
 	Gdx.graphics.setTitle(getLabel("GameWindow.Title"));
+	// the manager remembers the render thread
+	AssetManifestManager.getManager();
 	screenCache = null;
 	this.nextScreen = new AssetsLoadingScreen(this, assetManager, uiSkin);
     }
 
+    @Override
     public AssetManager getAssetManager() {
 	return assetManager;
     }
 
+    @Override
     public Skin getUISkin() {
 	return uiSkin;
     }
 
+    @Override
     public String getLabel(String labelKey) {
 	return localizationBundle.format(labelKey);
     }
@@ -110,11 +116,20 @@ public class LegendOfKaminalyuyu extends Game {
 
     @Override
     public void render() {
+	final AssetManifestManager manifestManager = AssetManifestManager.getManager();
+	manifestManager.update();
+
 	if (screen == null && nextScreen == null) {
 	    return;
 	}
 
 	if ((screen == null && nextScreen != null) || !screen.equals(nextScreen)) {
+	    // the assets of the next screen are acquired before the assets of the current screen are released to keep shared assets loaded
+	    final Screen<?> previousScreen = (Screen<?>) this.screen;
+	    if (nextScreen != null) {
+		manifestManager.acquire(nextScreen.getAssetManifest());
+		manifestManager.finishLoading(nextScreen.getAssetManifest());
+	    }
 	    if (this.screen != null) {
 		this.screen.hide();
 	    }
@@ -123,6 +138,9 @@ public class LegendOfKaminalyuyu extends Game {
 		this.screen.show();
 		this.screen.resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
 	    }
+	    if (previousScreen != null) {
+		manifestManager.release(previousScreen.getAssetManifest());
+	    }
 	}
 
 	if (screen != null) {
@@ -30,14 +30,14 @@ public final class Utils {
     }
 
     public static AssetManager getAssetManager() {
-	return ((LegendOfKaminalyuyu) Gdx.app.getApplicationListener()).getAssetManager();
+	return ((GameContext) Gdx.app.getApplicationListener()).getAssetManager();
     }
 
     public static String getLabel(String labelKey) {
-	return ((LegendOfKaminalyuyu) Gdx.app.getApplicationListener()).getLabel(labelKey);
+	return ((GameContext) Gdx.app.getApplicationListener()).getLabel(labelKey);
     }
 
     public static Skin getUISkin() {
-	return ((LegendOfKaminalyuyu) Gdx.app.getApplicationListener()).getUISkin();
+	return ((GameContext) Gdx.app.getApplicationListener()).getUISkin();
     }
 }
@@ -0,0 +1,39 @@
+package com.lok.game.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.utils.Array;
+
+// The assets that a screen or a map needs. Dependencies of the assets (f.e. the textures of an atlas) are not part of the manifest because the
+// AssetManager loads and releases them together with the asset. Manifests are loaded and released by the AssetManifestManager.
+public class AssetManifest {
+    private final String		    name;
+    private final Array<AssetDescriptor<?>> assets;
+
+    public AssetManifest(String name) {
+	this.name = name;
+	this.assets = new Array<AssetDescriptor<?>>();
+    }
+
+    public <T> AssetManifest add(String fileName, Class<T> type) {
+	return add(fileName, type, null);
+    }
+
+    public <T> AssetManifest add(String fileName, Class<T> type, AssetLoaderParameters<T> parameter) {
+	assets.add(new AssetDescriptor<T>(fileName, type, parameter));
+	return this;
+    }
+
+    public String getName() {
+	return name;
+    }
+
+    public Array<AssetDescriptor<?>> getAssets() {
+	return assets;
+    }
+
+    @Override
+    public String toString() {
+	return name;
+    }
+}
@@ -0,0 +1,124 @@
+package com.lok.game.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.lok.game.Utils;
+
+// Loads and releases AssetManifests. The AssetManager counts the references of every asset: each acquired manifest loads its assets once more and
+// releasing it unloads them once. An asset and its dependencies are therefore only disposed when no acquired manifest needs them anymore.
+// Textures can only be created and disposed on the render thread. Manifests that are acquired or released by another thread (f.e. a map change on
+// the simulation thread) are queued and processed by the next update of the render thread.
+public class AssetManifestManager {
+    private static final String		TAG	 = AssetManifestManager.class.getSimpleName();
+    private static AssetManifestManager	instance = null;
+
+    private final AssetManager		assetManager;
+    private final Thread		renderThread;
+    private final Array<AssetManifest>	queuedAcquires;
+    private final Array<AssetManifest>	queuedReleases;
+
+    private AssetManifestManager() {
+	this.assetManager = Utils.getAssetManager();
+	this.renderThread = Thread.currentThread();
+	this.queuedAcquires = new Array<AssetManifest>();
+	this.queuedReleases = new Array<AssetManifest>();
+    }
+
+    /**
+     * The manager must be created on the render thread
+     */
+    public static AssetManifestManager getManager() {
+	if (instance == null) {
+	    instance = new AssetManifestManager();
+	}
+
+	return instance;
+    }
+
+    public boolean isRenderThread() {
+	return Thread.currentThread() == renderThread;
+    }
+
+    /**
+     * Queues the assets of the manifest for loading. Use {@link #finishLoading(AssetManifest)} or {@link #isLoaded(AssetManifest)} to wait for them.
+     */
+    public void acquire(AssetManifest manifest) {
+	if (!isRenderThread()) {
+	    synchronized (queuedAcquires) {
+		queuedAcquires.add(manifest);
+	    }
+	    return;
+	}
+
+	Gdx.app.debug(TAG, "Acquiring assets of " + manifest);
+	for (AssetDescriptor<?> asset : manifest.getAssets()) {
+	    assetManager.load(asset);
+	}
+    }
+
+    /**
+     * Releases the assets of a manifest that was acquired before. Assets that are still needed by another manifest stay loaded.
+     */
+    public void release(AssetManifest manifest) {
+	if (!isRenderThread()) {
+	    synchronized (queuedAcquires) {
+		queuedReleases.add(manifest);
+	    }
+	    return;
+	}
+
+	Gdx.app.debug(TAG, "Releasing assets of " + manifest);
+	for (AssetDescriptor<?> asset : manifest.getAssets()) {
+	    assetManager.unload(asset.fileName);
+	}
+    }
+
+    /**
+     * Processes the manifests of other threads and continues the loading of queued assets. Must be called by the render thread every frame.
+     */
+    public void update() {
+	processQueuedManifests();
+	assetManager.update();
+    }
+
+    private void processQueuedManifests() {
+	synchronized (queuedAcquires) {
+	    // acquires first so that assets that are shared between a released and an acquired manifest stay loaded
+	    for (AssetManifest manifest : queuedAcquires) {
+		acquire(manifest);
+	    }
+	    for (AssetManifest manifest : queuedReleases) {
+		release(manifest);
+	    }
+	    queuedAcquires.clear();
+	    queuedReleases.clear();
+	}
+    }
+
+    /**
+     * Blocks until the assets of an acquired manifest are loaded. Can only be called by the render thread.
+     */
+    public void finishLoading(AssetManifest manifest) {
+	if (!isRenderThread()) {
+	    throw new GdxRuntimeException("Assets of " + manifest + " can only be loaded by the render thread");
+	}
+
+	processQueuedManifests();
+	for (AssetDescriptor<?> asset : manifest.getAssets()) {
+	    assetManager.finishLoadingAsset(asset.fileName);
+	}
+    }
+
+    public boolean isLoaded(AssetManifest manifest) {
+	for (AssetDescriptor<?> asset : manifest.getAssets()) {
+	    if (!assetManager.isLoaded(asset.fileName, asset.type)) {
+		return false;
+	    }
+	}
+
+	return true;
+    }
+}
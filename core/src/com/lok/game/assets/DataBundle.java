@@ -0,0 +1,212 @@
+package com.lok.game.assets;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+import com.badlogic.gdx.utils.ObjectMap;
+
+// Precompiled json data (see DataBundleCompiler of the desktop project). The documents are stored as typed binary values that refer to one table
+// of interned strings. They are decoded into JsonValues without parsing any text. The bundle is memory mapped if it is a regular file.
+// Documents that are not part of the bundle or whose source file changed after the bundle was compiled are parsed from their json file instead.
+public class DataBundle {
+    private static final String		      TAG	   = DataBundle.class.getSimpleName();
+    public static final String		      BUNDLE_PATH  = "data.bundle";
+
+    static final int			      MAGIC	   = 0x4C4F4B42;
+    static final int			      VERSION	   = 1;
+    static final byte			      TYPE_OBJECT  = 0;
+    static final byte			      TYPE_ARRAY   = 1;
+    static final byte			      TYPE_STRING  = 2;
+    static final byte			      TYPE_DOUBLE  = 3;
+    static final byte			      TYPE_LONG	   = 4;
+    static final byte			      TYPE_BOOLEAN = 5;
+    static final byte			      TYPE_NULL	   = 6;
+    static final int			      NO_NAME	   = -1;
+
+    private static DataBundle		      instance	   = null;
+
+    private final ByteBuffer		      data;
+    private final String[]		      strings;
+    // offset of the values of a document within data and the modification time of its source file at compile time
+    private final ObjectMap<String, Document> documents;
+
+    private static class Document {
+	private final int  offset;
+	private final long lastModified;
+
+	private Document(int offset, long lastModified) {
+	    this.offset = offset;
+	    this.lastModified = lastModified;
+	}
+    }
+
+    public DataBundle(ByteBuffer data) {
+	this.data = data;
+	this.documents = new ObjectMap<String, Document>();
+
+	if (data == null) {
+	    this.strings = new String[0];
+	    return;
+	}
+
+	final ByteBuffer buffer = data.duplicate();
+	if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+	    throw new GdxRuntimeException("Data bundle has an unsupported format. It has to be compiled again");
+	}
+
+	this.strings = new String[buffer.getInt()];
+	byte[] bytes = new byte[64];
+	for (int i = 0; i < strings.length; ++i) {
+	    final int length = buffer.getInt();
+	    if (length > bytes.length) {
+		bytes = new byte[length];
+	    }
+	    buffer.get(bytes, 0, length);
+	    try {
+		strings[i] = new String(bytes, 0, length, "UTF-8");
+	    } catch (UnsupportedEncodingException e) {
+		throw new GdxRuntimeException("Could not decode string of data bundle", e);
+	    }
+	}
+
+	final int numDocuments = buffer.getInt();
+	final String[] paths = new String[numDocuments];
+	final int[] offsets = new int[numDocuments];
+	final long[] lastModified = new long[numDocuments];
+	for (int i = 0; i < numDocuments; ++i) {
+	    paths[i] = strings[buffer.getInt()];
+	    offsets[i] = buffer.getInt();
+	    lastModified[i] = buffer.getLong();
+	}
+	// the offsets are relative to the values behind the document table
+	final int valuesOffset = buffer.position();
+	for (int i = 0; i < numDocuments; ++i) {
+	    documents.put(paths[i], new Document(valuesOffset + offsets[i], lastModified[i]));
+	}
+    }
+
+    public static synchronized DataBundle getBundle() {
+	// synchronized because the loaders of the AssetManager access the bundle from its loading thread
+	if (instance == null) {
+	    final FileHandle bundleFile = Gdx.files.internal(BUNDLE_PATH);
+	    if (bundleFile.exists()) {
+		Gdx.app.debug(TAG, "Opening data bundle " + BUNDLE_PATH);
+		instance = new DataBundle(readBuffer(bundleFile));
+	    } else {
+		Gdx.app.debug(TAG, "There is no data bundle. Json files are parsed instead");
+		instance = new DataBundle(null);
+	    }
+	}
+
+	return instance;
+    }
+
+    private static ByteBuffer readBuffer(FileHandle file) {
+	if (file.file().isFile()) {
+	    FileInputStream inputStream = null;
+	    try {
+		inputStream = new FileInputStream(file.file());
+		final FileChannel channel = inputStream.getChannel();
+		return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+	    } catch (IOException e) {
+		Gdx.app.error(TAG, "Could not map data bundle " + file.path() + ". It is read instead", e);
+	    } finally {
+		// the mapping stays valid after the channel is closed
+		if (inputStream != null) {
+		    try {
+			inputStream.close();
+		    } catch (IOException e) {
+			// nothing to do
+		    }
+		}
+	    }
+	}
+
+	// f.e. within a jar
+	return ByteBuffer.wrap(file.readBytes());
+    }
+
+    public boolean contains(String filePath) {
+	return documents.containsKey(filePath);
+    }
+
+    /**
+     * Returns the root value of the given json file. It is decoded from the bundle if the bundle contains an up to date version of the file.
+     */
+    public JsonValue getJson(String filePath) {
+	final FileHandle file = Gdx.files.internal(filePath);
+	final Document document = documents.get(filePath);
+	if (document != null) {
+	    // the modification time of files within a jar is unknown (0) -> they are as old as the bundle
+	    final long lastModified = file.lastModified();
+	    if (lastModified == 0 || lastModified == document.lastModified) {
+		return readDocument(document);
+	    }
+	    Gdx.app.debug(TAG, "Data bundle contains an outdated version of " + filePath);
+	}
+
+	return new JsonReader().parse(file);
+    }
+
+    private JsonValue readDocument(Document document) {
+	// every decode has its own position so that the bundle can be shared
+	final ByteBuffer buffer = data.duplicate();
+	buffer.position(document.offset);
+	return readValue(buffer);
+    }
+
+    private JsonValue readValue(ByteBuffer buffer) {
+	final byte type = buffer.get();
+	final int nameIndex = buffer.getInt();
+	final JsonValue value;
+	switch (type) {
+	    case TYPE_OBJECT:
+	    case TYPE_ARRAY:
+		value = new JsonValue(type == TYPE_OBJECT ? ValueType.object : ValueType.array);
+		final int numChildren = buffer.getInt();
+		JsonValue lastChild = null;
+		for (int i = 0; i < numChildren; ++i) {
+		    final JsonValue child = readValue(buffer);
+		    child.parent = value;
+		    if (lastChild == null) {
+			value.child = child;
+		    } else {
+			lastChild.next = child;
+			child.prev = lastChild;
+		    }
+		    lastChild = child;
+		}
+		value.size = numChildren;
+		break;
+	    case TYPE_STRING:
+		value = new JsonValue(strings[buffer.getInt()]);
+		break;
+	    case TYPE_DOUBLE:
+		value = new JsonValue(buffer.getDouble());
+		break;
+	    case TYPE_LONG:
+		value = new JsonValue(buffer.getLong());
+		break;
+	    case TYPE_BOOLEAN:
+		value = new JsonValue(buffer.get() != 0);
+		break;
+	    case TYPE_NULL:
+		value = new JsonValue(ValueType.nullValue);
+		break;
+	    default:
+		throw new GdxRuntimeException("Invalid value type " + type + " in data bundle");
+	}
+
+	value.name = nameIndex == NO_NAME ? null : strings[nameIndex];
+	return value;
+    }
+}
@@ -0,0 +1,136 @@
+package com.lok.game.assets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+// Writes json documents in the format of the DataBundle. Every distinct string (values, names and paths) is stored once.
+public class DataBundleWriter {
+    private final ObjectIntMap<String>	stringIndices;
+    private final Array<String>		strings;
+    private final ByteArrayOutputStream	valueBytes;
+    private final DataOutputStream	values;
+    private final Array<DocumentEntry>	documents;
+
+    private static class DocumentEntry {
+	private final int  pathIndex;
+	private final int  offset;
+	private final long lastModified;
+
+	private DocumentEntry(int pathIndex, int offset, long lastModified) {
+	    this.pathIndex = pathIndex;
+	    this.offset = offset;
+	    this.lastModified = lastModified;
+	}
+    }
+
+    public DataBundleWriter() {
+	this.stringIndices = new ObjectIntMap<String>();
+	this.strings = new Array<String>();
+	this.valueBytes = new ByteArrayOutputStream();
+	this.values = new DataOutputStream(valueBytes);
+	this.documents = new Array<DocumentEntry>();
+    }
+
+    /**
+     * Adds the root value of a json file. The path is the internal path that is later passed to {@link DataBundle#getJson(String)}.
+     */
+    public void addDocument(String filePath, long lastModified, JsonValue root) {
+	try {
+	    documents.add(new DocumentEntry(intern(filePath), values.size(), lastModified));
+	    writeValue(root);
+	} catch (IOException e) {
+	    throw new GdxRuntimeException("Could not add " + filePath + " to the data bundle", e);
+	}
+    }
+
+    public int getNumDocuments() {
+	return documents.size;
+    }
+
+    public int getNumStrings() {
+	return strings.size;
+    }
+
+    public void write(OutputStream outputStream) throws IOException {
+	final DataOutputStream out = new DataOutputStream(outputStream);
+	out.writeInt(DataBundle.MAGIC);
+	out.writeInt(DataBundle.VERSION);
+
+	out.writeInt(strings.size);
+	for (String string : strings) {
+	    final byte[] bytes = string.getBytes("UTF-8");
+	    out.writeInt(bytes.length);
+	    out.write(bytes);
+	}
+
+	out.writeInt(documents.size);
+	for (DocumentEntry document : documents) {
+	    out.writeInt(document.pathIndex);
+	    out.writeInt(document.offset);
+	    out.writeLong(document.lastModified);
+	}
+
+	values.flush();
+	valueBytes.writeTo(out);
+	out.flush();
+    }
+
+    private int intern(String string) {
+	int index = stringIndices.get(string, -1);
+	if (index == -1) {
+	    index = strings.size;
+	    strings.add(string);
+	    stringIndices.put(string, index);
+	}
+	return index;
+    }
+
+    private void writeValue(JsonValue value) throws IOException {
+	switch (value.type()) {
+	    case object:
+	    case array:
+		values.writeByte(value.isObject() ? DataBundle.TYPE_OBJECT : DataBundle.TYPE_ARRAY);
+		writeName(value);
+		values.writeInt(value.size);
+		for (JsonValue child = value.child; child != null; child = child.next) {
+		    writeValue(child);
+		}
+		break;
+	    case stringValue:
+		values.writeByte(DataBundle.TYPE_STRING);
+		writeName(value);
+		values.writeInt(intern(value.asString()));
+		break;
+	    case doubleValue:
+		values.writeByte(DataBundle.TYPE_DOUBLE);
+		writeName(value);
+		values.writeDouble(value.asDouble());
+		break;
+	    case longValue:
+		values.writeByte(DataBundle.TYPE_LONG);
+		writeName(value);
+		values.writeLong(value.asLong());
+		break;
+	    case booleanValue:
+		values.writeByte(DataBundle.TYPE_BOOLEAN);
+		writeName(value);
+		values.writeBoolean(value.asBoolean());
+		break;
+	    case nullValue:
+		values.writeByte(DataBundle.TYPE_NULL);
+		writeName(value);
+		break;
+	}
+    }
+
+    private void writeName(JsonValue value) throws IOException {
+	values.writeInt(value.name == null ? DataBundle.NO_NAME : intern(value.name));
+    }
+}
@@ -0,0 +1,86 @@
+package com.lok.game.assets;
+
+import java.util.EnumSet;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.lok.game.assets.loader.AnimationLoader.AnimationParameter;
+import com.lok.game.assets.loader.EntityConfigurationLoader.EntityConfigurationParameter;
+import com.lok.game.ecs.EntityConfiguration;
+import com.lok.game.ecs.EntityEngine.EntityID;
+import com.lok.game.map.Map;
+import com.lok.game.map.MapManager.MapID;
+import com.lok.game.ui.Animation;
+import com.lok.game.ui.Animation.AnimationID;
+
+// Assets that are needed by the EntityEngine and MapManager. Shared by the game and the headless simulation
+public final class GameAssets {
+    private GameAssets() {
+    }
+
+    /**
+     * Returns the assets that are needed on every screen. They are acquired once and never released.
+     */
+    public static AssetManifest getGlobalManifest() {
+	final AssetManifest manifest = new AssetManifest("global");
+	addAnimations(manifest);
+	addEntityConfigurations(manifest);
+	return manifest;
+    }
+
+    /**
+     * Returns the assets of a map. The tilesets and the music of the map are dependencies of the map.
+     */
+    public static AssetManifest getMapManifest(MapID mapID) {
+	return new AssetManifest(mapID.name()).add(mapID.name(), Map.class);
+    }
+
+    public static void loadAnimations(AssetManager assetManager) {
+	load(assetManager, addAnimations(new AssetManifest("animations")));
+    }
+
+    public static void loadMaps(AssetManager assetManager) {
+	for (MapID mapID : MapID.values()) {
+	    load(assetManager, getMapManifest(mapID));
+	}
+    }
+
+    public static void loadEntityConfigurations(AssetManager assetManager) {
+	load(assetManager, addEntityConfigurations(new AssetManifest("entity configurations")));
+    }
+
+    private static void load(AssetManager assetManager, AssetManifest manifest) {
+	for (AssetDescriptor<?> asset : manifest.getAssets()) {
+	    assetManager.load(asset);
+	}
+    }
+
+    private static AssetManifest addAnimations(AssetManifest manifest) {
+	final AnimationParameter aniParam = new AnimationParameter("json/animations.json");
+	for (AnimationID aniID : AnimationID.values()) {
+	    manifest.add(aniID.name(), Animation.class, aniParam);
+	}
+	return manifest;
+    }
+
+    private static AssetManifest addEntityConfigurations(AssetManifest manifest) {
+	EntityConfigurationParameter entityParam = new EntityConfigurationParameter("json/player.json");
+	manifest.add(EntityID.PLAYER.name(), EntityConfiguration.class, entityParam);
+	entityParam = new EntityConfigurationParameter("json/townfolk.json");
+	manifest.add(EntityID.ELDER.name(), EntityConfiguration.class, entityParam);
+	manifest.add(EntityID.SHAMAN.name(), EntityConfiguration.class, entityParam);
+	manifest.add(EntityID.BLACKSMITH.name(), EntityConfiguration.class, entityParam);
+	manifest.add(EntityID.PORTAL.name(), EntityConfiguration.class, entityParam);
+	final EnumSet<EntityID> remainingEntities = EnumSet.allOf(EntityID.class);
+	remainingEntities.remove(EntityID.PLAYER);
+	remainingEntities.remove(EntityID.ELDER);
+	remainingEntities.remove(EntityID.SHAMAN);
+	remainingEntities.remove(EntityID.BLACKSMITH);
+	remainingEntities.remove(EntityID.PORTAL);
+	entityParam = new EntityConfigurationParameter("json/monsters.json");
+	for (EntityID entityID : remainingEntities) {
+	    manifest.add(entityID.name(), EntityConfiguration.class, entityParam);
+	}
+	return manifest;
+    }
+}
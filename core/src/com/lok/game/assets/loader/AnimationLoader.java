@@ -1,5 +1,7 @@
 package com.lok.game.assets.loader;
 
+import java.util.EnumMap;
+
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
@@ -14,18 +16,89 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.JsonValue;
-import com.lok.game.Utils;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.lok.game.assets.DataBundle;
 import com.lok.game.ui.Animation;
 import com.lok.game.ui.Animation.AnimationID;
 
 public class AnimationLoader extends AsynchronousAssetLoader<Animation, AnimationLoader.AnimationParameter> {
     private static final String TAG = AnimationLoader.class.getSimpleName();
 
+    public static class AnimationDefinition {
+	public final String atlas;
+	public final String atlasKey;
+	public final int    columns;
+	public final int    rows;
+	public final float  duration;
+	public final int    firstFrameIndexX;
+	public final int    firstFrameIndexY;
+	public final int    lastFrameIndexX;
+	public final int    lastFrameIndexY;
+
+	private AnimationDefinition(JsonValue jsonVal) {
+	    this.atlas = jsonVal.getString("atlas");
+	    this.atlasKey = jsonVal.getString("atlasKey");
+	    this.columns = jsonVal.getInt("columns");
+	    this.rows = jsonVal.getInt("rows");
+	    this.duration = jsonVal.getFloat("duration");
+	    final JsonValue firstFrame = jsonVal.get("firstFrame");
+	    this.firstFrameIndexX = firstFrame.getInt("x");
+	    this.firstFrameIndexY = firstFrame.getInt("y");
+	    final JsonValue lastFrame = jsonVal.get("lastFrame");
+	    this.lastFrameIndexX = lastFrame.getInt("x");
+	    this.lastFrameIndexY = lastFrame.getInt("y");
+	}
+    }
+
+    // The animation file is parsed once into one definition per AnimationID and shared by all animations that are loaded with this parameter.
+    // The regions of an atlas are indexed by name on first use because TextureAtlas.findRegion searches all regions of the atlas.
     public static class AnimationParameter extends AssetLoaderParameters<Animation> {
-	private Array<JsonValue> jsonFileContent;
+	private final EnumMap<AnimationID, AnimationDefinition>		definitions;
+	private final ObjectMap<String, ObjectMap<String, AtlasRegion>>	atlasRegions;
 
 	public AnimationParameter(String jsonFilePath) {
-	    jsonFileContent = Utils.fromJson(Gdx.files.internal(jsonFilePath));
+	    this.definitions = new EnumMap<AnimationID, AnimationDefinition>(AnimationID.class);
+	    this.atlasRegions = new ObjectMap<String, ObjectMap<String, AtlasRegion>>();
+
+	    final JsonValue jsonFileContent = DataBundle.getBundle().getJson(jsonFilePath);
+	    if (jsonFileContent == null || jsonFileContent.size == 0) {
+		throw new GdxRuntimeException("Animation file " + jsonFilePath + " cannot be empty");
+	    }
+	    for (JsonValue jsonVal : jsonFileContent) {
+		final AnimationID aniID = AnimationID.valueOf(jsonVal.getString("aniID"));
+		if (definitions.put(aniID, new AnimationDefinition(jsonVal)) != null) {
+		    throw new GdxRuntimeException("Animation " + aniID + " is defined more than once in " + jsonFilePath);
+		}
+	    }
+	}
+
+	public AnimationDefinition getDefinition(AnimationID aniID) {
+	    final AnimationDefinition definition = definitions.get(aniID);
+	    if (definition == null) {
+		throw new GdxRuntimeException("There is no Animation for " + aniID + " with the given parameter");
+	    }
+	    return definition;
+	}
+
+	private AtlasRegion findRegion(AssetManager manager, AnimationDefinition definition) {
+	    ObjectMap<String, AtlasRegion> regions = atlasRegions.get(definition.atlas);
+	    if (regions == null) {
+		final Array<AtlasRegion> atlasRegionArray = manager.get(definition.atlas, TextureAtlas.class).getRegions();
+		regions = new ObjectMap<String, AtlasRegion>(atlasRegionArray.size);
+		for (AtlasRegion region : atlasRegionArray) {
+		    // findRegion returns the first region of a name
+		    if (!regions.containsKey(region.name)) {
+			regions.put(region.name, region);
+		    }
+		}
+		atlasRegions.put(definition.atlas, regions);
+	    }
+
+	    final AtlasRegion region = regions.get(definition.atlasKey);
+	    if (region == null) {
+		throw new GdxRuntimeException("There is no region " + definition.atlasKey + " in atlas " + definition.atlas);
+	    }
+	    return region;
 	}
     }
 
@@ -38,40 +111,22 @@ public class AnimationLoader extends AsynchronousAssetLoader<Animation, Animatio
     @Override
     public void loadAsync(AssetManager manager, String fileName, FileHandle file, AnimationParameter parameter) {
 	Gdx.app.debug(TAG, "Loading animation " + fileName);
-	if (parameter.jsonFileContent == null || parameter.jsonFileContent.size == 0) {
-	    throw new GdxRuntimeException("AnimationParameter jsonFileContent cannot be null or empty");
-	}
+	final AnimationDefinition definition = parameter.getDefinition(AnimationID.valueOf(fileName));
+	final AtlasRegion region = parameter.findRegion(manager, definition);
+	final int frameWidth = region.getRegionWidth() / definition.columns;
+	final int frameHeight = region.getRegionHeight() / definition.rows;
 
-	final AnimationID idToLoad = AnimationID.valueOf(fileName);
-	animation = null;
-	for (JsonValue jsonVal : parameter.jsonFileContent) {
-	    final AnimationID aniID = AnimationID.valueOf(jsonVal.getString("aniID"));
-	    if (aniID.equals(idToLoad)) {
-		final TextureAtlas textureAtlas = manager.get(jsonVal.getString("atlas"), TextureAtlas.class);
-		final AtlasRegion region = textureAtlas.findRegion(jsonVal.getString("atlasKey"));
-		final int frameWidth = region.getRegionWidth() / jsonVal.getInt("columns");
-		final int frameHeight = region.getRegionHeight() / jsonVal.getInt("rows");
-
-		final Array<TextureRegion> framesOfAnimation = new Array<TextureRegion>();
-		final int firstFrameIndexX = jsonVal.get("firstFrame").getInt("x");
-		final int firstFrameIndexY = jsonVal.get("firstFrame").getInt("y");
-		final int lastFrameIndexX = jsonVal.get("lastFrame").getInt("x");
-		final int lastFrameIndexY = jsonVal.get("lastFrame").getInt("y");
-		final Texture texture = region.getTexture();
-		final int regionX = region.getRegionX();
-		final int regionY = region.getRegionY();
-		for (int y = firstFrameIndexY; y <= lastFrameIndexY; ++y) {
-		    for (int x = firstFrameIndexX; x <= lastFrameIndexX; ++x) {
-			framesOfAnimation.add(new TextureRegion(texture, regionX + x * frameWidth, regionY + y * frameHeight, frameWidth, frameHeight));
-		    }
-		}
-		this.animation = new Animation(jsonVal.getFloat("duration"), framesOfAnimation);
-		Gdx.app.debug(TAG, "Created new animation " + fileName + " with width " + frameWidth + " and height " + frameHeight);
-		return;
+	final Array<TextureRegion> framesOfAnimation = new Array<TextureRegion>();
+	final Texture texture = region.getTexture();
+	final int regionX = region.getRegionX();
+	final int regionY = region.getRegionY();
+	for (int y = definition.firstFrameIndexY; y <= definition.lastFrameIndexY; ++y) {
+	    for (int x = definition.firstFrameIndexX; x <= definition.lastFrameIndexX; ++x) {
+		framesOfAnimation.add(new TextureRegion(texture, regionX + x * frameWidth, regionY + y * frameHeight, frameWidth, frameHeight));
 	    }
 	}
-
-	throw new GdxRuntimeException("There is no Animation for " + fileName + " with the given parameter");
+	this.animation = new Animation(definition.duration, framesOfAnimation);
+	Gdx.app.debug(TAG, "Created new animation " + fileName + " with width " + frameWidth + " and height " + frameHeight);
     }
 
     @Override
@@ -85,14 +140,8 @@ public class AnimationLoader extends AsynchronousAssetLoader<Animation, Animatio
     @Override
     public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, AnimationParameter parameter) {
 	final Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
-	final AnimationID idToLoad = AnimationID.valueOf(fileName);
-	for (JsonValue jsonVal : parameter.jsonFileContent) {
-	    final AnimationID aniID = AnimationID.valueOf(jsonVal.getString("aniID"));
-	    if (aniID.equals(idToLoad)) {
-		dependencies.add(new AssetDescriptor<TextureAtlas>(jsonVal.getString("atlas"), TextureAtlas.class));
-		break;
-	    }
-	}
+	final AnimationDefinition definition = parameter.getDefinition(AnimationID.valueOf(fileName));
+	dependencies.add(new AssetDescriptor<TextureAtlas>(definition.atlas, TextureAtlas.class));
 	return dependencies;
     }
 }
@@ -10,6 +10,7 @@ import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.JsonValue;
 import com.lok.game.Utils;
+import com.lok.game.assets.DataBundle;
 import com.lok.game.conversation.Conversation;
 import com.lok.game.conversation.Conversation.ConversationID;
 import com.lok.game.conversation.ConversationNode;
@@ -32,10 +33,10 @@ public class ConversationLoader extends AsynchronousAssetLoader<Conversation, Co
 
 	final ConversationID idToLoad = ConversationID.valueOf(fileName);
 	conversation = null;
-	final Array<JsonValue> jsonFileContent = Utils.fromJson(Gdx.files.internal(idToLoad.getFilePath()));
-	this.conversation = new Conversation(idToLoad, Utils.readJsonValue(ConversationNode.class, jsonFileContent.get(0)));
-	for (int i = 1; i < jsonFileContent.size; ++i) {
-	    conversation.addNode(Utils.readJsonValue(ConversationNode.class, jsonFileContent.get(i)));
+	final JsonValue jsonFileContent = DataBundle.getBundle().getJson(idToLoad.getFilePath());
+	this.conversation = new Conversation(idToLoad, Utils.readJsonValue(ConversationNode.class, jsonFileContent.child));
+	for (JsonValue jsonVal = jsonFileContent.child.next; jsonVal != null; jsonVal = jsonVal.next) {
+	    conversation.addNode(Utils.readJsonValue(ConversationNode.class, jsonVal));
 	}
     }
 
@@ -1,5 +1,7 @@
 package com.lok.game.assets.loader;
 
+import java.util.EnumMap;
+
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
@@ -11,6 +13,7 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.JsonValue;
 import com.lok.game.Utils;
+import com.lok.game.assets.DataBundle;
 import com.lok.game.ecs.EntityConfiguration;
 import com.lok.game.ecs.EntityEngine.EntityID;
 
@@ -18,10 +21,21 @@ public class EntityConfigurationLoader extends AsynchronousAssetLoader<EntityCon
     private static final String TAG = EntityConfigurationLoader.class.getSimpleName();
 
     public static class EntityConfigurationParameter extends AssetLoaderParameters<EntityConfiguration> {
-	private Array<JsonValue> jsonFileContent;
+	private final EnumMap<EntityID, JsonValue> componentValues;
 
 	public EntityConfigurationParameter(String jsonFilePath) {
-	    jsonFileContent = Utils.fromJson(Gdx.files.internal(jsonFilePath));
+	    this.componentValues = new EnumMap<EntityID, JsonValue>(EntityID.class);
+
+	    final JsonValue jsonFileContent = DataBundle.getBundle().getJson(jsonFilePath);
+	    if (jsonFileContent == null || jsonFileContent.size == 0) {
+		throw new GdxRuntimeException("Entity configuration file " + jsonFilePath + " cannot be empty");
+	    }
+	    for (JsonValue jsonVal : jsonFileContent) {
+		final EntityID entityID = EntityID.valueOf(jsonVal.getString("entityID"));
+		if (componentValues.put(entityID, jsonVal.get("components")) != null) {
+		    throw new GdxRuntimeException("Entity " + entityID + " is configured more than once in " + jsonFilePath);
+		}
+	    }
 	}
     }
 
@@ -34,22 +48,13 @@ public class EntityConfigurationLoader extends AsynchronousAssetLoader<EntityCon
     @Override
     public void loadAsync(AssetManager manager, String fileName, FileHandle file, EntityConfigurationParameter parameter) {
 	Gdx.app.debug(TAG, "Loading entity configuration " + fileName);
-	if (parameter.jsonFileContent == null || parameter.jsonFileContent.size == 0) {
-	    throw new GdxRuntimeException("EntityConfigurationParameter jsonFileContent cannot be null or empty");
-	}
-
-	final EntityID idToLoad = EntityID.valueOf(fileName);
-	entityConfiguration = null;
-	for (JsonValue jsonVal : parameter.jsonFileContent) {
-	    final EntityID entityID = EntityID.valueOf(jsonVal.getString("entityID"));
-	    if (entityID.equals(idToLoad)) {
-		entityConfiguration = Utils.readJsonValue(EntityConfiguration.class, jsonVal.get("components"));
-		Gdx.app.debug(TAG, "Created new entity configuration " + fileName);
-		return;
-	    }
+	final JsonValue componentValue = parameter.componentValues.get(EntityID.valueOf(fileName));
+	if (componentValue == null) {
+	    throw new GdxRuntimeException("There is no entity configuration for " + fileName + " with the given parameter");
 	}
 
-	throw new GdxRuntimeException("There is no entity configuration for " + fileName + " with the given parameter");
+	entityConfiguration = Utils.readJsonValue(EntityConfiguration.class, componentValue);
+	Gdx.app.debug(TAG, "Created new entity configuration " + fileName);
     }
 
     @Override
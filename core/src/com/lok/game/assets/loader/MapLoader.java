@@ -6,11 +6,14 @@ import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
 import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.utils.Array;
 import com.lok.game.map.Map;
 import com.lok.game.map.MapManager.MapID;
+import com.lok.game.map.MapMetadata;
+import com.lok.game.pathfinding.PathAbstraction;
 
 public class MapLoader extends AsynchronousAssetLoader<Map, MapLoader.MapParameter> {
     private final static String TAG = MapLoader.class.getSimpleName();
@@ -31,7 +34,24 @@ public class MapLoader extends AsynchronousAssetLoader<Map, MapLoader.MapParamet
 	this.map = null;
 	final MapID idToLoad = MapID.valueOf(fileName);
 	final TiledMap tiledMap = manager.get(idToLoad.getMapName(), TiledMap.class);
+	// the data that is derived from the layers is cached as long as the TMX file does not change
+	final long tmxChecksum = MapMetadata.getChecksum(resolve(idToLoad.getMapName()));
+	final FileHandle metadataFile = MapMetadata.getFile(idToLoad);
+	if (metadataFile != null) {
+	    this.map = MapMetadata.read(idToLoad, tiledMap, metadataFile, tmxChecksum);
+	}
+	if (map != null && map.getPathAbstraction().isCompatible(map)) {
+	    Gdx.app.debug(TAG, "Loaded metadata of map " + fileName);
+	    return;
+	}
+
 	this.map = new Map(idToLoad, tiledMap);
+	final PathAbstraction pathAbstraction = PathAbstraction.build(map);
+	map.setPathAbstraction(pathAbstraction);
+	Gdx.app.debug(TAG, "Built path abstraction with " + pathAbstraction.getNumNodes() + " nodes and " + pathAbstraction.getNumEdges() + " edges");
+	if (metadataFile != null) {
+	    MapMetadata.write(map, metadataFile, tmxChecksum);
+	}
     }
 
     @Override
@@ -47,6 +67,10 @@ public class MapLoader extends AsynchronousAssetLoader<Map, MapLoader.MapParamet
 	final Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
 	final MapID idToLoad = MapID.valueOf(fileName);
 	dependencies.add(new AssetDescriptor<TiledMap>(idToLoad.getMapName(), TiledMap.class));
+	// the music is a dependency so that it is loaded and released together with the map
+	if (idToLoad.getMusicFilePath() != null) {
+	    dependencies.add(new AssetDescriptor<Music>(idToLoad.getMusicFilePath(), Music.class));
+	}
 	return dependencies;
     }
 
@@ -1,7 +1,6 @@
 package com.lok.game.conversation;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.ObjectMap;
@@ -29,7 +28,6 @@ public class Conversation {
     }
 
     private final static String			       TAG		 = Conversation.class.getSimpleName();
-    private static Array<Conversation>		       conversationCache = null;
 
     private final ConversationID		       conversationID;
     private final ConversationNode		       startNode;
@@ -75,16 +73,8 @@ public class Conversation {
     }
 
     public static Conversation getConversation(ConversationID conversationID) {
-	if (conversationCache == null) {
-	    Gdx.app.debug(TAG, "Initializing conversation cache");
-	    conversationCache = new Array<Conversation>();
-	    final AssetManager assetManager = Utils.getAssetManager();
-	    for (ConversationID convID : ConversationID.values()) {
-		conversationCache.add(assetManager.get(convID.name(), Conversation.class));
-	    }
-	}
-
-	return conversationCache.get(conversationID.ordinal());
+	// not cached because the conversations are only loaded while the TownScreen is shown
+	return Utils.getAssetManager().get(conversationID.name(), Conversation.class);
     }
 
     public void triggerConversationChoice(int choiceIndex) {
@@ -0,0 +1,158 @@
+package com.lok.game.ecs;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectMap.Values;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.Pool.Poolable;
+
+// Remembers the pairs that collided during the last tick so that a collision can be reported as enter, stay and exit.
+// Pairs are unordered: (a, b) and (b, a) are the same pair. Every object also knows its pairs so that the pairs of a removed object are found
+// without a look at all pairs.
+public class CollisionPairCache<A, B> {
+    public static class CollisionPair<A, B> implements Poolable {
+	private A   first;
+	private B   second;
+	private int lastTick;
+
+	public A getFirst() {
+	    return first;
+	}
+
+	public B getSecond() {
+	    return second;
+	}
+
+	@Override
+	public int hashCode() {
+	    return System.identityHashCode(first) ^ System.identityHashCode(second);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+	    if (!(obj instanceof CollisionPair)) {
+		return false;
+	    }
+
+	    final CollisionPair<?, ?> other = (CollisionPair<?, ?>) obj;
+	    return (first == other.first && second == other.second) || (first == other.second && second == other.first);
+	}
+
+	@Override
+	public void reset() {
+	    first = null;
+	    second = null;
+	    lastTick = 0;
+	}
+    }
+
+    private final ObjectMap<CollisionPair<A, B>, CollisionPair<A, B>> pairs;
+    private final IdentityMap<Object, Array<CollisionPair<A, B>>>     objectPairs;
+    private final Pool<Array<CollisionPair<A, B>>>		      pairArrayPool;
+    private final Pool<CollisionPair<A, B>>			      pairPool;
+    private final CollisionPair<A, B>				      lookupKey;
+
+    public CollisionPairCache() {
+	this.pairs = new ObjectMap<CollisionPair<A, B>, CollisionPair<A, B>>();
+	this.objectPairs = new IdentityMap<Object, Array<CollisionPair<A, B>>>();
+	this.pairArrayPool = new Pool<Array<CollisionPair<A, B>>>() {
+	    @Override
+	    protected Array<CollisionPair<A, B>> newObject() {
+		return new Array<CollisionPair<A, B>>();
+	    }
+	};
+	this.pairPool = new Pool<CollisionPair<A, B>>() {
+	    @Override
+	    protected CollisionPair<A, B> newObject() {
+		return new CollisionPair<A, B>();
+	    }
+	};
+	this.lookupKey = new CollisionPair<A, B>();
+    }
+
+    /**
+     * Marks the pair as colliding in the given tick. Returns true if the pair did not collide before (enter) and false if it was already colliding (stay).
+     */
+    public boolean add(A first, B second, int tick) {
+	lookupKey.first = first;
+	lookupKey.second = second;
+	CollisionPair<A, B> pair = pairs.get(lookupKey);
+	lookupKey.reset();
+
+	if (pair != null) {
+	    pair.lastTick = tick;
+	    return false;
+	}
+
+	pair = pairPool.obtain();
+	pair.first = first;
+	pair.second = second;
+	pair.lastTick = tick;
+	pairs.put(pair, pair);
+	addObjectPair(first, pair);
+	addObjectPair(second, pair);
+	return true;
+    }
+
+    private void addObjectPair(Object object, CollisionPair<A, B> pair) {
+	Array<CollisionPair<A, B>> pairsOfObject = objectPairs.get(object);
+	if (pairsOfObject == null) {
+	    pairsOfObject = pairArrayPool.obtain();
+	    objectPairs.put(object, pairsOfObject);
+	}
+	pairsOfObject.add(pair);
+    }
+
+    private void removeObjectPair(Object object, CollisionPair<A, B> pair) {
+	final Array<CollisionPair<A, B>> pairsOfObject = objectPairs.get(object);
+	if (pairsOfObject == null) {
+	    return;
+	}
+
+	pairsOfObject.removeValue(pair, true);
+	if (pairsOfObject.size == 0) {
+	    objectPairs.remove(object);
+	    pairArrayPool.free(pairsOfObject);
+	}
+    }
+
+    /**
+     * Removes all pairs that did not collide in the given tick and adds them to the result array. The pairs have to be returned with {@link #free(Array)} afterwards.
+     */
+    public void removeStalePairs(int tick, Array<CollisionPair<A, B>> result) {
+	final Values<CollisionPair<A, B>> values = pairs.values();
+	while (values.hasNext()) {
+	    final CollisionPair<A, B> pair = values.next();
+	    if (pair.lastTick != tick) {
+		result.add(pair);
+		values.remove();
+		removeObjectPair(pair.first, pair);
+		removeObjectPair(pair.second, pair);
+	    }
+	}
+    }
+
+    /**
+     * Removes all pairs that contain the given object and adds them to the result array. The pairs have to be returned with {@link #free(Array)} afterwards.
+     */
+    public void removePairs(Object object, Array<CollisionPair<A, B>> result) {
+	final Array<CollisionPair<A, B>> pairsOfObject = objectPairs.remove(object);
+	if (pairsOfObject == null) {
+	    return;
+	}
+
+	for (CollisionPair<A, B> pair : pairsOfObject) {
+	    result.add(pair);
+	    pairs.remove(pair);
+	    removeObjectPair(pair.first == object ? pair.second : pair.first, pair);
+	}
+	pairsOfObject.clear();
+	pairArrayPool.free(pairsOfObject);
+    }
+
+    public void free(Array<CollisionPair<A, B>> removedPairs) {
+	pairPool.freeAll(removedPairs);
+	removedPairs.clear();
+    }
+}
@@ -0,0 +1,196 @@
+package com.lok.game.ecs;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.Pool.Poolable;
+import com.lok.game.ecs.EntityEngine.EntityID;
+import com.lok.game.ecs.components.Component;
+import com.lok.game.ecs.components.IDComponent;
+import com.lok.game.map.MapManager;
+import com.lok.game.map.MapManager.MapID;
+
+// Records structural changes (entities, components, map changes) during a tick. The commands are executed in the order they were recorded
+// at the end of EntityEngine.update when no system is iterating its entities anymore.
+public class EntityCommandBuffer {
+    private static final String TAG = EntityCommandBuffer.class.getName();
+
+    private static enum CommandType {
+	CREATE_ENTITY,
+	REMOVE_ENTITY,
+	CHANGE_MAP,
+	ADD_COMPONENT,
+	REMOVE_COMPONENT
+    }
+
+    private static class EntityCommand implements Poolable {
+	private CommandType					    type;
+	private Entity						    entity;
+	// instance ID of the entity when the command was recorded. A different ID at execution means that the pooled entity got reused
+	private int						    instanceID;
+	private EntityID					    entityID;
+	private float						    x;
+	private float						    y;
+	private final Vector2					    position = new Vector2();
+	private MapID						    mapID;
+	private Component<?>					    component;
+	private Class<? extends com.badlogic.ashley.core.Component> componentType;
+
+	@Override
+	public void reset() {
+	    type = null;
+	    entity = null;
+	    instanceID = 0;
+	    entityID = null;
+	    x = y = 0;
+	    position.setZero();
+	    mapID = null;
+	    component = null;
+	    componentType = null;
+	}
+    }
+
+    private final EntityEngine		       entityEngine;
+    private final ComponentMapper<IDComponent> idComponentMapper;
+    private final Array<EntityCommand>	       commands;
+    private final Pool<EntityCommand>	       commandPool;
+    // instance IDs of the entities that are scheduled for removal
+    private final IntSet		       scheduledRemovals;
+    // instance IDs of the entities that got removed during the current execution. Later commands for them are ignored
+    private final IntSet		       removedEntities;
+    private final IntArray		       mapEntityIDs;
+
+    public EntityCommandBuffer(EntityEngine entityEngine) {
+	this.entityEngine = entityEngine;
+	this.idComponentMapper = ComponentMapper.getFor(IDComponent.class);
+	this.commands = new Array<EntityCommand>();
+	this.commandPool = new Pool<EntityCommand>() {
+	    @Override
+	    protected EntityCommand newObject() {
+		return new EntityCommand();
+	    }
+	};
+	this.scheduledRemovals = new IntSet();
+	this.removedEntities = new IntSet();
+	this.mapEntityIDs = new IntArray();
+    }
+
+    private EntityCommand addCommand(CommandType type) {
+	final EntityCommand command = commandPool.obtain();
+	command.type = type;
+	commands.add(command);
+	return command;
+    }
+
+    private EntityCommand addCommand(CommandType type, Entity entity) {
+	final EntityCommand command = addCommand(type);
+	command.entity = entity;
+	command.instanceID = idComponentMapper.get(entity).instanceID;
+	return command;
+    }
+
+    public void createEntity(EntityID entityID, float x, float y) {
+	final EntityCommand command = addCommand(CommandType.CREATE_ENTITY);
+	command.entityID = entityID;
+	command.x = x;
+	command.y = y;
+    }
+
+    public void removeEntity(Entity entity) {
+	if (!scheduledRemovals.add(idComponentMapper.get(entity).instanceID)) {
+	    // already scheduled for removal
+	    return;
+	}
+
+	addCommand(CommandType.REMOVE_ENTITY, entity);
+    }
+
+    /**
+     * Changes the map at the end of the tick. The player is placed at playerPosition on the new map.
+     */
+    public void changeMap(MapID mapID, Vector2 playerPosition) {
+	final EntityCommand command = addCommand(CommandType.CHANGE_MAP);
+	command.mapID = mapID;
+	command.position.set(playerPosition);
+    }
+
+    /**
+     * Creates a new component of the given type that gets added to the entity at the end of the tick. The returned component can be configured until then.
+     */
+    public <T extends Component<?>> T addComponent(Entity entity, Class<T> componentType) {
+	final T component = entityEngine.createComponent(componentType);
+	addCommand(CommandType.ADD_COMPONENT, entity).component = component;
+	return component;
+    }
+
+    public void removeComponent(Entity entity, Class<? extends com.badlogic.ashley.core.Component> componentType) {
+	addCommand(CommandType.REMOVE_COMPONENT, entity).componentType = componentType;
+    }
+
+    public boolean isEmpty() {
+	return commands.size == 0;
+    }
+
+    public void execute() {
+	// commands can record new commands while they get executed -> no iterator
+	for (int i = 0; i < commands.size; ++i) {
+	    final EntityCommand command = commands.get(i);
+	    if (command.entity != null && isRemoved(command)) {
+		Gdx.app.debug(TAG, "Ignoring " + command.type + " of an already removed entity");
+		if (command.component != null) {
+		    entityEngine.freeComponent(command.component);
+		}
+		continue;
+	    }
+
+	    switch (command.type) {
+		case CREATE_ENTITY:
+		    MapManager.getManager().addMapEntity(entityEngine.createEntity(command.entityID, command.x, command.y));
+		    break;
+		case REMOVE_ENTITY:
+		    MapManager.getManager().removeMapEntity(command.entity);
+		    removedEntities.add(command.instanceID);
+		    entityEngine.removeEntity(command.entity);
+		    break;
+		case CHANGE_MAP:
+		    mapEntityIDs.clear();
+		    for (Entity entity : MapManager.getManager().getCurrentMapEntities()) {
+			mapEntityIDs.add(idComponentMapper.get(entity).instanceID);
+		    }
+		    // a map that is not loaded yet is activated by a later MapManager.update. Until then the entities of the current map stay alive
+		    if (MapManager.getManager().changeMap(command.mapID, command.position)) {
+			for (int j = 0; j < mapEntityIDs.size; ++j) {
+			    removedEntities.add(mapEntityIDs.get(j));
+			}
+		    }
+		    break;
+		case ADD_COMPONENT:
+		    command.entity.add(command.component);
+		    break;
+		case REMOVE_COMPONENT:
+		    command.entity.remove(command.componentType);
+		    break;
+	    }
+	}
+
+	commandPool.freeAll(commands);
+	commands.clear();
+	scheduledRemovals.clear();
+	removedEntities.clear();
+    }
+
+    private boolean isRemoved(EntityCommand command) {
+	if (removedEntities.contains(command.instanceID)) {
+	    return true;
+	}
+
+	// removed entities lose their components and pooled entities get a new instance ID when they are reused
+	final IDComponent idComponent = idComponentMapper.get(command.entity);
+	return idComponent == null || idComponent.instanceID != command.instanceID;
+    }
+}
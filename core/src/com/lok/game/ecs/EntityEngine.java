@@ -6,26 +6,31 @@ import com.badlogic.ashley.core.EntityListener;
 import com.badlogic.ashley.core.EntitySystem;
 import com.badlogic.ashley.core.Family;
 import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.ashley.utils.ImmutableArray;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.lok.game.Utils;
 import com.lok.game.ability.AbilitySystem;
+import com.lok.game.ecs.components.AIChaseComponent;
 import com.lok.game.ecs.components.AIWanderComponent;
 import com.lok.game.ecs.components.AbilityComponent;
 import com.lok.game.ecs.components.AnimationComponent;
 import com.lok.game.ecs.components.CollisionComponent;
-import com.lok.game.ecs.components.Component;
 import com.lok.game.ecs.components.IDComponent;
 import com.lok.game.ecs.components.MapRevelationComponent;
 import com.lok.game.ecs.components.SizeComponent;
 import com.lok.game.ecs.components.SpeedComponent;
+import com.lok.game.ecs.systems.AIChaseSystem;
 import com.lok.game.ecs.systems.AIWanderSystem;
 import com.lok.game.ecs.systems.AnimationSystem;
 import com.lok.game.ecs.systems.CastSystem;
 import com.lok.game.ecs.systems.CollisionSystem;
 import com.lok.game.ecs.systems.MapRevelationSystem;
 import com.lok.game.ecs.systems.MovementSystem;
+import com.lok.game.profiling.Profiler;
+import com.lok.game.profiling.ProfilerTimer;
 
 public class EntityEngine {
     public static enum EntityID {
@@ -38,33 +43,61 @@ public class EntityEngine {
 	PORTAL
     }
 
-    private static final String	       TAG	= EntityEngine.class.getName();
-    private static EntityEngine	       instance	= null;
+    private static final String	      TAG      = EntityEngine.class.getName();
+    private static EntityEngine	      instance = null;
 
-    private final PooledEngine	       engine;
-    private Array<EntityConfiguration> entityConfigurationCache;
-    private final AbilitySystem	       abilitySystem;
+    private final PooledEngine	      engine;
+    // never added to the engine. Components that are removed from it are returned to the component pools of the engine
+    private final Entity	      componentRecycler;
+    private EntityPrefab[]	      prefabCache;
+    private final AbilitySystem	      abilitySystem;
+    private final EntityCommandBuffer commandBuffer;
+    private final ProfilerTimer	      abilitySystemTimer;
+    private final SystemScheduler     systemScheduler;
+    private final SimulationLOD	      simulationLOD;
+    private int			      lastInstanceID;
 
     private EntityEngine() {
-	entityConfigurationCache = null;
+	prefabCache = null;
 	engine = new PooledEngine(64, 128, 512, 1024);
+	componentRecycler = engine.createEntity();
+	commandBuffer = new EntityCommandBuffer(this);
+	lastInstanceID = 0;
 
 	final ComponentMapper<IDComponent> idComponentMapper = ComponentMapper.getFor(IDComponent.class);
 	final ComponentMapper<SpeedComponent> speedComponentMapper = ComponentMapper.getFor(SpeedComponent.class);
 	final ComponentMapper<AIWanderComponent> aiWanderComponentMapper = ComponentMapper.getFor(AIWanderComponent.class);
+	final ComponentMapper<AIChaseComponent> aiChaseComponentMapper = ComponentMapper.getFor(AIChaseComponent.class);
 	final ComponentMapper<AnimationComponent> animationComponentMapper = ComponentMapper.getFor(AnimationComponent.class);
 	final ComponentMapper<MapRevelationComponent> mapRevelationComponentMapper = ComponentMapper.getFor(MapRevelationComponent.class);
 	final ComponentMapper<CollisionComponent> collisionComponentMapper = ComponentMapper.getFor(CollisionComponent.class);
 	final ComponentMapper<SizeComponent> sizeComponentMapper = ComponentMapper.getFor(SizeComponent.class);
 	final ComponentMapper<AbilityComponent> abilityComponentMapper = ComponentMapper.getFor(AbilityComponent.class);
 
-	engine.addSystem(new MovementSystem(speedComponentMapper, collisionComponentMapper, sizeComponentMapper));
-	engine.addSystem(new CollisionSystem(idComponentMapper, collisionComponentMapper));
-	engine.addSystem(new AnimationSystem(animationComponentMapper));
+	// broadphase for entity vs entity collision. Cells are a little bigger than the biggest collision rectangle
+	final SpatialHash spatialHash = new SpatialHash(collisionComponentMapper, 2.5f);
+	engine.addEntityListener(Family.all(SizeComponent.class, CollisionComponent.class).get(), spatialHash);
+
+	// entities far away from the player are simulated less often or not at all
+	final Family lodFamily = Family.all(IDComponent.class, SizeComponent.class).get();
+	simulationLOD = new SimulationLOD(idComponentMapper, sizeComponentMapper, engine.getEntitiesFor(lodFamily));
+	engine.addEntityListener(lodFamily, simulationLOD);
+
+	// movement and collision run every tick.
+	// The pulsing of the revelation circle does not need the full rate. The AIWanderSystem only touches the entities with a due decision
+	systemScheduler = new SystemScheduler();
+	engine.addSystem(systemScheduler.everyTick(new MovementSystem(speedComponentMapper, collisionComponentMapper, sizeComponentMapper, spatialHash, simulationLOD)));
+	engine.addSystem(systemScheduler.everyTick(new CollisionSystem(idComponentMapper, collisionComponentMapper, spatialHash)));
+	engine.addSystem(systemScheduler.everyTick(new AnimationSystem(animationComponentMapper)));
 	this.abilitySystem = new AbilitySystem(abilityComponentMapper);
-	engine.addSystem(new CastSystem(abilityComponentMapper, abilitySystem));
-	engine.addSystem(new MapRevelationSystem(sizeComponentMapper, mapRevelationComponentMapper));
-	engine.addSystem(new AIWanderSystem(aiWanderComponentMapper, speedComponentMapper, animationComponentMapper));
+	this.abilitySystemTimer = Profiler.getProfiler().getTimer(AbilitySystem.class.getSimpleName());
+	engine.addSystem(systemScheduler.everyTick(new CastSystem(abilityComponentMapper, abilitySystem)));
+	engine.addSystem(systemScheduler.lowFrequency(new MapRevelationSystem(sizeComponentMapper, mapRevelationComponentMapper), 2, true));
+	engine.addSystem(
+		systemScheduler.everyTick(new AIWanderSystem(aiWanderComponentMapper, speedComponentMapper, animationComponentMapper, aiChaseComponentMapper)));
+	// after the AIWanderSystem so that a chase overrides the wander decision of the same tick
+	engine.addSystem(systemScheduler.everyTick(
+		new AIChaseSystem(aiChaseComponentMapper, speedComponentMapper, animationComponentMapper, collisionComponentMapper, idComponentMapper)));
     }
 
     public static EntityEngine getEngine() {
@@ -76,8 +109,24 @@ public class EntityEngine {
     }
 
     public void update(float deltaTime) {
+	final long tickStartTime = TimeUtils.nanoTime();
+	abilitySystemTimer.start();
 	abilitySystem.update(deltaTime);
+	abilitySystemTimer.stop();
+	// systems of the engine are measured by themselves (see ProfiledIteratingSystem)
+	simulationLOD.update();
+	systemScheduler.beginTick(deltaTime);
 	engine.update(deltaTime);
+	// structural changes of this tick
+	commandBuffer.execute();
+	systemScheduler.endTick(deltaTime, TimeUtils.nanoTime() - tickStartTime);
+    }
+
+    /**
+     * Returns the buffer to record structural changes during a tick. They are applied at the end of {@link #update(float)}.
+     */
+    public EntityCommandBuffer getCommandBuffer() {
+	return commandBuffer;
     }
 
     public void addEntityListener(Family family, EntityListener listener) {
@@ -88,54 +137,51 @@ public class EntityEngine {
 	engine.removeEntityListener(listener);
     }
 
+    public ImmutableArray<Entity> getEntitiesFor(Family family) {
+	return engine.getEntitiesFor(family);
+    }
+
     public AbilitySystem getAbilitySystem() {
 	return abilitySystem;
     }
 
+    public SimulationLOD getSimulationLOD() {
+	return simulationLOD;
+    }
+
     public <T extends EntitySystem> T getSystem(Class<T> systemType) {
 	return engine.getSystem(systemType);
     }
 
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     public Entity createEntity(EntityID entityID, float x, float y) {
-	if (entityConfigurationCache == null) {
-	    Gdx.app.debug(TAG, "Initializing entity configuration cache");
-	    entityConfigurationCache = new Array<EntityConfiguration>();
+	if (prefabCache == null) {
+	    Gdx.app.debug(TAG, "Compiling entity prefabs");
+	    prefabCache = new EntityPrefab[EntityID.values().length];
 	    final AssetManager assetManager = Utils.getAssetManager();
 	    for (EntityID id : EntityID.values()) {
-		entityConfigurationCache.add(assetManager.get(id.name(), EntityConfiguration.class));
+		prefabCache[id.ordinal()] = EntityPrefab.compile(id, assetManager.get(id.name(), EntityConfiguration.class));
 	    }
 	}
 
 	Gdx.app.debug(TAG, "Creating entity " + entityID + " at location (" + x + "/" + y + ")");
 
-	final Entity entity = engine.createEntity();
-
-	final IDComponent idComponent = engine.createComponent(IDComponent.class);
-	idComponent.entityID = entityID;
-	entity.add(idComponent);
-
-	final EntityConfiguration components = entityConfigurationCache.get(entityID.ordinal());
-	for (Component component : components) {
-	    final Component entityComponent = engine.createComponent(component.getClass());
-	    entityComponent.initialize(component);
-
-	    if (entityComponent instanceof SizeComponent) {
-		final SizeComponent sizeComp = (SizeComponent) entityComponent;
-		sizeComp.boundingRectangle.setPosition(x, y);
-		sizeComp.interpolatedPosition.set(x, y);
-	    } else if (entityComponent instanceof CollisionComponent) {
-		final CollisionComponent collisionComp = (CollisionComponent) entityComponent;
-		collisionComp.collisionRectangle.setPosition(x + collisionComp.rectOffset.x, y + collisionComp.rectOffset.y);
-	    }
-
-	    entity.add(entityComponent);
-	}
-
+	final Entity entity = prefabCache[entityID.ordinal()].spawn(engine, ++lastInstanceID, x, y);
 	engine.addEntity(entity);
 	return entity;
     }
 
+    public <T extends com.badlogic.ashley.core.Component> T createComponent(Class<T> componentType) {
+	return engine.createComponent(componentType);
+    }
+
+    /**
+     * Returns a component of {@link #createComponent(Class)} that was never added to an entity to its pool
+     */
+    public void freeComponent(com.badlogic.ashley.core.Component component) {
+	componentRecycler.add(component);
+	componentRecycler.remove(component.getClass());
+    }
+
     public void removeEntity(Entity entity) {
 	Gdx.app.debug(TAG, "Removing entity " + entity.getComponent(IDComponent.class).entityID);
 
@@ -0,0 +1,91 @@
+package com.lok.game.ecs;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.lok.game.ecs.EntityEngine.EntityID;
+import com.lok.game.ecs.components.CollisionComponent;
+import com.lok.game.ecs.components.Component;
+import com.lok.game.ecs.components.IDComponent;
+import com.lok.game.ecs.components.SizeComponent;
+
+// Spawn plan of an EntityConfiguration. It is compiled once per EntityID: the component types are resolved and the components that depend on the
+// spawn position (size and collision) are split from the ones that are only copied. Spawning is then a straight loop without type checks.
+public class EntityPrefab {
+    private final EntityID			  entityID;
+    private final SizeComponent			  sizeConfig;
+    private final CollisionComponent		  collisionConfig;
+    private final Class<? extends Component<?>>[] copyTypes;
+    private final Component<?>[]		  copyConfigs;
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private EntityPrefab(EntityID entityID, SizeComponent sizeConfig, CollisionComponent collisionConfig, Array<Component<?>> copyConfigs) {
+	this.entityID = entityID;
+	this.sizeConfig = sizeConfig;
+	this.collisionConfig = collisionConfig;
+	this.copyTypes = new Class[copyConfigs.size];
+	this.copyConfigs = new Component<?>[copyConfigs.size];
+	for (int i = 0; i < copyConfigs.size; ++i) {
+	    this.copyConfigs[i] = copyConfigs.get(i);
+	    this.copyTypes[i] = (Class<? extends Component<?>>) copyConfigs.get(i).getClass();
+	}
+    }
+
+    public static EntityPrefab compile(EntityID entityID, EntityConfiguration configuration) {
+	SizeComponent sizeConfig = null;
+	CollisionComponent collisionConfig = null;
+	final Array<Component<?>> copyConfigs = new Array<Component<?>>(configuration.size);
+	for (Component<?> component : configuration) {
+	    if (component instanceof SizeComponent) {
+		sizeConfig = (SizeComponent) component;
+	    } else if (component instanceof CollisionComponent) {
+		collisionConfig = (CollisionComponent) component;
+	    } else if (component instanceof IDComponent) {
+		throw new GdxRuntimeException("Entity configuration of " + entityID + " must not contain an IDComponent");
+	    } else {
+		copyConfigs.add(component);
+	    }
+	}
+
+	return new EntityPrefab(entityID, sizeConfig, collisionConfig, copyConfigs);
+    }
+
+    public EntityID getEntityID() {
+	return entityID;
+    }
+
+    /**
+     * Creates the entity with its components at the given position. The entity is not added to the engine.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Entity spawn(PooledEngine engine, int instanceID, float x, float y) {
+	final Entity entity = engine.createEntity();
+
+	final IDComponent idComponent = engine.createComponent(IDComponent.class);
+	idComponent.entityID = entityID;
+	idComponent.instanceID = instanceID;
+	entity.add(idComponent);
+
+	if (sizeConfig != null) {
+	    final SizeComponent sizeComp = engine.createComponent(SizeComponent.class);
+	    sizeComp.initialize(sizeConfig);
+	    sizeComp.boundingRectangle.setPosition(x, y);
+	    sizeComp.interpolatedPosition.set(x, y);
+	    entity.add(sizeComp);
+	}
+	if (collisionConfig != null) {
+	    final CollisionComponent collisionComp = engine.createComponent(CollisionComponent.class);
+	    collisionComp.initialize(collisionConfig);
+	    collisionComp.collisionRectangle.setPosition(x + collisionConfig.rectOffset.x, y + collisionConfig.rectOffset.y);
+	    entity.add(collisionComp);
+	}
+	for (int i = 0; i < copyTypes.length; ++i) {
+	    final Component entityComponent = engine.createComponent(copyTypes[i]);
+	    entityComponent.initialize(copyConfigs[i]);
+	    entity.add(entityComponent);
+	}
+
+	return entity;
+    }
+}
@@ -0,0 +1,156 @@
+package com.lok.game.ecs;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.lok.game.ecs.EntityEngine.EntityID;
+import com.lok.game.ecs.components.IDComponent;
+import com.lok.game.ecs.components.SizeComponent;
+
+// Simulation level of detail by the distance to the player.
+// FULL entities are simulated every tick. REDUCED entities move only every REDUCED_INTERVAL ticks and do not advance their animations. Collisions
+// are only checked for FULL entities, so REDUCED entities only collide with FULL entities.
+// FROZEN entities are not simulated at all. The radii can be configured, but the full radius is at least MIN_FULL_RADIUS, which is derived from
+// the visible area so that a change of the level always happens outside of the screen. The level is stored in the lowest bits of Entity.flags.
+public class SimulationLOD implements EntityListener {
+    public static final int			 FULL		  = 0;
+    public static final int			 REDUCED	  = 1;
+    public static final int			 FROZEN		  = 2;
+    private static final int			 LEVEL_MASK	  = 3;
+
+    // half diagonal of the visible area (32x18 world units)
+    private static final float			 VIEW_RADIUS	  = (float) Math.sqrt(16 * 16 + 9 * 9);
+    // the camera is locked to the corner of the player and not to its center, and entities reach into the view with half of their size
+    private static final float			 VIEW_MARGIN	  = 3f;
+    // an entity must come this fraction of a radius closer before its level is lowered again
+    private static final float			 HYSTERESIS	  = 0.1f;
+    // smallest full radius where an entity that comes within fullRadius - hysteresis is still outside of the view
+    public static final float			 MIN_FULL_RADIUS  = (VIEW_RADIUS + VIEW_MARGIN) / (1 - HYSTERESIS);
+    public static final int			 REDUCED_INTERVAL = 4;
+
+    private final ComponentMapper<IDComponent>	 idComponentMapper;
+    private final ComponentMapper<SizeComponent> sizeComponentMapper;
+    private final ImmutableArray<Entity>	 entities;
+    private Entity				 focusEntity;
+    // distances in world units between the center of the player and the center of an entity
+    private float				 fullRadius;
+    private float				 reducedRadius;
+    private int					 tick;
+
+    public SimulationLOD(ComponentMapper<IDComponent> idComponentMapper, ComponentMapper<SizeComponent> sizeComponentMapper, ImmutableArray<Entity> entities) {
+	this.idComponentMapper = idComponentMapper;
+	this.sizeComponentMapper = sizeComponentMapper;
+	this.entities = entities;
+	this.focusEntity = null;
+	this.fullRadius = MIN_FULL_RADIUS;
+	this.reducedRadius = MIN_FULL_RADIUS + 12f;
+	this.tick = 0;
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+	final IDComponent idComponent = idComponentMapper.get(entity);
+	if (idComponent != null && idComponent.entityID == EntityID.PLAYER) {
+	    focusEntity = entity;
+	}
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+	if (entity == focusEntity) {
+	    focusEntity = null;
+	}
+    }
+
+    public float getFullRadius() {
+	return fullRadius;
+    }
+
+    public float getReducedRadius() {
+	return reducedRadius;
+    }
+
+    /**
+     * Sets the distances in world units within which entities are FULL respectively REDUCED. The full radius must be at least
+     * {@link #MIN_FULL_RADIUS} and the reduced radius must not be smaller than the full radius.
+     */
+    public void setRadii(float fullRadius, float reducedRadius) {
+	if (fullRadius < MIN_FULL_RADIUS || reducedRadius < fullRadius) {
+	    throw new GdxRuntimeException("Invalid simulation LOD radii " + fullRadius + " and " + reducedRadius);
+	}
+
+	this.fullRadius = fullRadius;
+	this.reducedRadius = reducedRadius;
+    }
+
+    /**
+     * Updates the level of all entities. Must be called once per tick before the systems are updated.
+     */
+    public void update() {
+	++tick;
+
+	if (focusEntity == null) {
+	    // without a player there is no reference point -> everything is simulated
+	    for (int i = 0; i < entities.size(); ++i) {
+		setLevel(entities.get(i), FULL);
+	    }
+	    return;
+	}
+
+	final Rectangle focusRect = sizeComponentMapper.get(focusEntity).boundingRectangle;
+	final float focusX = focusRect.x + focusRect.width * 0.5f;
+	final float focusY = focusRect.y + focusRect.height * 0.5f;
+	for (int i = 0; i < entities.size(); ++i) {
+	    final Entity entity = entities.get(i);
+	    final Rectangle rect = sizeComponentMapper.get(entity).boundingRectangle;
+	    final float distX = rect.x + rect.width * 0.5f - focusX;
+	    final float distY = rect.y + rect.height * 0.5f - focusY;
+	    final float distance2 = distX * distX + distY * distY;
+
+	    final int level = getLevel(entity);
+	    // lower levels use a smaller radius to avoid flickering between two levels
+	    final float fullLevelRadius = level == FULL ? fullRadius : fullRadius * (1 - HYSTERESIS);
+	    final float reducedLevelRadius = level == FROZEN ? reducedRadius * (1 - HYSTERESIS) : reducedRadius;
+	    if (distance2 <= fullLevelRadius * fullLevelRadius) {
+		setLevel(entity, FULL);
+	    } else if (distance2 <= reducedLevelRadius * reducedLevelRadius) {
+		setLevel(entity, REDUCED);
+	    } else {
+		setLevel(entity, FROZEN);
+	    }
+	}
+    }
+
+    private static void setLevel(Entity entity, int level) {
+	entity.flags = (entity.flags & ~LEVEL_MASK) | level;
+    }
+
+    public static int getLevel(Entity entity) {
+	return entity.flags & LEVEL_MASK;
+    }
+
+    /**
+     * Returns true if the movement of the entity is updated in this tick. REDUCED entities are spread over the ticks by their instance id.
+     */
+    public boolean isDue(Entity entity) {
+	switch (getLevel(entity)) {
+	    case FULL:
+		return true;
+	    case REDUCED:
+		final IDComponent idComponent = idComponentMapper.get(entity);
+		return (tick + (idComponent == null ? 0 : idComponent.instanceID)) % REDUCED_INTERVAL == 0;
+	    default:
+		return false;
+	}
+    }
+
+    /**
+     * Returns the number of ticks that a due entity has to simulate.
+     */
+    public static int getNumTicks(Entity entity) {
+	return getLevel(entity) == REDUCED ? REDUCED_INTERVAL : 1;
+    }
+}
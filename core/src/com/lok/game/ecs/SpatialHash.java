@@ -0,0 +1,156 @@
+package com.lok.game.ecs;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.Pool;
+import com.lok.game.ecs.components.CollisionComponent;
+
+// Uniform grid broadphase for the collision rectangles of all collidable entities.
+// Every entity is stored in each cell its collision rectangle touches. The occupied cell range is cached
+// within the CollisionComponent so that an update is a no-op as long as the entity stays within the same cells.
+public class SpatialHash implements EntityListener {
+    private final ComponentMapper<CollisionComponent> collisionComponentMapper;
+    private final float				      invCellSize;
+    private final IntMap<Array<Entity>>		      cells;
+    private final Pool<Array<Entity>>		      cellPool;
+
+    public SpatialHash(ComponentMapper<CollisionComponent> collisionComponentMapper, float cellSize) {
+	this.collisionComponentMapper = collisionComponentMapper;
+	this.invCellSize = 1.0f / cellSize;
+	this.cells = new IntMap<Array<Entity>>();
+	this.cellPool = new Pool<Array<Entity>>() {
+	    @Override
+	    protected Array<Entity> newObject() {
+		return new Array<Entity>(false, 8);
+	    }
+	};
+    }
+
+    private static int getCellKey(int cellX, int cellY) {
+	return (cellX << 16) | (cellY & 0xFFFF);
+    }
+
+    private int getCellIndex(float value) {
+	return MathUtils.floor(value * invCellSize);
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+	final CollisionComponent collisionComponent = collisionComponentMapper.get(entity);
+	final Rectangle rect = collisionComponent.collisionRectangle;
+
+	collisionComponent.cellMinX = getCellIndex(rect.x);
+	collisionComponent.cellMinY = getCellIndex(rect.y);
+	collisionComponent.cellMaxX = getCellIndex(rect.x + rect.width);
+	collisionComponent.cellMaxY = getCellIndex(rect.y + rect.height);
+	collisionComponent.inSpatialHash = true;
+	addToCells(entity, collisionComponent);
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+	final CollisionComponent collisionComponent = collisionComponentMapper.get(entity);
+
+	if (collisionComponent == null) {
+	    // component was already removed -> cell range is unknown
+	    for (Array<Entity> cell : cells.values()) {
+		cell.removeValue(entity, true);
+	    }
+	    return;
+	}
+
+	if (collisionComponent.inSpatialHash) {
+	    removeFromCells(entity, collisionComponent);
+	    collisionComponent.inSpatialHash = false;
+	}
+    }
+
+    public void update(Entity entity, CollisionComponent collisionComponent) {
+	if (!collisionComponent.inSpatialHash) {
+	    return;
+	}
+
+	final Rectangle rect = collisionComponent.collisionRectangle;
+	final int minX = getCellIndex(rect.x);
+	final int minY = getCellIndex(rect.y);
+	final int maxX = getCellIndex(rect.x + rect.width);
+	final int maxY = getCellIndex(rect.y + rect.height);
+
+	if (minX == collisionComponent.cellMinX && minY == collisionComponent.cellMinY && maxX == collisionComponent.cellMaxX && maxY == collisionComponent.cellMaxY) {
+	    return;
+	}
+
+	removeFromCells(entity, collisionComponent);
+	collisionComponent.cellMinX = minX;
+	collisionComponent.cellMinY = minY;
+	collisionComponent.cellMaxX = maxX;
+	collisionComponent.cellMaxY = maxY;
+	addToCells(entity, collisionComponent);
+    }
+
+    /**
+     * Adds all entities whose cells overlap the cells of the given area to the result array. The result contains every entity only once but it can contain entities that
+     * do not overlap the area itself. Callers need to do the exact overlap test.
+     */
+    public void query(Rectangle area, Array<Entity> result) {
+	final int minX = getCellIndex(area.x);
+	final int minY = getCellIndex(area.y);
+	final int maxX = getCellIndex(area.x + area.width);
+	final int maxY = getCellIndex(area.y + area.height);
+	// a single cell query cannot produce duplicates
+	final boolean singleCell = minX == maxX && minY == maxY;
+
+	for (int x = minX; x <= maxX; ++x) {
+	    for (int y = minY; y <= maxY; ++y) {
+		final Array<Entity> cell = cells.get(getCellKey(x, y));
+		if (cell == null) {
+		    continue;
+		}
+
+		for (int i = 0; i < cell.size; ++i) {
+		    final Entity entity = cell.get(i);
+		    if (singleCell || !result.contains(entity, true)) {
+			result.add(entity);
+		    }
+		}
+	    }
+	}
+    }
+
+    private void addToCells(Entity entity, CollisionComponent collisionComponent) {
+	for (int x = collisionComponent.cellMinX; x <= collisionComponent.cellMaxX; ++x) {
+	    for (int y = collisionComponent.cellMinY; y <= collisionComponent.cellMaxY; ++y) {
+		final int key = getCellKey(x, y);
+		Array<Entity> cell = cells.get(key);
+		if (cell == null) {
+		    cell = cellPool.obtain();
+		    cells.put(key, cell);
+		}
+		cell.add(entity);
+	    }
+	}
+    }
+
+    private void removeFromCells(Entity entity, CollisionComponent collisionComponent) {
+	for (int x = collisionComponent.cellMinX; x <= collisionComponent.cellMaxX; ++x) {
+	    for (int y = collisionComponent.cellMinY; y <= collisionComponent.cellMaxY; ++y) {
+		final int key = getCellKey(x, y);
+		final Array<Entity> cell = cells.get(key);
+		if (cell == null) {
+		    continue;
+		}
+
+		cell.removeValue(entity, true);
+		if (cell.size == 0) {
+		    cells.remove(key);
+		    cellPool.free(cell);
+		}
+	    }
+	}
+    }
+}
@@ -0,0 +1,138 @@
+package com.lok.game.ecs;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.lok.game.ecs.systems.ProfiledIteratingSystem;
+
+// Decides in which ticks of the EntityEngine a system is updated. Every system has a tick interval and a phase offset:
+// a system with interval 4 and phase 1 is updated in tick 3, 7, 11, ... with the time of the last four ticks. Low frequency systems get different phases
+// so that they do not all run in the same tick.
+// If the ticks take longer than their fixed step, the intervals of deferrable systems are doubled per degradation level until the simulation keeps up again.
+public class SystemScheduler {
+    private static final String	TAG		      = SystemScheduler.class.getSimpleName();
+    private static final int	MAX_DEGRADATION_LEVEL = 3;
+    // average tick cost relative to the fixed step at which the degradation level is raised respectively lowered
+    private static final float	DEGRADE_LOAD	      = 0.9f;
+    private static final float	RECOVER_LOAD	      = 0.5f;
+    // weight of the last tick within the average tick cost
+    private static final float	LOAD_SMOOTHING	      = 0.1f;
+    // ticks between two changes of the degradation level
+    private static final int	DEGRADATION_COOLDOWN  = 30;
+
+    public static class Schedule {
+	private final int     interval;
+	private final int     phase;
+	private final boolean deferrable;
+	private float	      pendingDeltaTime;
+
+	private Schedule(int interval, int phase, boolean deferrable) {
+	    this.interval = interval;
+	    this.phase = phase;
+	    this.deferrable = deferrable;
+	    this.pendingDeltaTime = 0;
+	}
+
+	public int getInterval() {
+	    return interval;
+	}
+
+	public int getPhase() {
+	    return phase;
+	}
+
+	public boolean isDeferrable() {
+	    return deferrable;
+	}
+
+	/**
+	 * Returns the time since the last update of the system. Systems that are updated outside of the EntityEngine (f.e. by a benchmark) get the given delta time.
+	 */
+	public float takeDeltaTime(float deltaTime) {
+	    if (pendingDeltaTime <= 0) {
+		return deltaTime;
+	    }
+
+	    final float result = pendingDeltaTime;
+	    pendingDeltaTime = 0;
+	    return result;
+	}
+    }
+
+    private final Array<ProfiledIteratingSystem> systems;
+    private int					 tick;
+    private int					 lowFrequencySystems;
+    private float				 load;
+    private int					 degradationLevel;
+    private int					 degradationCooldown;
+
+    public SystemScheduler() {
+	this.systems = new Array<ProfiledIteratingSystem>();
+	this.tick = 0;
+	this.lowFrequencySystems = 0;
+	this.load = 0;
+	this.degradationLevel = 0;
+	this.degradationCooldown = 0;
+    }
+
+    /**
+     * Updates the system in every tick.
+     */
+    public <T extends ProfiledIteratingSystem> T everyTick(T system) {
+	return schedule(system, 1, 0, false);
+    }
+
+    /**
+     * Updates the system every interval ticks. The phase is chosen so that the low frequency systems are spread over the ticks. Deferrable systems are updated
+     * even less often while the simulation cannot keep up.
+     */
+    public <T extends ProfiledIteratingSystem> T lowFrequency(T system, int interval, boolean deferrable) {
+	final int phase = lowFrequencySystems % interval;
+	++lowFrequencySystems;
+	return schedule(system, interval, phase, deferrable);
+    }
+
+    public <T extends ProfiledIteratingSystem> T schedule(T system, int interval, int phase, boolean deferrable) {
+	system.setSchedule(new Schedule(Math.max(1, interval), phase, deferrable));
+	systems.add(system);
+	return system;
+    }
+
+    /**
+     * Marks the systems that are due in this tick. Must be called before the engine is updated.
+     */
+    public void beginTick(float deltaTime) {
+	for (ProfiledIteratingSystem system : systems) {
+	    final Schedule schedule = system.getSchedule();
+	    final int interval = schedule.deferrable ? schedule.interval << degradationLevel : schedule.interval;
+	    schedule.pendingDeltaTime += deltaTime;
+	    system.setProcessing((tick + schedule.phase) % interval == 0);
+	}
+    }
+
+    /**
+     * Adapts the degradation level to the cost of the finished tick.
+     */
+    public void endTick(float deltaTime, long tickNanos) {
+	++tick;
+	if (deltaTime <= 0) {
+	    return;
+	}
+	load += (tickNanos / (deltaTime * 1000000000f) - load) * LOAD_SMOOTHING;
+
+	if (degradationCooldown > 0) {
+	    --degradationCooldown;
+	} else if (load > DEGRADE_LOAD && degradationLevel < MAX_DEGRADATION_LEVEL) {
+	    ++degradationLevel;
+	    degradationCooldown = DEGRADATION_COOLDOWN;
+	    Gdx.app.debug(TAG, "Simulation cannot keep up (load " + load + ") -> degradation level " + degradationLevel);
+	} else if (load < RECOVER_LOAD && degradationLevel > 0) {
+	    --degradationLevel;
+	    degradationCooldown = DEGRADATION_COOLDOWN;
+	    Gdx.app.debug(TAG, "Simulation recovered (load " + load + ") -> degradation level " + degradationLevel);
+	}
+    }
+
+    public int getDegradationLevel() {
+	return degradationLevel;
+    }
+}
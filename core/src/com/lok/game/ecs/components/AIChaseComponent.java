@@ -0,0 +1,29 @@
+package com.lok.game.ecs.components;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.lok.game.pathfinding.HierarchicalPath;
+
+public class AIChaseComponent implements Component<AIChaseComponent> {
+    // distances to the player in world units at which the entity starts respectively stops chasing
+    public float	    chaseRadius	     = 0;
+    public float	    loseRadius	     = 0;
+    public boolean	    chasing	     = false;
+    // path towards the player if the entity is outside of the flow field and the tiles of its current segment
+    public HierarchicalPath hierarchicalPath = new HierarchicalPath();
+    public IntArray	    path	     = new IntArray();
+
+    @Override
+    public void reset() {
+	chaseRadius = 0;
+	loseRadius = 0;
+	chasing = false;
+	hierarchicalPath.clear();
+	path.clear();
+    }
+
+    @Override
+    public void initialize(AIChaseComponent configComponent) {
+	this.chaseRadius = configComponent.chaseRadius;
+	this.loseRadius = Math.max(configComponent.chaseRadius, configComponent.loseRadius);
+    }
+}
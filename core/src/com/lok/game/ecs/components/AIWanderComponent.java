@@ -1,6 +1,7 @@
 package com.lok.game.ecs.components;
 
 public class AIWanderComponent implements Component<AIWanderComponent> {
+    // duration of the current wander decision
     public float wanderTime = 0.0f;
 
     @Override
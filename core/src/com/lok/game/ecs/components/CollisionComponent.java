@@ -7,10 +7,19 @@ public class CollisionComponent implements Component<CollisionComponent> {
     public Vector2   rectOffset		= new Vector2(0, 0);
     public Rectangle collisionRectangle	= new Rectangle(0, 0, 0, 0);
 
+    // cells of the SpatialHash that are currently occupied by the collisionRectangle (inclusive)
+    public int	     cellMinX, cellMinY, cellMaxX, cellMaxY;
+    public boolean   inSpatialHash	= false;
+    // tick of the CollisionSystem in which the entity was last processed
+    public int	     lastCollisionTick	= 0;
+
     @Override
     public void reset() {
 	rectOffset.set(0, 0);
 	collisionRectangle.set(0, 0, 0, 0);
+	cellMinX = cellMinY = cellMaxX = cellMaxY = 0;
+	inSpatialHash = false;
+	lastCollisionTick = 0;
     }
 
     @Override
@@ -3,11 +3,14 @@ package com.lok.game.ecs.components;
 import com.lok.game.ecs.EntityEngine.EntityID;
 
 public class IDComponent implements Component<IDComponent> {
-    public EntityID entityID = null;
+    public EntityID entityID   = null;
+    // unique per created entity. Assigned by the EntityEngine because pooled entities are reused
+    public int	    instanceID = 0;
 
     @Override
     public void reset() {
 	entityID = null;
+	instanceID = 0;
     }
 
     @Override
@@ -0,0 +1,27 @@
+package com.lok.game.ecs.components;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+
+// Light source that is drawn into the light map around the center of the entity's bounding rectangle
+public class LightComponent implements Component<LightComponent> {
+    public float   radius = 0;
+    public Color   color  = new Color(Color.WHITE);
+    // offset of the light to the center of the bounding rectangle
+    public Vector2 offset = new Vector2(0, 0);
+
+    @Override
+    public void reset() {
+	radius = 0;
+	color.set(Color.WHITE);
+	offset.set(0, 0);
+    }
+
+    @Override
+    public void initialize(LightComponent configComponent) {
+	this.radius = configComponent.radius;
+	this.color.set(configComponent.color);
+	this.offset.set(configComponent.offset);
+    }
+
+}
@@ -0,0 +1,251 @@
+package com.lok.game.ecs.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import com.lok.game.ecs.EntityEngine.EntityID;
+import com.lok.game.ecs.SimulationLOD;
+import com.lok.game.ecs.components.AIChaseComponent;
+import com.lok.game.ecs.components.AnimationComponent;
+import com.lok.game.ecs.components.CollisionComponent;
+import com.lok.game.ecs.components.IDComponent;
+import com.lok.game.ecs.components.SpeedComponent;
+import com.lok.game.map.Map;
+import com.lok.game.pathfinding.FlowField;
+import com.lok.game.pathfinding.HierarchicalPath;
+import com.lok.game.pathfinding.PathfindingService;
+import com.lok.game.ui.Animation;
+
+// Entities chase the player once the player comes within their chase radius and give up beyond their lose radius.
+// Chasers follow the shared flow field of the PathfindingService. Chasers that are not covered by the field (yet) follow a hierarchical path.
+// The positions are the centers of the collision rectangles because they decide where an entity can walk.
+// The walkable tiles of the pathfinding do not consider the size of an entity. Entities whose collision rectangle is larger than a tile would get
+// stuck in gaps of one tile and therefore never chase.
+public class AIChaseSystem extends ProfiledIteratingSystem implements EntityListener {
+    // chasers that are this close to the center of the player stop to not jitter around it
+    private static final float			      STOP_DISTANCE = 0.25f;
+
+    private final ComponentMapper<AIChaseComponent>   aiChaseComponentMapper;
+    private final ComponentMapper<SpeedComponent>     speedComponentMapper;
+    private final ComponentMapper<AnimationComponent> animationComponentMapper;
+    private final ComponentMapper<CollisionComponent> collisionComponentMapper;
+    private final ComponentMapper<IDComponent>	      idComponentMapper;
+    private final PathfindingService		      pathfindingService;
+    private final Vector2			      playerPosition;
+    private final Vector2			      position;
+    private final Vector2			      direction;
+    private Entity				      player;
+    private int					      playerTileIndexX;
+    private int					      playerTileIndexY;
+    private int					      playerPathTileIndex;
+    private int					      numChasers;
+
+    public AIChaseSystem(ComponentMapper<AIChaseComponent> aiChaseComponentMapper, ComponentMapper<SpeedComponent> speedComponentMapper,
+	    ComponentMapper<AnimationComponent> animationComponentMapper, ComponentMapper<CollisionComponent> collisionComponentMapper,
+	    ComponentMapper<IDComponent> idComponentMapper) {
+	super(Family.all(AIChaseComponent.class, SpeedComponent.class, AnimationComponent.class, CollisionComponent.class).get());
+
+	this.aiChaseComponentMapper = aiChaseComponentMapper;
+	this.speedComponentMapper = speedComponentMapper;
+	this.animationComponentMapper = animationComponentMapper;
+	this.collisionComponentMapper = collisionComponentMapper;
+	this.idComponentMapper = idComponentMapper;
+	this.pathfindingService = PathfindingService.getService();
+	this.playerPosition = new Vector2();
+	this.position = new Vector2();
+	this.direction = new Vector2();
+	this.player = null;
+	this.numChasers = 0;
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+	super.addedToEngine(engine);
+	engine.addEntityListener(Family.all(IDComponent.class, CollisionComponent.class).get(), this);
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+	engine.removeEntityListener(this);
+	super.removedFromEngine(engine);
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+	if (idComponentMapper.get(entity).entityID == EntityID.PLAYER) {
+	    player = entity;
+	}
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+	if (entity == player) {
+	    player = null;
+	}
+    }
+
+    @Override
+    protected void updateSystem(float deltaTime) {
+	final Map map = pathfindingService.getMap();
+	if (player == null || map == null) {
+	    return;
+	}
+
+	getCenter(collisionComponentMapper.get(player).collisionRectangle, playerPosition);
+	playerTileIndexX = map.getTileIndexX(playerPosition.x);
+	playerTileIndexY = map.getTileIndexY(playerPosition.y);
+	playerPathTileIndex = getWalkableTile(map, playerTileIndexX, playerTileIndexY);
+	// the field is only built while somebody uses it
+	final FlowField flowField = pathfindingService.getFlowField();
+	flowField.setGoal(playerTileIndexX, playerTileIndexY);
+	if (numChasers > 0) {
+	    flowField.update();
+	}
+
+	numChasers = 0;
+	super.updateSystem(deltaTime);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+	if (SimulationLOD.getLevel(entity) == SimulationLOD.FROZEN) {
+	    return;
+	}
+
+	final AIChaseComponent aiChaseComponent = aiChaseComponentMapper.get(entity);
+	final SpeedComponent speedComponent = speedComponentMapper.get(entity);
+	final AnimationComponent animationComponent = animationComponentMapper.get(entity);
+	final Rectangle collisionRectangle = collisionComponentMapper.get(entity).collisionRectangle;
+	final Map map = pathfindingService.getMap();
+	if (collisionRectangle.width > map.getTileWidthInWorldUnits() || collisionRectangle.height > map.getTileHeightInWorldUnits()) {
+	    return;
+	}
+
+	getCenter(collisionRectangle, position);
+	final float distance2 = position.dst2(playerPosition);
+
+	if (!aiChaseComponent.chasing) {
+	    if (distance2 > aiChaseComponent.chaseRadius * aiChaseComponent.chaseRadius) {
+		return;
+	    }
+	    aiChaseComponent.chasing = true;
+	} else if (distance2 > aiChaseComponent.loseRadius * aiChaseComponent.loseRadius) {
+	    // lost the player -> idle until the next wander decision
+	    aiChaseComponent.chasing = false;
+	    aiChaseComponent.path.clear();
+	    stop(speedComponent, animationComponent);
+	    return;
+	}
+
+	++numChasers;
+	if (!findDirection(aiChaseComponent, distance2)) {
+	    stop(speedComponent, animationComponent);
+	    return;
+	}
+
+	speedComponent.speed.set(direction).scl(speedComponent.maxSpeed);
+	final Animation animation;
+	if (Math.abs(direction.x) >= Math.abs(direction.y)) {
+	    animation = Animation.getAnimation(direction.x > 0 ? animationComponent.walkRightAnimation : animationComponent.walkLeftAnimation);
+	} else {
+	    animation = Animation.getAnimation(direction.y > 0 ? animationComponent.walkUpAnimation : animationComponent.walkDownAnimation);
+	}
+	animationComponent.animation = animation;
+	animationComponent.playAnimation = true;
+    }
+
+    // stores the normalized direction towards the player in direction. Returns false if the chaser should stand still
+    private boolean findDirection(AIChaseComponent aiChaseComponent, float distance2) {
+	final Map map = pathfindingService.getMap();
+	final int tileIndexX = map.getTileIndexX(position.x);
+	final int tileIndexY = map.getTileIndexY(position.y);
+
+	if (Math.abs(tileIndexX - playerTileIndexX) <= 1 && Math.abs(tileIndexY - playerTileIndexY) <= 1) {
+	    // next to the player -> straight towards it
+	    aiChaseComponent.path.clear();
+	    if (distance2 <= STOP_DISTANCE * STOP_DISTANCE) {
+		return false;
+	    }
+	    direction.set(playerPosition).sub(position).nor();
+	    return true;
+	}
+
+	int nextTileIndex = pathfindingService.getFlowField().getNextTile(tileIndexX, tileIndexY);
+	if (nextTileIndex != -1) {
+	    aiChaseComponent.path.clear();
+	} else {
+	    nextTileIndex = getNextPathTile(aiChaseComponent, map, tileIndexX, tileIndexY);
+	    if (nextTileIndex == -1) {
+		return false;
+	    }
+	}
+
+	final int numTilesX = map.getNumTilesX();
+	direction.set(((nextTileIndex % numTilesX) + 0.5f) * map.getTileWidthInWorldUnits(), ((nextTileIndex / numTilesX) + 0.5f) * map.getTileHeightInWorldUnits());
+	direction.sub(position).nor();
+	return true;
+    }
+
+    // follows the hierarchical path of the chaser. A new path is searched if the chaser left its path or the player left the goal tile of the path.
+    // The next segment is refined when the chaser reaches the end of the current one
+    private int getNextPathTile(AIChaseComponent aiChaseComponent, Map map, int tileIndexX, int tileIndexY) {
+	if (playerPathTileIndex == -1) {
+	    return -1;
+	}
+
+	final int numTilesX = map.getNumTilesX();
+	final int tileIndex = tileIndexY * numTilesX + tileIndexX;
+	final HierarchicalPath hierarchicalPath = aiChaseComponent.hierarchicalPath;
+	final IntArray path = aiChaseComponent.path;
+	if (hierarchicalPath.getGoal() != playerPathTileIndex || !path.contains(tileIndex)) {
+	    if (hierarchicalPath.getGoal() == playerPathTileIndex && hierarchicalPath.getStart() == tileIndex && !hierarchicalPath.isFound()) {
+		// the last search from this tile already failed
+		return -1;
+	    }
+	    if (!pathfindingService.findPath(tileIndexX, tileIndexY, playerPathTileIndex % numTilesX, playerPathTileIndex / numTilesX, hierarchicalPath)
+		    || !hierarchicalPath.refineNext(path)) {
+		path.clear();
+		return -1;
+	    }
+	}
+
+	int nextIndex = path.indexOf(tileIndex) + 1;
+	if (nextIndex >= path.size) {
+	    if (!hierarchicalPath.refineNext(path)) {
+		return -1;
+	    }
+	    nextIndex = path.indexOf(tileIndex) + 1;
+	}
+	return nextIndex > 0 && nextIndex < path.size ? path.get(nextIndex) : -1;
+    }
+
+    // tiles of the player that are not walkable cannot be the goal of a path -> use a walkable neighbor
+    private static int getWalkableTile(Map map, int tileIndexX, int tileIndexY) {
+	if (map.isTileWalkable(tileIndexX, tileIndexY)) {
+	    return tileIndexY * map.getNumTilesX() + tileIndexX;
+	}
+	for (int y = tileIndexY - 1; y <= tileIndexY + 1; ++y) {
+	    for (int x = tileIndexX - 1; x <= tileIndexX + 1; ++x) {
+		if (map.isTileWalkable(x, y)) {
+		    return y * map.getNumTilesX() + x;
+		}
+	    }
+	}
+	return -1;
+    }
+
+    private void stop(SpeedComponent speedComponent, AnimationComponent animationComponent) {
+	speedComponent.speed.set(0, 0);
+	animationComponent.animationTime = 0;
+	animationComponent.playAnimation = false;
+    }
+
+    private static void getCenter(Rectangle rectangle, Vector2 result) {
+	result.set(rectangle.x + rectangle.width * 0.5f, rectangle.y + rectangle.height * 0.5f);
+    }
+}
@@ -1,71 +1,166 @@
 package com.lok.game.ecs.systems;
 
 import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
 import com.badlogic.ashley.core.Family;
-import com.badlogic.ashley.systems.IteratingSystem;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.BinaryHeap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
+import com.lok.game.ecs.SimulationLOD;
+import com.lok.game.ecs.components.AIChaseComponent;
 import com.lok.game.ecs.components.AIWanderComponent;
 import com.lok.game.ecs.components.AnimationComponent;
 import com.lok.game.ecs.components.SpeedComponent;
 import com.lok.game.ui.Animation;
 
-public class AIWanderSystem extends IteratingSystem {
+// Wander decisions only change when the wander time of an entity expires. Instead of iterating all entities every tick, the entities are kept
+// in a priority queue ordered by the time of their next decision and only the due entities are processed.
+// At most MAX_DECISIONS_PER_TICK decisions are made per update. The rest stays in the queue for the next update, which also spreads the
+// decisions of many entities that were added at once (f.e. on a map change) over several ticks.
+public class AIWanderSystem extends ProfiledIteratingSystem implements EntityListener {
+    public static final int   MAX_DECISIONS_PER_TICK = 32;
+    // frozen and chasing entities check again after at least this time in seconds
+    public static final float RECHECK_DELAY	     = 1f;
+
+    private static class DecisionNode extends BinaryHeap.Node {
+	private Entity entity;
+
+	public DecisionNode() {
+	    super(0);
+	    this.entity = null;
+	}
+    }
+
     private final ComponentMapper<SpeedComponent>     speedComponentMapper;
     private final ComponentMapper<AIWanderComponent>  aiWanderComponentMapper;
     private final ComponentMapper<AnimationComponent> animationComponentMapper;
+    private final ComponentMapper<AIChaseComponent>   aiChaseComponentMapper;
+    // ordered by the time of the next decision
+    private final BinaryHeap<DecisionNode>	      decisionQueue;
+    private final ObjectMap<Entity, DecisionNode>     decisionNodes;
+    private final Pool<DecisionNode>		      nodePool;
+    // game time of this system
+    private float				      time;
 
     public AIWanderSystem(ComponentMapper<AIWanderComponent> aiWanderComponentMapper, ComponentMapper<SpeedComponent> speedComponentMapper,
-	    ComponentMapper<AnimationComponent> animationComponentMapper) {
+	    ComponentMapper<AnimationComponent> animationComponentMapper, ComponentMapper<AIChaseComponent> aiChaseComponentMapper) {
 	super(Family.all(AIWanderComponent.class, SpeedComponent.class, AnimationComponent.class).get());
 
 	this.aiWanderComponentMapper = aiWanderComponentMapper;
 	this.speedComponentMapper = speedComponentMapper;
 	this.animationComponentMapper = animationComponentMapper;
+	this.aiChaseComponentMapper = aiChaseComponentMapper;
+	this.decisionQueue = new BinaryHeap<DecisionNode>();
+	this.decisionNodes = new ObjectMap<Entity, DecisionNode>();
+	this.nodePool = new Pool<DecisionNode>() {
+	    @Override
+	    protected DecisionNode newObject() {
+		return new DecisionNode();
+	    }
+	};
+	this.time = 0;
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+	super.addedToEngine(engine);
+	engine.addEntityListener(getFamily(), this);
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+	engine.removeEntityListener(this);
+	super.removedFromEngine(engine);
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+	// the first decisions of entities that are added at once are spread over the recheck delay
+	final AIWanderComponent aiWanderComponent = aiWanderComponentMapper.get(entity);
+	aiWanderComponent.wanderTime = MathUtils.random(RECHECK_DELAY);
+	final DecisionNode node = nodePool.obtain();
+	node.entity = entity;
+	decisionNodes.put(entity, node);
+	decisionQueue.add(node, time + aiWanderComponent.wanderTime);
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+	final DecisionNode node = decisionNodes.remove(entity);
+	if (node != null) {
+	    decisionQueue.remove(node);
+	    node.entity = null;
+	    nodePool.free(node);
+	}
     }
 
+    @Override
+    protected void updateSystem(float deltaTime) {
+	time += deltaTime;
+
+	// the cost of an update only depends on the number of due decisions and not on the number of entities
+	for (int i = 0; i < MAX_DECISIONS_PER_TICK && decisionQueue.size > 0 && decisionQueue.peek().getValue() <= time; ++i) {
+	    final DecisionNode node = decisionQueue.pop();
+	    final float wanderTime;
+	    if (SimulationLOD.getLevel(node.entity) != SimulationLOD.FROZEN && !isChasing(node.entity)) {
+		processEntity(node.entity, deltaTime);
+		wanderTime = aiWanderComponentMapper.get(node.entity).wanderTime;
+	    } else {
+		// frozen and chasing entities keep their decision. The delay keeps them from being due again in the same update
+		wanderTime = Math.max(aiWanderComponentMapper.get(node.entity).wanderTime, RECHECK_DELAY);
+	    }
+	    decisionQueue.add(node, time + wanderTime);
+	}
+    }
+
+    private boolean isChasing(Entity entity) {
+	final AIChaseComponent aiChaseComponent = aiChaseComponentMapper.get(entity);
+	return aiChaseComponent != null && aiChaseComponent.chasing;
+    }
+
+    // makes a new wander decision for the entity
     @Override
     protected void processEntity(Entity entity, float deltaTime) {
 	final AIWanderComponent aiWanderComponent = aiWanderComponentMapper.get(entity);
 	final SpeedComponent speedComponent = speedComponentMapper.get(entity);
 	final AnimationComponent animationComponent = animationComponentMapper.get(entity);
 
-	aiWanderComponent.wanderTime -= deltaTime;
-	if (aiWanderComponent.wanderTime <= 0) {
-	    aiWanderComponent.wanderTime = MathUtils.random(1.5f, 7.5f);
-
-	    switch (MathUtils.random(4)) {
-		case 0:
-		    // go right
-		    speedComponent.speed.set(speedComponent.maxSpeed, 0);
-		    animationComponent.animation = Animation.getAnimation(animationComponent.walkRightAnimation);
-		    animationComponent.playAnimation = true;
-		    break;
-		case 1:
-		    // go left
-		    speedComponent.speed.set(-speedComponent.maxSpeed, 0);
-		    animationComponent.animation = Animation.getAnimation(animationComponent.walkLeftAnimation);
-		    animationComponent.playAnimation = true;
-		    break;
-		case 2:
-		    // go up
-		    speedComponent.speed.set(0, speedComponent.maxSpeed);
-		    animationComponent.animation = Animation.getAnimation(animationComponent.walkUpAnimation);
-		    animationComponent.playAnimation = true;
-		    break;
-		case 3:
-		    // go down
-		    speedComponent.speed.set(0, -speedComponent.maxSpeed);
-		    animationComponent.animation = Animation.getAnimation(animationComponent.walkDownAnimation);
-		    animationComponent.playAnimation = true;
-		    break;
-		case 4:
-		    // idle
-		    speedComponent.speed.set(0, 0);
-		    animationComponent.animationTime = 0;
-		    animationComponent.playAnimation = false;
-		    break;
-	    }
+	aiWanderComponent.wanderTime = MathUtils.random(1.5f, 7.5f);
+
+	switch (MathUtils.random(4)) {
+	    case 0:
+		// go right
+		speedComponent.speed.set(speedComponent.maxSpeed, 0);
+		animationComponent.animation = Animation.getAnimation(animationComponent.walkRightAnimation);
+		animationComponent.playAnimation = true;
+		break;
+	    case 1:
+		// go left
+		speedComponent.speed.set(-speedComponent.maxSpeed, 0);
+		animationComponent.animation = Animation.getAnimation(animationComponent.walkLeftAnimation);
+		animationComponent.playAnimation = true;
+		break;
+	    case 2:
+		// go up
+		speedComponent.speed.set(0, speedComponent.maxSpeed);
+		animationComponent.animation = Animation.getAnimation(animationComponent.walkUpAnimation);
+		animationComponent.playAnimation = true;
+		break;
+	    case 3:
+		// go down
+		speedComponent.speed.set(0, -speedComponent.maxSpeed);
+		animationComponent.animation = Animation.getAnimation(animationComponent.walkDownAnimation);
+		animationComponent.playAnimation = true;
+		break;
+	    case 4:
+		// idle
+		speedComponent.speed.set(0, 0);
+		animationComponent.animationTime = 0;
+		animationComponent.playAnimation = false;
+		break;
 	}
     }
 }
@@ -3,11 +3,11 @@ package com.lok.game.ecs.systems;
 import com.badlogic.ashley.core.ComponentMapper;
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.Family;
-import com.badlogic.ashley.systems.IteratingSystem;
+import com.lok.game.ecs.SimulationLOD;
 import com.lok.game.ecs.components.AnimationComponent;
 import com.lok.game.ui.SpecialEffect;
 
-public class AnimationSystem extends IteratingSystem {
+public class AnimationSystem extends ProfiledIteratingSystem {
     private final ComponentMapper<AnimationComponent> animationComponentMapper;
 
     public AnimationSystem(ComponentMapper<AnimationComponent> animationComponentMapper) {
@@ -18,6 +18,11 @@ public class AnimationSystem extends IteratingSystem {
 
     @Override
     protected void processEntity(Entity entity, float deltaTime) {
+	if (SimulationLOD.getLevel(entity) != SimulationLOD.FULL) {
+	    // not visible -> the animation continues where it stopped once the entity comes close again
+	    return;
+	}
+
 	final AnimationComponent animationComponent = animationComponentMapper.get(entity);
 
 	for (SpecialEffect effect : animationComponent.originEffects) {
@@ -3,12 +3,11 @@ package com.lok.game.ecs.systems;
 import com.badlogic.ashley.core.ComponentMapper;
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.Family;
-import com.badlogic.ashley.systems.IteratingSystem;
 import com.lok.game.ability.Ability;
 import com.lok.game.ability.AbilitySystem;
 import com.lok.game.ecs.components.AbilityComponent;
 
-public class CastSystem extends IteratingSystem {
+public class CastSystem extends ProfiledIteratingSystem {
     private final ComponentMapper<AbilityComponent> abilityComponentMapper;
     private final AbilitySystem			    abilitySystem;
 
@@ -1,68 +1,173 @@
 package com.lok.game.ecs.systems;
 
 import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
 import com.badlogic.ashley.core.Family;
-import com.badlogic.ashley.systems.IteratingSystem;
 import com.badlogic.gdx.utils.Array;
+import com.lok.game.ecs.CollisionPairCache;
+import com.lok.game.ecs.CollisionPairCache.CollisionPair;
 import com.lok.game.ecs.EntityEngine.EntityID;
+import com.lok.game.ecs.SimulationLOD;
+import com.lok.game.ecs.SpatialHash;
 import com.lok.game.ecs.components.CollisionComponent;
 import com.lok.game.ecs.components.IDComponent;
 import com.lok.game.ecs.components.SizeComponent;
 import com.lok.game.map.MapManager;
 import com.lok.game.map.Portal;
 
-public class CollisionSystem extends IteratingSystem {
+public class CollisionSystem extends ProfiledIteratingSystem implements EntityListener {
     public static interface CollisionListener {
-	public void onEntityCollision(EntityID entityIDA, Entity entityA, EntityID entityIDB, Entity entityB);
+	public void onCollisionEnter(EntityID entityIDA, Entity entityA, EntityID entityIDB, Entity entityB);
 
-	public void onPortalCollision(EntityID entityID, Entity entity, Portal portal);
+	public void onCollisionStay(EntityID entityIDA, Entity entityA, EntityID entityIDB, Entity entityB);
+
+	public void onCollisionExit(EntityID entityIDA, Entity entityA, EntityID entityIDB, Entity entityB);
+
+	public void onPortalEnter(EntityID entityID, Entity entity, Portal portal);
+
+	public void onPortalStay(EntityID entityID, Entity entity, Portal portal);
+
+	public void onPortalExit(EntityID entityID, Entity entity, Portal portal);
     }
 
-    private final ComponentMapper<CollisionComponent> collisionComponentMapper;
-    private final ComponentMapper<IDComponent>	      idComponentMapper;
-    private final Array<CollisionListener>	      collisionListeners;
-    private final MapManager			      mapManager;
+    private final ComponentMapper<CollisionComponent>  collisionComponentMapper;
+    private final ComponentMapper<IDComponent>	       idComponentMapper;
+    private final Array<CollisionListener>	       collisionListeners;
+    private final MapManager			       mapManager;
+    private final SpatialHash			       spatialHash;
+    private final Array<Entity>			       collisionCandidates;
+    private final Array<Portal>			       collidingPortals;
+    private final CollisionPairCache<Entity, Entity>   entityCollisions;
+    private final CollisionPairCache<Entity, Portal>   portalCollisions;
+    private final Array<CollisionPair<Entity, Entity>> removedEntityCollisions;
+    private final Array<CollisionPair<Entity, Portal>> removedPortalCollisions;
+    private int					       tick;
 
-    public CollisionSystem(ComponentMapper<IDComponent> idComponentMapper, ComponentMapper<CollisionComponent> collisionComponentMapper) {
+    public CollisionSystem(ComponentMapper<IDComponent> idComponentMapper, ComponentMapper<CollisionComponent> collisionComponentMapper, SpatialHash spatialHash) {
 	super(Family.all(SizeComponent.class, CollisionComponent.class).get());
 
 	this.collisionComponentMapper = collisionComponentMapper;
 	this.idComponentMapper = idComponentMapper;
 	this.mapManager = MapManager.getManager();
 	this.collisionListeners = new Array<CollisionListener>();
+	this.spatialHash = spatialHash;
+	this.collisionCandidates = new Array<Entity>();
+	this.collidingPortals = new Array<Portal>();
+	this.entityCollisions = new CollisionPairCache<Entity, Entity>();
+	this.portalCollisions = new CollisionPairCache<Entity, Portal>();
+	this.removedEntityCollisions = new Array<CollisionPair<Entity, Entity>>();
+	this.removedPortalCollisions = new Array<CollisionPair<Entity, Portal>>();
+	this.tick = 0;
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+	super.addedToEngine(engine);
+	engine.addEntityListener(getFamily(), this);
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+	engine.removeEntityListener(this);
+	super.removedFromEngine(engine);
+    }
+
+    @Override
+    protected void updateSystem(float deltaTime) {
+	++tick;
+	super.updateSystem(deltaTime);
+
+	// pairs that were not touched during this tick are no longer colliding
+	entityCollisions.removeStalePairs(tick, removedEntityCollisions);
+	portalCollisions.removeStalePairs(tick, removedPortalCollisions);
+	notifyExit();
     }
 
     @Override
     protected void processEntity(Entity entity, float deltaTime) {
-	final CollisionComponent collisionComponent = collisionComponentMapper.get(entity);
+	if (SimulationLOD.getLevel(entity) != SimulationLOD.FULL) {
+	    // far away entities only collide with entities close to the player. Their other pairs expire
+	    return;
+	}
 
+	final CollisionComponent collisionComponent = collisionComponentMapper.get(entity);
 	final IDComponent idComp = idComponentMapper.get(entity);
 
-	for (Portal portal : mapManager.getCurrentMapPortals()) {
-	    if (portal.isColliding(collisionComponent.collisionRectangle)) {
-		for (CollisionListener collisionListener : collisionListeners) {
-		    collisionListener.onPortalCollision(idComp.entityID, entity, portal);
+	collisionComponent.lastCollisionTick = tick;
+
+	collidingPortals.clear();
+	mapManager.getCurrentMapPortalIndex().query(idComp.entityID, collisionComponent.collisionRectangle, collidingPortals);
+	for (Portal portal : collidingPortals) {
+	    final boolean enter = portalCollisions.add(entity, portal, tick);
+	    for (CollisionListener collisionListener : collisionListeners) {
+		if (enter) {
+		    collisionListener.onPortalEnter(idComp.entityID, entity, portal);
+		} else {
+		    collisionListener.onPortalStay(idComp.entityID, entity, portal);
 		}
 	    }
 	}
 
-	for (Entity mapEntity : mapManager.getCurrentMapEntities()) {
+	collisionCandidates.clear();
+	spatialHash.query(collisionComponent.collisionRectangle, collisionCandidates);
+	for (Entity mapEntity : collisionCandidates) {
 	    if (entity.equals(mapEntity)) {
 		continue;
 	    }
 
 	    final CollisionComponent collisionComponentMapEntity = collisionComponentMapper.get(mapEntity);
-	    final IDComponent idCompMapEntity = idComponentMapper.get(mapEntity);
+	    if (collisionComponentMapEntity.lastCollisionTick == tick) {
+		// other entity was already processed during this tick and therefore already checked this pair
+		continue;
+	    }
 
-	    if (collisionComponentMapEntity != null && collisionComponentMapEntity.collisionRectangle.overlaps(collisionComponent.collisionRectangle)) {
+	    if (collisionComponentMapEntity.collisionRectangle.overlaps(collisionComponent.collisionRectangle)) {
+		final IDComponent idCompMapEntity = idComponentMapper.get(mapEntity);
+		final boolean enter = entityCollisions.add(entity, mapEntity, tick);
 		for (CollisionListener collisionListener : collisionListeners) {
-		    collisionListener.onEntityCollision(idComp.entityID, entity, idCompMapEntity.entityID, mapEntity);
+		    if (enter) {
+			collisionListener.onCollisionEnter(idComp.entityID, entity, idCompMapEntity.entityID, mapEntity);
+		    } else {
+			collisionListener.onCollisionStay(idComp.entityID, entity, idCompMapEntity.entityID, mapEntity);
+		    }
 		}
 	    }
 	}
     }
 
+    private void notifyExit() {
+	for (CollisionPair<Entity, Entity> pair : removedEntityCollisions) {
+	    final EntityID entityIDA = idComponentMapper.get(pair.getFirst()).entityID;
+	    final EntityID entityIDB = idComponentMapper.get(pair.getSecond()).entityID;
+	    for (CollisionListener collisionListener : collisionListeners) {
+		collisionListener.onCollisionExit(entityIDA, pair.getFirst(), entityIDB, pair.getSecond());
+	    }
+	}
+	entityCollisions.free(removedEntityCollisions);
+
+	for (CollisionPair<Entity, Portal> pair : removedPortalCollisions) {
+	    final EntityID entityID = idComponentMapper.get(pair.getFirst()).entityID;
+	    for (CollisionListener collisionListener : collisionListeners) {
+		collisionListener.onPortalExit(entityID, pair.getFirst(), pair.getSecond());
+	    }
+	}
+	portalCollisions.free(removedPortalCollisions);
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+	// a removed entity no longer collides with anything
+	entityCollisions.removePairs(entity, removedEntityCollisions);
+	portalCollisions.removePairs(entity, removedPortalCollisions);
+	notifyExit();
+    }
+
     public void addCollisionListener(CollisionListener collisionListener) {
 	collisionListeners.add(collisionListener);
     }
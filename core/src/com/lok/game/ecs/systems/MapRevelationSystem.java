@@ -3,11 +3,10 @@ package com.lok.game.ecs.systems;
 import com.badlogic.ashley.core.ComponentMapper;
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.Family;
-import com.badlogic.ashley.systems.IteratingSystem;
 import com.lok.game.ecs.components.MapRevelationComponent;
 import com.lok.game.ecs.components.SizeComponent;
 
-public class MapRevelationSystem extends IteratingSystem {
+public class MapRevelationSystem extends ProfiledIteratingSystem {
     private final ComponentMapper<SizeComponent>	  sizeComponentMapper;
     private final ComponentMapper<MapRevelationComponent> mapRevelationComponentMapper;
 
@@ -3,8 +3,9 @@ package com.lok.game.ecs.systems;
 import com.badlogic.ashley.core.ComponentMapper;
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.Family;
-import com.badlogic.ashley.systems.IteratingSystem;
 import com.badlogic.gdx.math.Vector2;
+import com.lok.game.ecs.SimulationLOD;
+import com.lok.game.ecs.SpatialHash;
 import com.lok.game.ecs.components.CollisionComponent;
 import com.lok.game.ecs.components.SizeComponent;
 import com.lok.game.ecs.components.SpeedComponent;
@@ -12,19 +13,23 @@ import com.lok.game.map.Map;
 import com.lok.game.map.MapListener;
 import com.lok.game.map.MapManager;
 
-public class MovementSystem extends IteratingSystem implements MapListener {
+public class MovementSystem extends ProfiledIteratingSystem implements MapListener {
     private final ComponentMapper<SpeedComponent>     speedComponentMapper;
     private final ComponentMapper<CollisionComponent> collisionComponentMapper;
     private final ComponentMapper<SizeComponent>      sizeComponentMapper;
+    private final SpatialHash			      spatialHash;
+    private final SimulationLOD			      simulationLOD;
     private Map					      map;
 
     public MovementSystem(ComponentMapper<SpeedComponent> speedComponentMapper, ComponentMapper<CollisionComponent> collisionComponentMapper,
-	    ComponentMapper<SizeComponent> sizeComponentMapper) {
+	    ComponentMapper<SizeComponent> sizeComponentMapper, SpatialHash spatialHash, SimulationLOD simulationLOD) {
 	super(Family.all(SizeComponent.class, SpeedComponent.class, CollisionComponent.class).get());
 
 	this.speedComponentMapper = speedComponentMapper;
 	this.collisionComponentMapper = collisionComponentMapper;
 	this.sizeComponentMapper = sizeComponentMapper;
+	this.spatialHash = spatialHash;
+	this.simulationLOD = simulationLOD;
 	this.map = null;
 
 	MapManager.getManager().addMapListener(this);
@@ -34,12 +39,24 @@ public class MovementSystem extends IteratingSystem implements MapListener {
     protected void processEntity(Entity entity, float deltaTime) {
 	final SpeedComponent speedComponent = speedComponentMapper.get(entity);
 
-	if (speedComponent.speed.equals(Vector2.Zero)) {
+	if (speedComponent.speed.equals(Vector2.Zero) || !simulationLOD.isDue(entity)) {
 	    return;
 	}
 
 	final SizeComponent sizeComponent = sizeComponentMapper.get(entity);
 	final CollisionComponent collisionComponent = collisionComponentMapper.get(entity);
+	// reduced entities catch up the ticks since their last move. Every tick is a move of its own so that they cannot skip over a wall
+	final int numTicks = SimulationLOD.getNumTicks(entity);
+	for (int i = 0; i < numTicks; ++i) {
+	    move(speedComponent, sizeComponent, collisionComponent, deltaTime);
+	}
+
+	if (collisionComponent != null) {
+	    spatialHash.update(entity, collisionComponent);
+	}
+    }
+
+    private void move(SpeedComponent speedComponent, SizeComponent sizeComponent, CollisionComponent collisionComponent, float deltaTime) {
 	final float currentX = sizeComponent.boundingRectangle.x;
 	final float currentY = sizeComponent.boundingRectangle.y;
 
@@ -51,14 +68,23 @@ public class MovementSystem extends IteratingSystem implements MapListener {
 		    sizeComponent.boundingRectangle.y + collisionComponent.rectOffset.y);
 
 	    if (map != null && !map.isPathable(collisionComponent.collisionRectangle)) {
-		sizeComponent.boundingRectangle.x = currentX;
-		sizeComponent.boundingRectangle.y = currentY;
-		collisionComponent.collisionRectangle.x = currentX + collisionComponent.rectOffset.x;
-		collisionComponent.collisionRectangle.y = currentY + collisionComponent.rectOffset.y;
+		// slide along the obstacle if only one axis is blocked
+		final float targetX = sizeComponent.boundingRectangle.x;
+		final float targetY = sizeComponent.boundingRectangle.y;
+		if (!moveTo(sizeComponent, collisionComponent, targetX, currentY) && !moveTo(sizeComponent, collisionComponent, currentX, targetY)) {
+		    moveTo(sizeComponent, collisionComponent, currentX, currentY);
+		}
 	    }
 	}
     }
 
+    // returns true if the entity can stand at the new position
+    private boolean moveTo(SizeComponent sizeComponent, CollisionComponent collisionComponent, float x, float y) {
+	sizeComponent.boundingRectangle.setPosition(x, y);
+	collisionComponent.collisionRectangle.setPosition(x + collisionComponent.rectOffset.x, y + collisionComponent.rectOffset.y);
+	return map.isPathable(collisionComponent.collisionRectangle);
+    }
+
     @Override
     public void onMapChange(MapManager manager, Map map) {
 	this.map = map;
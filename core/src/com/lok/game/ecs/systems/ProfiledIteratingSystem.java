@@ -0,0 +1,41 @@
+package com.lok.game.ecs.systems;
+
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.lok.game.ecs.SystemScheduler.Schedule;
+import com.lok.game.profiling.Profiler;
+import com.lok.game.profiling.ProfilerTimer;
+
+// IteratingSystem that measures its update with a ProfilerTimer named like the system.
+// The SystemScheduler decides in which ticks the system is processed. The update then covers all ticks since the last update.
+public abstract class ProfiledIteratingSystem extends IteratingSystem {
+    private final ProfilerTimer	timer;
+    private Schedule		schedule;
+
+    public ProfiledIteratingSystem(Family family) {
+	super(family);
+
+	this.timer = Profiler.getProfiler().getTimer(getClass().getSimpleName());
+	this.schedule = null;
+    }
+
+    public void setSchedule(Schedule schedule) {
+	this.schedule = schedule;
+    }
+
+    public Schedule getSchedule() {
+	return schedule;
+    }
+
+    @Override
+    public final void update(float deltaTime) {
+	timer.start();
+	updateSystem(schedule == null ? deltaTime : schedule.takeDeltaTime(deltaTime));
+	timer.stop();
+    }
+
+    // systems with additional logic before or after processing the entities override this method instead of update
+    protected void updateSystem(float deltaTime) {
+	super.update(deltaTime);
+    }
+}
@@ -1,5 +1,10 @@
 package com.lok.game.map;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.EnumSet;
+
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.MapObject;
@@ -9,32 +14,52 @@ import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Bits;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
 import com.lok.game.ecs.EntityEngine.EntityID;
 import com.lok.game.map.MapManager.MapID;
+import com.lok.game.pathfinding.PathAbstraction;
 import com.lok.game.serialization.MapEntityData;
 
 public class Map {
-    private final MapID		       mapID;
-    private final TiledMap	       tiledMap;
-    private final Rectangle	       boundary;
-    private final Array<Rectangle>     collisionAreas;
-    private final Array<MapEntityData> entityData;
-    private final Array<Portal>	       portals;
-    private final Color		       backgroundColor;
-    private final String	       musicFilePath;
-    private final int		       numTilesX;
-    private final int		       numTilesY;
-    private final float		       tileWidthInWorldUnits;
-    private final float		       tileHeightInWorldUnits;
+    private static final int		   PORTAL_INDEX_BUCKET_SIZE_IN_TILES = 8;
+    private final MapID			   mapID;
+    private final TiledMap		   tiledMap;
+    private final Rectangle		   boundary;
+    private final Array<Rectangle>	   collisionAreas;
+    // tiles that are completely covered by a collision area
+    private final Bits			   blockedTiles;
+    // collision areas of tiles that are only partially covered. Key is the tile index
+    private final IntMap<Array<Rectangle>> partiallyBlockedTiles;
+    // tiles without any collision area. Used by the pathfinding
+    private final Bits			   walkableTiles;
+    // hierarchical pathfinding graph. Built by the MapLoader
+    private PathAbstraction		   pathAbstraction;
+    // collision areas that are (partially) outside of the map boundary
+    private final Array<Rectangle>	   outOfBoundaryCollisionAreas;
+    private final Array<MapEntityData>	   entityData;
+    private final TriggerAreaIndex<Portal> portalIndex;
+    private final Color			   backgroundColor;
+    private final String		   musicFilePath;
+    private final int			   numTilesX;
+    private final int			   numTilesY;
+    private final float			   tileWidthInWorldUnits;
+    private final float			   tileHeightInWorldUnits;
 
     public Map(MapID mapID, TiledMap tiledMap) {
+	this(mapID, tiledMap, true);
+    }
+
+    private Map(MapID mapID, TiledMap tiledMap, boolean parseLayers) {
 	this.mapID = mapID;
 	this.tiledMap = tiledMap;
 	this.boundary = new Rectangle();
 	this.collisionAreas = new Array<Rectangle>();
+	this.partiallyBlockedTiles = new IntMap<Array<Rectangle>>();
+	this.outOfBoundaryCollisionAreas = new Array<Rectangle>();
 	this.entityData = new Array<MapEntityData>();
-	this.portals = new Array<Portal>();
+	this.pathAbstraction = null;
 
 	final MapProperties mapProperties = tiledMap.getProperties();
 	final String backgroundColor = mapProperties.get("backgroundcolor", String.class);
@@ -43,13 +68,19 @@ public class Map {
 	} else {
 	    this.backgroundColor = Color.BLACK;
 	}
-	musicFilePath = mapProperties.get("music", String.class);
+	musicFilePath = mapID.getMusicFilePath();
 
 	tileWidthInWorldUnits = mapProperties.get("tilewidth", Integer.class) * MapManager.WORLD_UNITS_PER_PIXEL;
 	tileHeightInWorldUnits = mapProperties.get("tileheight", Integer.class) * MapManager.WORLD_UNITS_PER_PIXEL;
 	numTilesX = mapProperties.get("width", Integer.class);
 	numTilesY = mapProperties.get("height", Integer.class);
 	boundary.set(0, 0, numTilesX * tileWidthInWorldUnits, numTilesY * tileHeightInWorldUnits);
+	blockedTiles = new Bits(numTilesX * numTilesY);
+	walkableTiles = new Bits(numTilesX * numTilesY);
+	portalIndex = new TriggerAreaIndex<Portal>(boundary, PORTAL_INDEX_BUCKET_SIZE_IN_TILES * tileWidthInWorldUnits);
+	if (!parseLayers) {
+	    return;
+	}
 
 	for (MapLayer mapLayer : tiledMap.getLayers()) {
 	    if ("Portals".equals(mapLayer.getName())) {
@@ -60,6 +91,147 @@ public class Map {
 		parseEntityData(mapLayer);
 	    }
 	}
+
+	for (int tileIndex = 0; tileIndex < numTilesX * numTilesY; ++tileIndex) {
+	    if (!blockedTiles.get(tileIndex) && !partiallyBlockedTiles.containsKey(tileIndex)) {
+		walkableTiles.set(tileIndex);
+	    }
+	}
+    }
+
+    /**
+     * Creates the map with the data that is derived from the layers of the TiledMap (see {@link #writeDerivedData(DataOutputStream)}) instead of parsing the
+     * layers again.
+     */
+    static Map readDerivedData(MapID mapID, TiledMap tiledMap, DataInputStream in) throws IOException {
+	final Map map = new Map(mapID, tiledMap, false);
+	if (in.readInt() != map.numTilesX || in.readInt() != map.numTilesY) {
+	    throw new IOException("Derived data of map " + mapID + " has a different size");
+	}
+
+	final int numCollisionAreas = in.readInt();
+	for (int i = 0; i < numCollisionAreas; ++i) {
+	    final Rectangle collisionArea = readRectangle(in);
+	    map.collisionAreas.add(collisionArea);
+	    if (!map.boundary.contains(collisionArea)) {
+		map.outOfBoundaryCollisionAreas.add(collisionArea);
+	    }
+	}
+	readBits(in, map.blockedTiles, map.numTilesX * map.numTilesY);
+	final int numPartiallyBlockedTiles = in.readInt();
+	for (int i = 0; i < numPartiallyBlockedTiles; ++i) {
+	    final int tileIndex = in.readInt();
+	    final int numAreas = in.readInt();
+	    final Array<Rectangle> partialAreas = new Array<Rectangle>(false, Math.max(2, numAreas));
+	    for (int j = 0; j < numAreas; ++j) {
+		partialAreas.add(map.collisionAreas.get(in.readInt()));
+	    }
+	    map.partiallyBlockedTiles.put(tileIndex, partialAreas);
+	}
+	readBits(in, map.walkableTiles, map.numTilesX * map.numTilesY);
+
+	final int numPortals = in.readInt();
+	for (int i = 0; i < numPortals; ++i) {
+	    final Rectangle portalArea = readRectangle(in);
+	    final EnumSet<EntityID> activators = EnumSet.noneOf(EntityID.class);
+	    final int numActivators = in.readInt();
+	    for (int j = 0; j < numActivators; ++j) {
+		activators.add(EntityID.valueOf(in.readUTF()));
+	    }
+	    final Vector2 targetPosition = new Vector2(in.readFloat(), in.readFloat());
+	    map.portalIndex.add(new Portal(portalArea, activators, targetPosition, MapID.valueOf(in.readUTF())));
+	}
+
+	final int numEntities = in.readInt();
+	for (int i = 0; i < numEntities; ++i) {
+	    final EntityID entityID = EntityID.valueOf(in.readUTF());
+	    map.entityData.add(MapEntityData.newMapEntityData(entityID, new Vector2(in.readFloat(), in.readFloat())));
+	}
+
+	map.pathAbstraction = PathAbstraction.read(in);
+	return map;
+    }
+
+    /**
+     * Writes the collision areas and bitmaps, portals, entities and the path abstraction. Must be called before the entity data of the map is changed.
+     */
+    void writeDerivedData(DataOutputStream out) throws IOException {
+	out.writeInt(numTilesX);
+	out.writeInt(numTilesY);
+
+	out.writeInt(collisionAreas.size);
+	for (Rectangle collisionArea : collisionAreas) {
+	    writeRectangle(out, collisionArea);
+	}
+	writeBits(out, blockedTiles, numTilesX * numTilesY);
+	out.writeInt(partiallyBlockedTiles.size);
+	for (IntMap.Entry<Array<Rectangle>> entry : partiallyBlockedTiles.entries()) {
+	    out.writeInt(entry.key);
+	    out.writeInt(entry.value.size);
+	    for (Rectangle partialArea : entry.value) {
+		out.writeInt(collisionAreas.indexOf(partialArea, true));
+	    }
+	}
+	writeBits(out, walkableTiles, numTilesX * numTilesY);
+
+	final Array<Portal> portals = getPortals();
+	out.writeInt(portals.size);
+	for (Portal portal : portals) {
+	    writeRectangle(out, portal.getArea());
+	    out.writeInt(portal.getActivators().size());
+	    for (EntityID activator : portal.getActivators()) {
+		out.writeUTF(activator.name());
+	    }
+	    out.writeFloat(portal.getTargetPosition().x);
+	    out.writeFloat(portal.getTargetPosition().y);
+	    out.writeUTF(portal.getTargetMapID().name());
+	}
+
+	out.writeInt(entityData.size);
+	for (MapEntityData data : entityData) {
+	    out.writeUTF(data.entityID.name());
+	    out.writeFloat(data.position.x);
+	    out.writeFloat(data.position.y);
+	}
+
+	if (pathAbstraction == null) {
+	    throw new IOException("Map " + mapID + " does not have a path abstraction");
+	}
+	pathAbstraction.write(out);
+    }
+
+    private static Rectangle readRectangle(DataInputStream in) throws IOException {
+	return new Rectangle(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat());
+    }
+
+    private static void writeRectangle(DataOutputStream out, Rectangle rectangle) throws IOException {
+	out.writeFloat(rectangle.x);
+	out.writeFloat(rectangle.y);
+	out.writeFloat(rectangle.width);
+	out.writeFloat(rectangle.height);
+    }
+
+    private static void readBits(DataInputStream in, Bits bits, int numBits) throws IOException {
+	for (int i = 0; i < numBits; i += 64) {
+	    final long word = in.readLong();
+	    for (int bit = 0; bit < 64 && i + bit < numBits; ++bit) {
+		if ((word & (1L << bit)) != 0) {
+		    bits.set(i + bit);
+		}
+	    }
+	}
+    }
+
+    private static void writeBits(DataOutputStream out, Bits bits, int numBits) throws IOException {
+	for (int i = 0; i < numBits; i += 64) {
+	    long word = 0;
+	    for (int bit = 0; bit < 64 && i + bit < numBits; ++bit) {
+		if (bits.get(i + bit)) {
+		    word |= 1L << bit;
+		}
+	    }
+	    out.writeLong(word);
+	}
     }
 
     private void parseCollisionAreas(MapLayer mapLayer) {
@@ -71,10 +243,64 @@ public class Map {
 		collisionArea.width *= MapManager.WORLD_UNITS_PER_PIXEL;
 		collisionArea.height *= MapManager.WORLD_UNITS_PER_PIXEL;
 		collisionAreas.add(collisionArea);
+		rasterizeCollisionArea(collisionArea);
 	    }
 	}
     }
 
+    private void rasterizeCollisionArea(Rectangle collisionArea) {
+	if (!boundary.contains(collisionArea)) {
+	    outOfBoundaryCollisionAreas.add(collisionArea);
+	}
+
+	final int minX = getTileIndexX(collisionArea.x);
+	final int maxX = getLastTileIndexX(collisionArea.x, collisionArea.width);
+	final int minY = getTileIndexY(collisionArea.y);
+	final int maxY = getLastTileIndexY(collisionArea.y, collisionArea.height);
+	for (int y = Math.max(0, minY); y <= Math.min(numTilesY - 1, maxY); ++y) {
+	    for (int x = Math.max(0, minX); x <= Math.min(numTilesX - 1, maxX); ++x) {
+		final int tileIndex = y * numTilesX + x;
+		if (blockedTiles.get(tileIndex)) {
+		    continue;
+		}
+
+		if (collisionArea.x <= x * tileWidthInWorldUnits && collisionArea.x + collisionArea.width >= (x + 1) * tileWidthInWorldUnits
+			&& collisionArea.y <= y * tileHeightInWorldUnits && collisionArea.y + collisionArea.height >= (y + 1) * tileHeightInWorldUnits) {
+		    blockedTiles.set(tileIndex);
+		    // the exact areas are no longer needed for this tile
+		    final Array<Rectangle> partialAreas = partiallyBlockedTiles.remove(tileIndex);
+		    if (partialAreas != null) {
+			partialAreas.clear();
+		    }
+		} else {
+		    Array<Rectangle> partialAreas = partiallyBlockedTiles.get(tileIndex);
+		    if (partialAreas == null) {
+			partialAreas = new Array<Rectangle>(false, 2);
+			partiallyBlockedTiles.put(tileIndex, partialAreas);
+		    }
+		    partialAreas.add(collisionArea);
+		}
+	    }
+	}
+    }
+
+    public int getTileIndexX(float x) {
+	return (int) Math.floor(x / tileWidthInWorldUnits);
+    }
+
+    // the right edge is exclusive to match the strict overlap test of Rectangle.overlaps. Areas without width still touch one tile
+    private int getLastTileIndexX(float x, float width) {
+	return Math.max(getTileIndexX(x), (int) Math.ceil((x + width) / tileWidthInWorldUnits) - 1);
+    }
+
+    public int getTileIndexY(float y) {
+	return (int) Math.floor(y / tileHeightInWorldUnits);
+    }
+
+    private int getLastTileIndexY(float y, float height) {
+	return Math.max(getTileIndexY(y), (int) Math.ceil((y + height) / tileHeightInWorldUnits) - 1);
+    }
+
     public void parseEntityData(MapLayer mapLayer) {
 	for (MapObject mapObj : mapLayer.getObjects()) {
 	    if (mapObj instanceof RectangleMapObject) {
@@ -105,6 +331,7 @@ public class Map {
 		final Integer targetTileIndexY = portalProperties.get("targetTileIndexY", Integer.class);
 		final String targetMapIDStr = portalProperties.get("targetMapID", String.class);
 		final MapID targetMapID;
+		final EnumSet<EntityID> activators = parseActivators(portalProperties, EntityID.PLAYER);
 
 		if (targetTileIndexX == null || targetTileIndexY == null) {
 		    throw new GdxRuntimeException("Portal of map " + mapID + " does not have a valid target tile (" + targetTileIndexX + "/" + targetTileIndexY + ")");
@@ -123,12 +350,29 @@ public class Map {
 		portalArea.y *= MapManager.WORLD_UNITS_PER_PIXEL;
 		portalArea.width *= MapManager.WORLD_UNITS_PER_PIXEL;
 		portalArea.height *= MapManager.WORLD_UNITS_PER_PIXEL;
-		portals.add(new Portal(portalArea,
+		portalIndex.add(new Portal(portalArea, activators,
 			new Vector2(targetTileIndexX * tileWidthInWorldUnits, numTilesY * tileHeightInWorldUnits - targetTileIndexY * tileHeightInWorldUnits), targetMapID));
 	    }
 	}
     }
 
+    private EnumSet<EntityID> parseActivators(MapProperties properties, EntityID defaultActivator) {
+	final String activatorsStr = properties.get("activators", String.class);
+	if (activatorsStr == null) {
+	    return EnumSet.of(defaultActivator);
+	}
+
+	final EnumSet<EntityID> activators = EnumSet.noneOf(EntityID.class);
+	for (String activatorStr : activatorsStr.split(",")) {
+	    try {
+		activators.add(EntityID.valueOf(activatorStr.trim()));
+	    } catch (IllegalArgumentException e) {
+		throw new GdxRuntimeException("Trigger area of map " + mapID + " has an invalid activator " + activatorStr, e);
+	    }
+	}
+	return activators;
+    }
+
     public MapID getMapID() {
 	return mapID;
     }
@@ -154,7 +398,45 @@ public class Map {
     }
 
     public Array<Portal> getPortals() {
-	return portals;
+	return portalIndex.getTriggerAreas();
+    }
+
+    public TriggerAreaIndex<Portal> getPortalIndex() {
+	return portalIndex;
+    }
+
+    public float getTileWidthInWorldUnits() {
+	return tileWidthInWorldUnits;
+    }
+
+    public float getTileHeightInWorldUnits() {
+	return tileHeightInWorldUnits;
+    }
+
+    public int getNumTilesX() {
+	return numTilesX;
+    }
+
+    public int getNumTilesY() {
+	return numTilesY;
+    }
+
+    /**
+     * Returns true if the tile is within the map and not touched by any collision area.
+     */
+    public boolean isTileWalkable(int tileIndexX, int tileIndexY) {
+	if (tileIndexX < 0 || tileIndexY < 0 || tileIndexX >= numTilesX || tileIndexY >= numTilesY) {
+	    return false;
+	}
+	return walkableTiles.get(tileIndexY * numTilesX + tileIndexX);
+    }
+
+    public PathAbstraction getPathAbstraction() {
+	return pathAbstraction;
+    }
+
+    public void setPathAbstraction(PathAbstraction pathAbstraction) {
+	this.pathAbstraction = pathAbstraction;
     }
 
     public Color getBackgroundColor() {
@@ -162,9 +444,43 @@ public class Map {
     }
 
     public boolean isPathable(Rectangle boundingRectangle) {
-	for (Rectangle collArea : collisionAreas) {
-	    if (collArea.overlaps(boundingRectangle)) {
-		return false;
+	if (boundingRectangle.width <= 0 || boundingRectangle.height <= 0) {
+	    // degenerated rectangles could just touch the edge of a blocked tile -> exact check
+	    for (Rectangle collArea : collisionAreas) {
+		if (collArea.overlaps(boundingRectangle)) {
+		    return false;
+		}
+	    }
+	    return true;
+	}
+
+	if (outOfBoundaryCollisionAreas.size > 0 && !boundary.contains(boundingRectangle)) {
+	    for (Rectangle collArea : outOfBoundaryCollisionAreas) {
+		if (collArea.overlaps(boundingRectangle)) {
+		    return false;
+		}
+	    }
+	}
+
+	final int minX = Math.max(0, getTileIndexX(boundingRectangle.x));
+	final int maxX = Math.min(numTilesX - 1, getLastTileIndexX(boundingRectangle.x, boundingRectangle.width));
+	final int minY = Math.max(0, getTileIndexY(boundingRectangle.y));
+	final int maxY = Math.min(numTilesY - 1, getLastTileIndexY(boundingRectangle.y, boundingRectangle.height));
+	for (int y = minY; y <= maxY; ++y) {
+	    for (int x = minX; x <= maxX; ++x) {
+		final int tileIndex = y * numTilesX + x;
+		if (blockedTiles.get(tileIndex)) {
+		    return false;
+		}
+
+		final Array<Rectangle> partialAreas = partiallyBlockedTiles.get(tileIndex);
+		if (partialAreas != null) {
+		    for (int i = 0; i < partialAreas.size; ++i) {
+			if (partialAreas.get(i).overlaps(boundingRectangle)) {
+			    return false;
+			}
+		    }
+		}
 	    }
 	}
 
@@ -0,0 +1,201 @@
+package com.lok.game.map;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Bits;
+import com.lok.game.ecs.EntityEngine;
+import com.lok.game.ecs.EntityEngine.EntityID;
+import com.lok.game.ecs.components.IDComponent;
+import com.lok.game.ecs.components.SizeComponent;
+import com.lok.game.serialization.MapEntityData;
+
+// Splits the entities of the current map into chunks of CHUNK_SIZE_IN_TILES x CHUNK_SIZE_IN_TILES tiles. Only chunks around the player are active.
+// Entities of inactive chunks are parked as MapEntityData and are not part of the engine which keeps the per tick work independent of the map size.
+// Chunks get activated within ACTIVATION_RADIUS_IN_CHUNKS and deactivated outside DEACTIVATION_RADIUS_IN_CHUNKS to not toggle them at a chunk border.
+// Without a player every chunk is active.
+public class MapChunkStreamer {
+    private static final String			 TAG			       = MapChunkStreamer.class.getName();
+    public static final int			 CHUNK_SIZE_IN_TILES	       = 32;
+    private static final int			 ACTIVATION_RADIUS_IN_CHUNKS   = 2;
+    private static final int			 DEACTIVATION_RADIUS_IN_CHUNKS = 3;
+    // entities that left the active chunks on their own are parked with this interval
+    private static final int			 PARK_CHECK_INTERVAL_IN_TICKS  = 30;
+
+    private final ComponentMapper<IDComponent>	 idComponentMapper;
+    private final ComponentMapper<SizeComponent> sizeComponentMapper;
+    private final Array<Array<MapEntityData>>	 parkedEntityData;
+    private final Bits				 activeChunks;
+    private float				 chunkWidth;
+    private float				 chunkHeight;
+    private int					 numChunksX;
+    private int					 numChunksY;
+    private Entity				 focusEntity;
+    private int					 focusChunkX;
+    private int					 focusChunkY;
+    private int					 ticksSinceParkCheck;
+
+    public MapChunkStreamer() {
+	this.idComponentMapper = ComponentMapper.getFor(IDComponent.class);
+	this.sizeComponentMapper = ComponentMapper.getFor(SizeComponent.class);
+	this.parkedEntityData = new Array<Array<MapEntityData>>();
+	this.activeChunks = new Bits();
+	this.focusEntity = null;
+    }
+
+    /**
+     * Spawns the player of the map and parks all other entities in their chunks. The chunks around the player get activated immediately. The player is
+     * spawned at playerPosition unless it is null.
+     */
+    public void start(Map map, Vector2 playerPosition, Array<Entity> mapEntities) {
+	stop();
+
+	chunkWidth = CHUNK_SIZE_IN_TILES * map.getTileWidthInWorldUnits();
+	chunkHeight = CHUNK_SIZE_IN_TILES * map.getTileHeightInWorldUnits();
+	numChunksX = Math.max(1, MathUtils.ceil(map.getBoundary().width / chunkWidth));
+	numChunksY = Math.max(1, MathUtils.ceil(map.getBoundary().height / chunkHeight));
+	for (int i = 0; i < numChunksX * numChunksY; ++i) {
+	    parkedEntityData.add(new Array<MapEntityData>(false, 8));
+	}
+
+	for (MapEntityData entityData : map.getEntityData()) {
+	    if (entityData.entityID == EntityID.PLAYER) {
+		final Vector2 position = playerPosition != null ? playerPosition : entityData.position;
+		focusEntity = EntityEngine.getEngine().createEntity(entityData.entityID, position.x, position.y);
+		mapEntities.add(focusEntity);
+	    } else {
+		parkedEntityData.get(getChunkIndexAt(entityData.position.x, entityData.position.y))
+			.add(MapEntityData.newMapEntityData(entityData.entityID, new Vector2(entityData.position)));
+	    }
+	}
+
+	if (focusEntity == null) {
+	    Gdx.app.debug(TAG, "Map " + map.getMapID() + " has no player. Activating all chunks");
+	    for (int chunkY = 0; chunkY < numChunksY; ++chunkY) {
+		for (int chunkX = 0; chunkX < numChunksX; ++chunkX) {
+		    activateChunk(chunkX, chunkY, mapEntities);
+		}
+	    }
+	} else {
+	    final Rectangle focusRect = sizeComponentMapper.get(focusEntity).boundingRectangle;
+	    focusChunkX = getChunkX(focusRect.x);
+	    focusChunkY = getChunkY(focusRect.y);
+	    updateActiveChunks(mapEntities);
+	}
+    }
+
+    public void update(Array<Entity> mapEntities) {
+	if (focusEntity == null) {
+	    return;
+	}
+
+	++ticksSinceParkCheck;
+	final Rectangle focusRect = sizeComponentMapper.get(focusEntity).boundingRectangle;
+	final int chunkX = getChunkX(focusRect.x);
+	final int chunkY = getChunkY(focusRect.y);
+	if (chunkX != focusChunkX || chunkY != focusChunkY || ticksSinceParkCheck >= PARK_CHECK_INTERVAL_IN_TICKS) {
+	    focusChunkX = chunkX;
+	    focusChunkY = chunkY;
+	    updateActiveChunks(mapEntities);
+	}
+    }
+
+    private void updateActiveChunks(Array<Entity> mapEntities) {
+	ticksSinceParkCheck = 0;
+
+	for (int chunkY = 0; chunkY < numChunksY; ++chunkY) {
+	    for (int chunkX = 0; chunkX < numChunksX; ++chunkX) {
+		final int distance = Math.max(Math.abs(chunkX - focusChunkX), Math.abs(chunkY - focusChunkY));
+		if (distance <= ACTIVATION_RADIUS_IN_CHUNKS) {
+		    activateChunk(chunkX, chunkY, mapEntities);
+		} else if (distance > DEACTIVATION_RADIUS_IN_CHUNKS) {
+		    activeChunks.clear(getChunkIndex(chunkX, chunkY));
+		}
+	    }
+	}
+
+	// park every entity that is not within an active chunk. Entities can also walk out of the active chunks on their own
+	for (int i = mapEntities.size - 1; i >= 0; --i) {
+	    final Entity entity = mapEntities.get(i);
+	    if (entity == focusEntity) {
+		continue;
+	    }
+
+	    final Rectangle boundingRectangle = sizeComponentMapper.get(entity).boundingRectangle;
+	    final int chunkIndex = getChunkIndexAt(boundingRectangle.x, boundingRectangle.y);
+	    if (!activeChunks.get(chunkIndex)) {
+		parkedEntityData.get(chunkIndex).add(MapEntityData.newMapEntityData(idComponentMapper.get(entity).entityID,
+			new Vector2(boundingRectangle.x, boundingRectangle.y)));
+		mapEntities.removeIndex(i);
+		EntityEngine.getEngine().removeEntity(entity);
+	    }
+	}
+    }
+
+    private void activateChunk(int chunkX, int chunkY, Array<Entity> mapEntities) {
+	final int chunkIndex = getChunkIndex(chunkX, chunkY);
+	if (activeChunks.getAndSet(chunkIndex)) {
+	    return;
+	}
+
+	final Array<MapEntityData> chunkEntityData = parkedEntityData.get(chunkIndex);
+	for (MapEntityData entityData : chunkEntityData) {
+	    mapEntities.add(EntityEngine.getEngine().createEntity(entityData.entityID, entityData.position.x, entityData.position.y));
+	    MapEntityData.removeMapEntityData(entityData);
+	}
+	chunkEntityData.clear();
+    }
+
+    public void onEntityRemoved(Entity entity) {
+	if (entity == focusEntity) {
+	    // chunks stay as they are until the next map change
+	    focusEntity = null;
+	}
+    }
+
+    /**
+     * Removes all parked entities. Entities of active chunks are not touched.
+     */
+    public void stop() {
+	for (Array<MapEntityData> chunkEntityData : parkedEntityData) {
+	    for (MapEntityData entityData : chunkEntityData) {
+		MapEntityData.removeMapEntityData(entityData);
+	    }
+	}
+	parkedEntityData.clear();
+	activeChunks.clear();
+	focusEntity = null;
+	ticksSinceParkCheck = 0;
+    }
+
+    /**
+     * Adds a copy of the data of all parked entities to the given array
+     */
+    public void getParkedEntityData(Array<MapEntityData> result) {
+	for (Array<MapEntityData> chunkEntityData : parkedEntityData) {
+	    for (MapEntityData entityData : chunkEntityData) {
+		result.add(MapEntityData.newMapEntityData(entityData.entityID, new Vector2(entityData.position)));
+	    }
+	}
+    }
+
+    private int getChunkX(float x) {
+	return MathUtils.clamp(MathUtils.floor(x / chunkWidth), 0, numChunksX - 1);
+    }
+
+    private int getChunkY(float y) {
+	return MathUtils.clamp(MathUtils.floor(y / chunkHeight), 0, numChunksY - 1);
+    }
+
+    private int getChunkIndex(int chunkX, int chunkY) {
+	return chunkY * numChunksX + chunkX;
+    }
+
+    private int getChunkIndexAt(float x, float y) {
+	return getChunkIndex(getChunkX(x), getChunkY(y));
+    }
+}
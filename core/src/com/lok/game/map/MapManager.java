@@ -1,13 +1,18 @@
 package com.lok.game.map;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Json;
 import com.lok.game.Utils;
+import com.lok.game.assets.AssetManifest;
+import com.lok.game.assets.AssetManifestManager;
+import com.lok.game.assets.GameAssets;
 import com.lok.game.ecs.EntityEngine;
 import com.lok.game.ecs.components.IDComponent;
 import com.lok.game.ecs.components.SizeComponent;
@@ -17,33 +22,60 @@ import com.lok.game.sound.SoundManager;
 
 public class MapManager implements PreferencesListener {
     public enum MapID {
-	DEMON_LAIR_01("maps/demon_lair_01.tmx");
+	DEMON_LAIR_01("maps/demon_lair_01.tmx", "sounds/music/demon_lair_01.ogg");
 
 	private final String mapName;
+	// part of the ID instead of the TMX file because the MapLoader needs it as a dependency before the TMX file is parsed
+	private final String musicFilePath;
 
-	private MapID(String mapName) {
+	private MapID(String mapName, String musicFilePath) {
 	    this.mapName = mapName;
+	    this.musicFilePath = musicFilePath;
 	}
 
 	public String getMapName() {
 	    return mapName;
 	}
+
+	public String getMusicFilePath() {
+	    return musicFilePath;
+	}
     }
 
-    public static float		     WORLD_UNITS_PER_PIXEL = 1.0f / 32.0f;
-    private static final String	     TAG		   = MapManager.class.getName();
-    private static MapManager	     instance		   = null;
+    public static float				       WORLD_UNITS_PER_PIXEL = 1.0f / 32.0f;
+    private static final String			       TAG		     = MapManager.class.getName();
+    private static MapManager			       instance		     = null;
 
-    private Array<Map>		     mapCache;
-    private Map			     currentMap;
-    private final Array<Entity>	     currentMapEntities;
-    private final Array<MapListener> listeners;
+    private Map					       currentMap;
+    // map of a map change that waits until the map is loaded
+    private MapID				       pendingMapID;
+    private AssetManifest			       pendingMapManifest;
+    // position of the player on the pending map. Null if the player starts at its position of the map
+    private Vector2				       pendingPlayerPosition;
+    // the current map and the maps that are reachable through its portals
+    private final Array<AssetManifest>		       mapManifests;
+    // manifests of the previous map. They are released one tick after the map change because the renderer uses the previous map until the snapshot
+    // of the new map is published
+    private final Array<AssetManifest>		       staleMapManifests;
+    private final Array<AssetManifest>		       releasableMapManifests;
+    // entities of the loaded game state that are applied to the maps when they are activated
+    private final EnumMap<MapID, Array<MapEntityData>> savedEntityData;
+    private final Array<Entity>			       currentMapEntities;
+    private final MapChunkStreamer		       chunkStreamer;
+    private final Array<MapListener>		       listeners;
 
     private MapManager() {
 	listeners = new Array<MapListener>();
-	this.mapCache = null;
 	currentMap = null;
+	this.pendingMapID = null;
+	this.pendingMapManifest = null;
+	this.pendingPlayerPosition = null;
+	this.mapManifests = new Array<AssetManifest>();
+	this.staleMapManifests = new Array<AssetManifest>();
+	this.releasableMapManifests = new Array<AssetManifest>();
+	this.savedEntityData = new EnumMap<MapID, Array<MapEntityData>>(MapID.class);
 	this.currentMapEntities = new Array<Entity>();
+	this.chunkStreamer = new MapChunkStreamer();
     }
 
     public static MapManager getManager() {
@@ -54,30 +86,147 @@ public class MapManager implements PreferencesListener {
 	return instance;
     }
 
-    public void changeMap(MapID mapID) {
+    /**
+     * Changes the map immediately if the map is loaded or if it is called by the render thread. Otherwise the map is loaded in the background and
+     * activated by the first {@link #update()} after the loading is finished. Maps that are reachable through portals are usually loaded already.
+     * Returns true if the map was changed immediately.
+     */
+    public boolean changeMap(MapID mapID) {
+	return changeMap(mapID, null);
+    }
+
+    /**
+     * Like {@link #changeMap(MapID)} but the player is placed at the given position when the map gets activated
+     */
+    public boolean changeMap(MapID mapID, Vector2 playerPosition) {
 	Gdx.app.debug(TAG, "Changing map to " + mapID);
-	final Map map = mapCache.get(mapID.ordinal());
+	final AssetManifestManager manifestManager = AssetManifestManager.getManager();
+	final AssetManifest mapManifest = GameAssets.getMapManifest(mapID);
+	manifestManager.acquire(mapManifest);
+	if (pendingMapManifest != null) {
+	    manifestManager.release(pendingMapManifest);
+	}
+	this.pendingMapID = mapID;
+	this.pendingMapManifest = mapManifest;
+	// copied because the position can belong to a pooled command
+	this.pendingPlayerPosition = playerPosition != null ? new Vector2(playerPosition) : null;
+
+	if (manifestManager.isRenderThread()) {
+	    manifestManager.finishLoading(mapManifest);
+	}
+	return activatePendingMap();
+    }
+
+    private boolean activatePendingMap() {
+	final AssetManifestManager manifestManager = AssetManifestManager.getManager();
+	if (pendingMapID == null || !manifestManager.isLoaded(pendingMapManifest)) {
+	    return false;
+	}
+
+	final MapID mapID = pendingMapID;
+	final Map map = Utils.getAssetManager().get(mapID.name(), Map.class);
+	staleMapManifests.addAll(mapManifests);
+	mapManifests.clear();
+	mapManifests.add(pendingMapManifest);
+	this.pendingMapID = null;
+	this.pendingMapManifest = null;
+	final Vector2 playerPosition = pendingPlayerPosition;
+	this.pendingPlayerPosition = null;
+
+	// the maps that are reachable through the portals are loaded in the background
+	final EnumSet<MapID> neighborMapIDs = EnumSet.of(mapID);
+	for (Portal portal : map.getPortals()) {
+	    final MapID targetMapID = portal.getTargetMapID();
+	    if (targetMapID != null && neighborMapIDs.add(targetMapID)) {
+		final AssetManifest neighborManifest = GameAssets.getMapManifest(targetMapID);
+		manifestManager.acquire(neighborManifest);
+		mapManifests.add(neighborManifest);
+	    }
+	}
+
+	final Array<MapEntityData> entityDataArr = savedEntityData.remove(mapID);
+	if (entityDataArr != null) {
+	    for (MapEntityData data : map.getEntityData()) {
+		MapEntityData.removeMapEntityData(data);
+	    }
+	    map.getEntityData().clear();
+	    map.getEntityData().addAll(entityDataArr);
+	}
+
 	this.currentMap = map;
 	if (map.getMusicFilePath() != null) {
 	    SoundManager.getManager().playMusic(map.getMusicFilePath(), true);
 	}
 	removeMapEntities();
-	for (MapEntityData entityData : map.getEntityData()) {
-	    currentMapEntities.add(EntityEngine.getEngine().createEntity(entityData.entityID, entityData.position.x, entityData.position.y));
-	}
+	chunkStreamer.start(map, playerPosition, currentMapEntities);
 
 	for (MapListener listener : listeners) {
 	    listener.onMapChange(this, map);
 	}
+	return true;
+    }
+
+    /**
+     * Activates and deactivates the chunks of the current map around the player, finishes a pending map change and releases the maps of the previous
+     * map change. Must be called after every engine update.
+     */
+    public void update() {
+	final AssetManifestManager manifestManager = AssetManifestManager.getManager();
+	for (AssetManifest manifest : releasableMapManifests) {
+	    manifestManager.release(manifest);
+	}
+	releasableMapManifests.clear();
+	releasableMapManifests.addAll(staleMapManifests);
+	staleMapManifests.clear();
+
+	activatePendingMap();
+	chunkStreamer.update(currentMapEntities);
+    }
+
+    /**
+     * Releases the assets of all maps. There is no current map until the next map change.
+     */
+    public void releaseMaps() {
+	removeMapEntities();
+	final AssetManifestManager manifestManager = AssetManifestManager.getManager();
+	staleMapManifests.addAll(mapManifests);
+	staleMapManifests.addAll(releasableMapManifests);
+	if (pendingMapManifest != null) {
+	    staleMapManifests.add(pendingMapManifest);
+	}
+	for (AssetManifest manifest : staleMapManifests) {
+	    manifestManager.release(manifest);
+	}
+	staleMapManifests.clear();
+	releasableMapManifests.clear();
+	mapManifests.clear();
+	this.pendingMapID = null;
+	this.pendingMapManifest = null;
+	this.pendingPlayerPosition = null;
+	this.currentMap = null;
+    }
+
+    public void addMapEntity(Entity entity) {
+	currentMapEntities.add(entity);
+    }
+
+    public void removeMapEntity(Entity entity) {
+	currentMapEntities.removeValue(entity, true);
+	chunkStreamer.onEntityRemoved(entity);
     }
 
     public void removeMapEntities() {
+	chunkStreamer.stop();
 	for (Entity entity : currentMapEntities) {
 	    EntityEngine.getEngine().removeEntity(entity);
 	}
 	currentMapEntities.clear();
     }
 
+    public Map getCurrentMap() {
+	return currentMap;
+    }
+
     public Array<Entity> getCurrentMapEntities() {
 	return currentMapEntities;
     }
@@ -86,6 +235,10 @@ public class MapManager implements PreferencesListener {
 	return currentMap.getPortals();
     }
 
+    public TriggerAreaIndex<Portal> getCurrentMapPortalIndex() {
+	return currentMap.getPortalIndex();
+    }
+
     public void addMapListener(MapListener listener) {
 	listeners.add(listener);
     }
@@ -97,46 +250,33 @@ public class MapManager implements PreferencesListener {
     @Override
     public void onSave(Json json, Preferences preferences) {
 	preferences.putString("currentMap", currentMap.getMapID().name());
-	for (Map map : mapCache) {
-	    final MapID id = map.getMapID();
-	    final Array<MapEntityData> entityDataArr = new Array<MapEntityData>();
-	    for (Entity entity : currentMapEntities) {
-		final SizeComponent sizeComp = entity.getComponent(SizeComponent.class);
-		entityDataArr.add(
-			MapEntityData.newMapEntityData(entity.getComponent(IDComponent.class).entityID, new Vector2(sizeComp.boundingRectangle.x, sizeComp.boundingRectangle.y)));
-	    }
-	    preferences.putString(id.name(), json.toJson(entityDataArr));
-	    for (MapEntityData data : entityDataArr) {
-		MapEntityData.removeMapEntityData(data);
-	    }
+	// only the entities of the current map are known. The saved entities of other maps stay as they are
+	final Array<MapEntityData> entityDataArr = new Array<MapEntityData>();
+	for (Entity entity : currentMapEntities) {
+	    final SizeComponent sizeComp = entity.getComponent(SizeComponent.class);
+	    entityDataArr.add(
+		    MapEntityData.newMapEntityData(entity.getComponent(IDComponent.class).entityID, new Vector2(sizeComp.boundingRectangle.x, sizeComp.boundingRectangle.y)));
+	}
+	chunkStreamer.getParkedEntityData(entityDataArr);
+	preferences.putString(currentMap.getMapID().name(), json.toJson(entityDataArr));
+	for (MapEntityData data : entityDataArr) {
+	    MapEntityData.removeMapEntityData(data);
 	}
     }
 
     @Override
     public void onLoad(Json json, Preferences preferences) {
-	if (mapCache == null) {
-	    Gdx.app.debug(TAG, "Initializing map cache");
-	    mapCache = new Array<Map>();
-	    final AssetManager assetManager = Utils.getAssetManager();
-	    for (MapID id : MapID.values()) {
-		mapCache.add(assetManager.get(id.name(), Map.class));
+	for (Array<MapEntityData> entityDataArr : savedEntityData.values()) {
+	    for (MapEntityData data : entityDataArr) {
+		MapEntityData.removeMapEntityData(data);
 	    }
 	}
-
+	savedEntityData.clear();
 	for (MapID mapID : MapID.values()) {
-	    if (!preferences.contains(mapID.name())) {
-		continue;
-	    }
-
-	    final Map map = mapCache.get(mapID.ordinal());
-	    for (MapEntityData data : map.getEntityData()) {
-		MapEntityData.removeMapEntityData(data);
-	    }
-	    map.getEntityData().clear();
-	    @SuppressWarnings("unchecked")
-	    final Array<MapEntityData> entityDataArr = json.fromJson(Array.class, preferences.getString(mapID.name()));
-	    for (MapEntityData data : entityDataArr) {
-		map.getEntityData().add(data);
+	    if (preferences.contains(mapID.name())) {
+		@SuppressWarnings("unchecked")
+		final Array<MapEntityData> entityDataArr = json.fromJson(Array.class, preferences.getString(mapID.name()));
+		savedEntityData.put(mapID, entityDataArr);
 	    }
 	}
 
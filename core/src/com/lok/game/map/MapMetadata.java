@@ -0,0 +1,125 @@
+package com.lok.game.map;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.lok.game.map.MapManager.MapID;
+
+// Cache file of a map (<map>.tmx.meta within CACHE_DIRECTORY of the external storage) with the data that the Map derives from the layers of the
+// TiledMap: collision areas and bitmaps, portals, entities and the path abstraction. A cache file is only used if it has the current VERSION, if it
+// was written for a TMX file with the same checksum and if its own content is intact. Otherwise the map is built from its layers and the cache file
+// is written again.
+public final class MapMetadata {
+    private static final String	TAG		= MapMetadata.class.getSimpleName();
+    public static final String	FILE_EXTENSION	= ".meta";
+    // outside of the assets so that generated files never end up in the assets of a build
+    public static final String	CACHE_DIRECTORY	= ".lok/cache/";
+
+    private static final int	MAGIC		= 0x4C4F4B4D;
+    // must be increased whenever the format or the derivation of the data (f.e. the rasterization or the path abstraction) changes
+    private static final int	VERSION		= 1;
+
+    private MapMetadata() {
+    }
+
+    /**
+     * Returns the cache file of a map or null if there is no storage for it
+     */
+    public static FileHandle getFile(MapID mapID) {
+	if (!Gdx.files.isExternalStorageAvailable()) {
+	    return null;
+	}
+
+	return Gdx.files.external(CACHE_DIRECTORY + mapID.getMapName() + FILE_EXTENSION);
+    }
+
+    public static long getChecksum(FileHandle tmxFile) {
+	final CRC32 crc = new CRC32();
+	crc.update(tmxFile.readBytes());
+	return crc.getValue();
+    }
+
+    /**
+     * Returns the map with the data of the cache file or null if the file does not exist or is outdated.
+     */
+    public static Map read(MapID mapID, TiledMap tiledMap, FileHandle file, long tmxChecksum) {
+	if (!file.exists()) {
+	    Gdx.app.debug(TAG, "There is no metadata for map " + mapID);
+	    return null;
+	}
+
+	DataInputStream in = null;
+	try {
+	    in = new DataInputStream(new ByteArrayInputStream(file.readBytes()));
+	    if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != tmxChecksum) {
+		Gdx.app.debug(TAG, "Metadata of map " + mapID + " is outdated");
+		return null;
+	    }
+
+	    final byte[] data = new byte[in.readInt()];
+	    final long dataChecksum = in.readLong();
+	    in.readFully(data);
+	    final CRC32 crc = new CRC32();
+	    crc.update(data);
+	    if (crc.getValue() != dataChecksum) {
+		Gdx.app.error(TAG, "Metadata of map " + mapID + " is corrupted");
+		return null;
+	    }
+
+	    return Map.readDerivedData(mapID, tiledMap, new DataInputStream(new ByteArrayInputStream(data)));
+	} catch (IOException e) {
+	    Gdx.app.error(TAG, "Could not read metadata of map " + mapID, e);
+	    return null;
+	} catch (IllegalArgumentException e) {
+	    // unknown entity or map IDs
+	    Gdx.app.error(TAG, "Metadata of map " + mapID + " is invalid", e);
+	    return null;
+	} finally {
+	    StreamUtils.closeQuietly(in);
+	}
+    }
+
+    /**
+     * Writes the cache file of a map that was built from its layers. Failures are only logged.
+     */
+    public static void write(Map map, FileHandle file, long tmxChecksum) {
+	OutputStream outputStream = null;
+	try {
+	    final ByteArrayOutputStream dataBytes = new ByteArrayOutputStream();
+	    final DataOutputStream dataOut = new DataOutputStream(dataBytes);
+	    map.writeDerivedData(dataOut);
+	    dataOut.flush();
+	    final byte[] data = dataBytes.toByteArray();
+	    final CRC32 crc = new CRC32();
+	    crc.update(data);
+
+	    outputStream = file.write(false);
+	    final DataOutputStream out = new DataOutputStream(outputStream);
+	    out.writeInt(MAGIC);
+	    out.writeInt(VERSION);
+	    out.writeLong(tmxChecksum);
+	    out.writeInt(data.length);
+	    out.writeLong(crc.getValue());
+	    out.write(data);
+	    out.flush();
+	    Gdx.app.debug(TAG, "Wrote metadata of map " + map.getMapID() + " to " + file.path() + " (" + file.length() + " bytes)");
+	} catch (IOException e) {
+	    Gdx.app.error(TAG, "Could not write metadata of map " + map.getMapID(), e);
+	} catch (GdxRuntimeException e) {
+	    // f.e. a read only directory
+	    Gdx.app.error(TAG, "Could not write metadata of map " + map.getMapID(), e);
+	} finally {
+	    StreamUtils.closeQuietly(outputStream);
+	}
+    }
+}
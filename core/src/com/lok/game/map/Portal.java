@@ -1,37 +1,36 @@
 package com.lok.game.map;
 
+import java.util.EnumSet;
+
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.lok.game.ecs.EntityEngine;
+import com.lok.game.ecs.EntityEngine.EntityID;
 import com.lok.game.ecs.components.SizeComponent;
 import com.lok.game.map.MapManager.MapID;
 
-public class Portal {
+public class Portal extends TriggerArea {
     private static final String	TAG = Portal.class.getSimpleName();
-    private final Rectangle	area;
     private final Vector2	targetPosition;
     private final MapID		targetMapID;
 
-    public Portal(Rectangle area, Vector2 targetPosition, MapID targetMapID) {
-	this.area = area;
+    public Portal(Rectangle area, EnumSet<EntityID> activators, Vector2 targetPosition, MapID targetMapID) {
+	super(area, activators);
 	this.targetPosition = targetPosition;
 	this.targetMapID = targetMapID;
     }
 
-    public Rectangle getArea() {
-	return area;
-    }
-
-    public boolean isColliding(Rectangle rectangle) {
-	return area.overlaps(rectangle);
-    }
-
+    @Override
     public void activate(Entity entity) {
 	Gdx.app.debug(TAG, "Entity " + entity + " activated portal with target map " + targetMapID + " and position " + targetPosition);
 
 	if (targetMapID != null) {
-	    MapManager.getManager().changeMap(targetMapID);
+	    // entities of the current map cannot be removed while the systems are processing them. The player is placed at the target position when the
+	    // target map is activated
+	    EntityEngine.getEngine().getCommandBuffer().changeMap(targetMapID, targetPosition);
+	    return;
 	}
 
 	final SizeComponent sizeComp = entity.getComponent(SizeComponent.class);
@@ -43,4 +42,12 @@ public class Portal {
 	sizeComp.interpolatedPosition.set(targetPosition);
 	sizeComp.boundingRectangle.setPosition(targetPosition);
     }
+
+    public Vector2 getTargetPosition() {
+	return targetPosition;
+    }
+
+    public MapID getTargetMapID() {
+	return targetMapID;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.lok.game.map;
+
+import java.util.EnumSet;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.math.Rectangle;
+import com.lok.game.ecs.EntityEngine.EntityID;
+
+// static area of a map that triggers an action when an entity of one of the activator types collides with it
+public abstract class TriggerArea {
+    protected final Rectangle	    area;
+    private final EnumSet<EntityID> activators;
+
+    public TriggerArea(Rectangle area, EnumSet<EntityID> activators) {
+	this.area = area;
+	this.activators = activators;
+    }
+
+    public Rectangle getArea() {
+	return area;
+    }
+
+    public EnumSet<EntityID> getActivators() {
+	return activators;
+    }
+
+    public boolean canBeActivatedBy(EntityID entityID) {
+	return activators.contains(entityID);
+    }
+
+    public boolean isColliding(Rectangle rectangle) {
+	return area.overlaps(rectangle);
+    }
+
+    public abstract void activate(Entity entity);
+}
@@ -0,0 +1,96 @@
+package com.lok.game.map;
+
+import java.util.EnumSet;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.lok.game.ecs.EntityEngine.EntityID;
+
+// Static bucket grid for the trigger areas of a map. Trigger areas never move so the index is built once when the map gets parsed.
+// Areas outside of the grid are stored in the closest bucket of the border.
+public class TriggerAreaIndex<T extends TriggerArea> {
+    private final Array<T>	    triggerAreas;
+    private final EnumSet<EntityID> activators;
+    private final Array<Array<T>>   buckets;
+    private final float		    bucketSize;
+    private final int		    numBucketsX;
+    private final int		    numBucketsY;
+
+    public TriggerAreaIndex(Rectangle boundary, float bucketSize) {
+	this.triggerAreas = new Array<T>();
+	this.activators = EnumSet.noneOf(EntityID.class);
+	this.bucketSize = bucketSize;
+	this.numBucketsX = Math.max(1, MathUtils.ceil(boundary.width / bucketSize));
+	this.numBucketsY = Math.max(1, MathUtils.ceil(boundary.height / bucketSize));
+	this.buckets = new Array<Array<T>>(numBucketsX * numBucketsY);
+	for (int i = 0; i < numBucketsX * numBucketsY; ++i) {
+	    // most buckets stay empty -> create them lazily
+	    buckets.add(null);
+	}
+    }
+
+    private int getBucketX(float x) {
+	return MathUtils.clamp(MathUtils.floor(x / bucketSize), 0, numBucketsX - 1);
+    }
+
+    private int getBucketY(float y) {
+	return MathUtils.clamp(MathUtils.floor(y / bucketSize), 0, numBucketsY - 1);
+    }
+
+    public void add(T triggerArea) {
+	final Rectangle area = triggerArea.getArea();
+
+	triggerAreas.add(triggerArea);
+	activators.addAll(triggerArea.getActivators());
+	for (int y = getBucketY(area.y); y <= getBucketY(area.y + area.height); ++y) {
+	    for (int x = getBucketX(area.x); x <= getBucketX(area.x + area.width); ++x) {
+		final int bucketIndex = y * numBucketsX + x;
+		Array<T> bucket = buckets.get(bucketIndex);
+		if (bucket == null) {
+		    bucket = new Array<T>(false, 2);
+		    buckets.set(bucketIndex, bucket);
+		}
+		bucket.add(triggerArea);
+	    }
+	}
+    }
+
+    public Array<T> getTriggerAreas() {
+	return triggerAreas;
+    }
+
+    /**
+     * Returns true if at least one trigger area of the index can be activated by the given entity type. Callers can use it to skip entities that can never trigger
+     * anything.
+     */
+    public boolean canBeActivatedBy(EntityID entityID) {
+	return activators.contains(entityID);
+    }
+
+    /**
+     * Adds all trigger areas that can be activated by the given entity type and that overlap the given rectangle to the result array. Every trigger area is only added
+     * once.
+     */
+    public void query(EntityID entityID, Rectangle rectangle, Array<T> result) {
+	if (!activators.contains(entityID)) {
+	    return;
+	}
+
+	for (int y = getBucketY(rectangle.y); y <= getBucketY(rectangle.y + rectangle.height); ++y) {
+	    for (int x = getBucketX(rectangle.x); x <= getBucketX(rectangle.x + rectangle.width); ++x) {
+		final Array<T> bucket = buckets.get(y * numBucketsX + x);
+		if (bucket == null) {
+		    continue;
+		}
+
+		for (int i = 0; i < bucket.size; ++i) {
+		    final T triggerArea = bucket.get(i);
+		    if (triggerArea.canBeActivatedBy(entityID) && triggerArea.isColliding(rectangle) && !result.contains(triggerArea, true)) {
+			result.add(triggerArea);
+		    }
+		}
+	    }
+	}
+    }
+}
@@ -0,0 +1,176 @@
+package com.lok.game.pathfinding;
+
+import com.badlogic.gdx.utils.BinaryHeap;
+import com.badlogic.gdx.utils.IntArray;
+import com.lok.game.map.Map;
+
+// A* search over the walkable tiles of a map. Entities may move in eight directions but a diagonal step must not cut the corner of an
+// unwalkable tile. The search nodes are created once per tile and reused by later searches. A node belongs to the current search if its
+// search id matches, so nothing has to be cleared between two searches.
+// A search can be limited to a rectangle of tiles. The PathAbstraction uses this to search within one or two clusters.
+public class AStarPathfinder {
+    static final int   STRAIGHT_COST = 10;
+    static final int   DIAGONAL_COST = 14;
+    // the first four neighbors are the straight ones
+    static final int[] NEIGHBOR_X    = { 1, -1, 0, 0, 1, 1, -1, -1 };
+    static final int[] NEIGHBOR_Y    = { 0, 0, 1, -1, 1, -1, 1, -1 };
+
+    private static class SearchNode extends BinaryHeap.Node {
+	private final int tileIndex;
+	private int	  searchID;
+	private int	  cost;
+	private int	  parent;
+	private boolean	  closed;
+
+	public SearchNode(int tileIndex) {
+	    super(0);
+	    this.tileIndex = tileIndex;
+	    this.searchID = 0;
+	}
+    }
+
+    private final Map			 map;
+    private final int			 numTilesX;
+    private final SearchNode[]		 nodes;
+    private final BinaryHeap<SearchNode> openList;
+    private int				 searchID;
+    // tiles of the current search
+    private int				 minTileIndexX;
+    private int				 minTileIndexY;
+    private int				 maxTileIndexX;
+    private int				 maxTileIndexY;
+
+    public AStarPathfinder(Map map) {
+	this.map = map;
+	this.numTilesX = map.getNumTilesX();
+	this.nodes = new SearchNode[map.getNumTilesX() * map.getNumTilesY()];
+	this.openList = new BinaryHeap<SearchNode>();
+	this.searchID = 0;
+    }
+
+    /**
+     * Returns true if the neighbor in the given direction (index of NEIGHBOR_X/NEIGHBOR_Y) can be entered from the given tile.
+     */
+    static boolean canEnter(Map map, int tileIndexX, int tileIndexY, int direction) {
+	final int neighborX = tileIndexX + NEIGHBOR_X[direction];
+	final int neighborY = tileIndexY + NEIGHBOR_Y[direction];
+	if (!map.isTileWalkable(neighborX, neighborY)) {
+	    return false;
+	}
+	// no corner cutting
+	return direction < 4 || (map.isTileWalkable(neighborX, tileIndexY) && map.isTileWalkable(tileIndexX, neighborY));
+    }
+
+    /**
+     * Searches a path from the start to the goal tile and stores the tile indices (y * numTilesX + x) including start and goal in the given array.
+     * Returns false if the goal cannot be reached within the given number of expanded tiles.
+     */
+    public boolean findPath(int startTileIndex, int goalTileIndex, int maxExpandedTiles, IntArray path) {
+	return findPath(startTileIndex, goalTileIndex, maxExpandedTiles, 0, 0, numTilesX - 1, map.getNumTilesY() - 1, path);
+    }
+
+    /**
+     * Like {@link #findPath(int, int, int, IntArray)} but the path only uses the tiles between the given minimum and maximum tile indices.
+     */
+    public boolean findPath(int startTileIndex, int goalTileIndex, int maxExpandedTiles, int minTileIndexX, int minTileIndexY, int maxTileIndexX, int maxTileIndexY,
+	    IntArray path) {
+	path.clear();
+	final int goalX = goalTileIndex % numTilesX;
+	final int goalY = goalTileIndex / numTilesX;
+	if (!map.isTileWalkable(goalX, goalY) || goalX < minTileIndexX || goalY < minTileIndexY || goalX > maxTileIndexX || goalY > maxTileIndexY) {
+	    return false;
+	}
+	this.minTileIndexX = minTileIndexX;
+	this.minTileIndexY = minTileIndexY;
+	this.maxTileIndexX = maxTileIndexX;
+	this.maxTileIndexY = maxTileIndexY;
+
+	++searchID;
+	openList.clear();
+	final SearchNode startNode = getNode(startTileIndex);
+	startNode.cost = 0;
+	openList.add(startNode, getHeuristic(startTileIndex, goalX, goalY));
+
+	int expandedTiles = 0;
+	while (openList.size > 0 && expandedTiles < maxExpandedTiles) {
+	    final SearchNode node = openList.pop();
+	    if (node.tileIndex == goalTileIndex) {
+		for (int tileIndex = goalTileIndex; tileIndex != -1; tileIndex = nodes[tileIndex].parent) {
+		    path.add(tileIndex);
+		}
+		path.reverse();
+		return true;
+	    }
+
+	    node.closed = true;
+	    ++expandedTiles;
+	    final int tileX = node.tileIndex % numTilesX;
+	    final int tileY = node.tileIndex / numTilesX;
+	    for (int direction = 0; direction < NEIGHBOR_X.length; ++direction) {
+		if (!canEnter(map, tileX, tileY, direction) || !isWithinBounds(tileX + NEIGHBOR_X[direction], tileY + NEIGHBOR_Y[direction])) {
+		    continue;
+		}
+
+		final int neighborIndex = (tileY + NEIGHBOR_Y[direction]) * numTilesX + tileX + NEIGHBOR_X[direction];
+		final SearchNode neighbor = getNode(neighborIndex);
+		final int cost = node.cost + (direction < 4 ? STRAIGHT_COST : DIAGONAL_COST);
+		if (neighbor.closed || cost >= neighbor.cost) {
+		    continue;
+		}
+
+		final boolean open = neighbor.cost != Integer.MAX_VALUE;
+		neighbor.cost = cost;
+		neighbor.parent = node.tileIndex;
+		if (open) {
+		    openList.setValue(neighbor, cost + getHeuristic(neighborIndex, goalX, goalY));
+		} else {
+		    openList.add(neighbor, cost + getHeuristic(neighborIndex, goalX, goalY));
+		}
+	    }
+	}
+
+	return false;
+    }
+
+    private boolean isWithinBounds(int tileIndexX, int tileIndexY) {
+	return tileIndexX >= minTileIndexX && tileIndexY >= minTileIndexY && tileIndexX <= maxTileIndexX && tileIndexY <= maxTileIndexY;
+    }
+
+    /**
+     * Returns the cost of a path of neighboring tiles in STRAIGHT_COST and DIAGONAL_COST units.
+     */
+    public int getPathCost(IntArray path) {
+	int cost = 0;
+	for (int i = 1; i < path.size; ++i) {
+	    final boolean straight = path.get(i - 1) % numTilesX == path.get(i) % numTilesX || path.get(i - 1) / numTilesX == path.get(i) / numTilesX;
+	    cost += straight ? STRAIGHT_COST : DIAGONAL_COST;
+	}
+	return cost;
+    }
+
+    private SearchNode getNode(int tileIndex) {
+	SearchNode node = nodes[tileIndex];
+	if (node == null) {
+	    node = new SearchNode(tileIndex);
+	    nodes[tileIndex] = node;
+	}
+
+	if (node.searchID != searchID) {
+	    node.searchID = searchID;
+	    node.cost = Integer.MAX_VALUE;
+	    node.parent = -1;
+	    node.closed = false;
+	}
+	return node;
+    }
+
+    private int getHeuristic(int tileIndex, int goalX, int goalY) {
+	return getOctileDistance(tileIndex % numTilesX, tileIndex / numTilesX, goalX, goalY);
+    }
+
+    static int getOctileDistance(int tileIndexX, int tileIndexY, int otherTileIndexX, int otherTileIndexY) {
+	final int distX = Math.abs(tileIndexX - otherTileIndexX);
+	final int distY = Math.abs(tileIndexY - otherTileIndexY);
+	return STRAIGHT_COST * (distX + distY) + (DIAGONAL_COST - 2 * STRAIGHT_COST) * Math.min(distX, distY);
+    }
+}
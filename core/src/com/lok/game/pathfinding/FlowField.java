@@ -0,0 +1,160 @@
+package com.lok.game.pathfinding;
+
+import java.util.Arrays;
+
+import com.lok.game.map.Map;
+
+// Distance field towards a goal tile that is shared by all chasers. Every walkable tile within MAX_STEPS of the goal stores its number of
+// straight steps to the goal. An entity follows the field by moving to the neighbor tile with the smallest distance, so hundreds of chasers
+// cost one breadth-first search instead of one search per chaser.
+// A new field is only built when the goal changes its tile. The build is spread over several updates with at most TILES_PER_UPDATE tiles each
+// while the chasers keep following the previous field. Goal changes during a build are picked up by the next build.
+// Both fields remember the tiles that their build reached, so a new build only resets those tiles instead of the whole map.
+public class FlowField {
+    public static final int  UNREACHABLE      = Integer.MAX_VALUE;
+    public static final int  MAX_STEPS	      = 64;
+    private static final int TILES_PER_UPDATE = 2048;
+
+    private final Map	     map;
+    private final int	     numTilesX;
+    private int[]	     distances;
+    // field that is currently built
+    private int[]	     nextDistances;
+    // tiles of the field that is currently built respectively of nextDistances between two builds
+    private int[]	     queue;
+    // tiles of distances
+    private int[]	     fieldTiles;
+    private int		     numFieldTiles;
+    private int		     queueHead;
+    private int		     queueTail;
+    private boolean	     building;
+    private int		     goalTileIndex;
+    private int		     nextGoalTileIndex;
+    private int		     requestedGoalTileIndex;
+
+    public FlowField(Map map) {
+	this.map = map;
+	this.numTilesX = map.getNumTilesX();
+	final int numTiles = map.getNumTilesX() * map.getNumTilesY();
+	this.distances = new int[numTiles];
+	this.nextDistances = new int[numTiles];
+	this.queue = new int[numTiles];
+	this.fieldTiles = new int[numTiles];
+	Arrays.fill(distances, UNREACHABLE);
+	Arrays.fill(nextDistances, UNREACHABLE);
+	this.queueTail = 0;
+	this.numFieldTiles = 0;
+	this.building = false;
+	this.goalTileIndex = -1;
+	this.nextGoalTileIndex = -1;
+	this.requestedGoalTileIndex = -1;
+    }
+
+    /**
+     * Requests a field towards the given tile. The field is built by the following calls of {@link #update()}.
+     */
+    public void setGoal(int tileIndexX, int tileIndexY) {
+	if (tileIndexX < 0 || tileIndexY < 0 || tileIndexX >= numTilesX || tileIndexY >= map.getNumTilesY()) {
+	    return;
+	}
+	requestedGoalTileIndex = tileIndexY * numTilesX + tileIndexX;
+    }
+
+    /**
+     * Continues the build of the requested field. The finished field replaces the current field.
+     */
+    public void update() {
+	if (!building) {
+	    if (requestedGoalTileIndex == goalTileIndex || requestedGoalTileIndex == -1) {
+		return;
+	    }
+
+	    building = true;
+	    nextGoalTileIndex = requestedGoalTileIndex;
+	    for (int i = 0; i < queueTail; ++i) {
+		nextDistances[queue[i]] = UNREACHABLE;
+	    }
+	    nextDistances[nextGoalTileIndex] = 0;
+	    queueHead = 0;
+	    queueTail = 0;
+	    queue[queueTail++] = nextGoalTileIndex;
+	}
+
+	for (int i = 0; i < TILES_PER_UPDATE && queueHead < queueTail; ++i) {
+	    final int tileIndex = queue[queueHead++];
+	    final int distance = nextDistances[tileIndex] + 1;
+	    if (distance > MAX_STEPS) {
+		continue;
+	    }
+
+	    final int tileX = tileIndex % numTilesX;
+	    final int tileY = tileIndex / numTilesX;
+	    // straight neighbors only. Diagonal moves still happen because a diagonal neighbor is two steps closer
+	    for (int direction = 0; direction < 4; ++direction) {
+		final int neighborX = tileX + AStarPathfinder.NEIGHBOR_X[direction];
+		final int neighborY = tileY + AStarPathfinder.NEIGHBOR_Y[direction];
+		if (!map.isTileWalkable(neighborX, neighborY)) {
+		    continue;
+		}
+
+		final int neighborIndex = neighborY * numTilesX + neighborX;
+		if (nextDistances[neighborIndex] == UNREACHABLE) {
+		    nextDistances[neighborIndex] = distance;
+		    queue[queueTail++] = neighborIndex;
+		}
+	    }
+	}
+
+	if (queueHead == queueTail) {
+	    building = false;
+	    final int[] finished = nextDistances;
+	    nextDistances = distances;
+	    distances = finished;
+	    final int[] finishedTiles = queue;
+	    queue = fieldTiles;
+	    fieldTiles = finishedTiles;
+	    final int numFinishedTiles = queueTail;
+	    queueTail = numFieldTiles;
+	    numFieldTiles = numFinishedTiles;
+	    goalTileIndex = nextGoalTileIndex;
+	}
+    }
+
+    public boolean hasGoal() {
+	return goalTileIndex != -1;
+    }
+
+    public int getDistance(int tileIndexX, int tileIndexY) {
+	if (tileIndexX < 0 || tileIndexY < 0 || tileIndexX >= numTilesX || tileIndexY >= map.getNumTilesY()) {
+	    return UNREACHABLE;
+	}
+	return distances[tileIndexY * numTilesX + tileIndexX];
+    }
+
+    /**
+     * Returns the tile index (y * numTilesX + x) of the neighbor that leads towards the goal or -1 if the tile is the goal or not covered by the
+     * field. Tiles that are not walkable themselves (f.e. an entity that stands partially on a wall tile) still get a walkable neighbor.
+     */
+    public int getNextTile(int tileIndexX, int tileIndexY) {
+	int bestDistance = getDistance(tileIndexX, tileIndexY);
+	if (bestDistance == 0) {
+	    return -1;
+	}
+
+	int bestTileIndex = -1;
+	for (int direction = 0; direction < AStarPathfinder.NEIGHBOR_X.length; ++direction) {
+	    if (!AStarPathfinder.canEnter(map, tileIndexX, tileIndexY, direction)) {
+		continue;
+	    }
+
+	    final int neighborX = tileIndexX + AStarPathfinder.NEIGHBOR_X[direction];
+	    final int neighborY = tileIndexY + AStarPathfinder.NEIGHBOR_Y[direction];
+	    final int distance = distances[neighborY * numTilesX + neighborX];
+	    if (distance < bestDistance) {
+		bestDistance = distance;
+		bestTileIndex = neighborY * numTilesX + neighborX;
+	    }
+	}
+	return bestTileIndex;
+    }
+}
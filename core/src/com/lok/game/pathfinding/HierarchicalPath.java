@@ -0,0 +1,83 @@
+package com.lok.game.pathfinding;
+
+import com.badlogic.gdx.utils.IntArray;
+
+// Path of a PathfindingService search that is refined into tiles on demand. The waypoints come from the abstract search of the PathAbstraction
+// and refineNext turns the next pair of waypoints into tiles. A chaser refines the next segment when it reaches the end of the current one,
+// so a long path never costs more than the abstract search and the segments that are actually walked. Refined segments come from the segment
+// cache of the PathfindingService.
+public class HierarchicalPath {
+    final IntArray waypoints;
+    int startTileIndex;
+    int goalTileIndex;
+    // index of the waypoint where the next segment starts
+    int			    nextWaypoint;
+    AStarPathfinder	    pathfinder;
+    PathAbstraction	    abstraction;
+    PathCache segmentCache;
+
+    public HierarchicalPath() {
+	this.waypoints = new IntArray();
+	clear();
+    }
+
+    public void clear() {
+	waypoints.clear();
+	startTileIndex = -1;
+	goalTileIndex = -1;
+	nextWaypoint = 0;
+	pathfinder = null;
+	abstraction = null;
+	segmentCache = null;
+    }
+
+    /**
+     * Returns the tile index (y * numTilesX + x) of the start of the last search or -1 if there was no search.
+     */
+    public int getStart() {
+	return startTileIndex;
+    }
+
+    /**
+     * Returns the tile index of the goal of the last search or -1 if there was no search.
+     */
+    public int getGoal() {
+	return goalTileIndex;
+    }
+
+    /**
+     * Returns true if the last search found a path.
+     */
+    public boolean isFound() {
+	return waypoints.size > 0;
+    }
+
+    public boolean isRefined() {
+	return nextWaypoint >= waypoints.size - 1;
+    }
+
+    /**
+     * Stores the tiles of the next segment including its first and last tile in the given array. Returns false if the path is completely refined
+     * or the segment cannot be refined.
+     */
+    public boolean refineNext(IntArray tiles) {
+	tiles.clear();
+	if (isRefined()) {
+	    return false;
+	}
+
+	final int from = waypoints.get(nextWaypoint);
+	final int to = waypoints.get(++nextWaypoint);
+	IntArray segment = segmentCache.get(from, to);
+	if (segment == null) {
+	    segment = segmentCache.add(from, to);
+	    if (abstraction == null) {
+		pathfinder.findPath(from, to, PathfindingService.MAX_EXPANDED_TILES, segment);
+	    } else {
+		abstraction.refine(pathfinder, from, to, segment);
+	    }
+	}
+	tiles.addAll(segment);
+	return tiles.size > 0;
+    }
+}
@@ -0,0 +1,400 @@
+package com.lok.game.pathfinding;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BinaryHeap;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.lok.game.map.Map;
+
+// Hierarchical abstraction of the walkable tiles of a map in the style of HPA*.
+// The map is split into clusters of CLUSTER_SIZE x CLUSTER_SIZE tiles. Every walkable opening between two neighbor clusters is an entrance with
+// one node on each side (two nodes per side for wide openings). Nodes of neighbor clusters are connected by their entrance and nodes of the
+// same cluster by the cost of the shortest path within the cluster. A long path is first searched on this small graph and then refined into
+// tiles one segment at a time (see HierarchicalPath). Each refinement only searches within one or two clusters.
+// The graph is stored in flat arrays (compressed adjacency lists) so that it can be serialized with the map.
+public class PathAbstraction {
+    public static final int  CLUSTER_SIZE	= 10;
+    // openings of at least this many tiles get an entrance at both ends instead of one in the middle
+    private static final int WIDE_ENTRANCE_SIZE	= 6;
+
+    private static class AbstractNode extends BinaryHeap.Node {
+	private final int index;
+	private int	  searchID;
+	private int	  cost;
+	private int	  parent;
+	private boolean	  closed;
+
+	public AbstractNode(int index) {
+	    super(0);
+	    this.index = index;
+	    this.searchID = 0;
+	}
+    }
+
+    private final int			   clusterSize;
+    private final int			   numTilesX;
+    private final int			   numTilesY;
+    private final int			   numClustersX;
+    // tile index of each node
+    private final int[]			   nodeTiles;
+    // the edges of node i are edgeTargets[edgeOffsets[i]] to edgeTargets[edgeOffsets[i + 1] - 1]
+    private final int[]			   edgeOffsets;
+    private final int[]			   edgeTargets;
+    private final int[]			   edgeCosts;
+
+    // search data. The last two nodes are the start and the goal of the current search
+    private final Array<IntArray>	   clusterNodes;
+    private final AbstractNode[]	   searchNodes;
+    private final BinaryHeap<AbstractNode> openList;
+    private final IntArray		   startNodes;
+    private final IntArray		   startCosts;
+    private final IntArray		   goalNodes;
+    private final IntArray		   goalCosts;
+    private final IntArray		   segment;
+    private int				   searchID;
+
+    private PathAbstraction(int clusterSize, int numTilesX, int numTilesY, int[] nodeTiles, int[] edgeOffsets, int[] edgeTargets, int[] edgeCosts) {
+	if (edgeOffsets.length != nodeTiles.length + 1 || edgeTargets.length != edgeCosts.length || edgeOffsets[nodeTiles.length] != edgeTargets.length) {
+	    throw new GdxRuntimeException("Invalid path abstraction with " + nodeTiles.length + " nodes and " + edgeTargets.length + " edges");
+	}
+
+	this.clusterSize = clusterSize;
+	this.numTilesX = numTilesX;
+	this.numTilesY = numTilesY;
+	this.numClustersX = (numTilesX + clusterSize - 1) / clusterSize;
+	this.nodeTiles = nodeTiles;
+	this.edgeOffsets = edgeOffsets;
+	this.edgeTargets = edgeTargets;
+	this.edgeCosts = edgeCosts;
+
+	final int numClustersY = (numTilesY + clusterSize - 1) / clusterSize;
+	this.clusterNodes = new Array<IntArray>(numClustersX * numClustersY);
+	for (int i = 0; i < numClustersX * numClustersY; ++i) {
+	    clusterNodes.add(new IntArray(8));
+	}
+	for (int node = 0; node < nodeTiles.length; ++node) {
+	    clusterNodes.get(getCluster(nodeTiles[node])).add(node);
+	}
+	this.searchNodes = new AbstractNode[nodeTiles.length + 2];
+	for (int i = 0; i < searchNodes.length; ++i) {
+	    searchNodes[i] = new AbstractNode(i);
+	}
+	this.openList = new BinaryHeap<AbstractNode>();
+	this.startNodes = new IntArray();
+	this.startCosts = new IntArray();
+	this.goalNodes = new IntArray();
+	this.goalCosts = new IntArray();
+	this.segment = new IntArray();
+	this.searchID = 0;
+    }
+
+    /**
+     * Builds the abstraction of the walkable tiles of the given map. Called once when the map is loaded.
+     */
+    public static PathAbstraction build(Map map) {
+	final int numTilesX = map.getNumTilesX();
+	final int numTilesY = map.getNumTilesY();
+	final AStarPathfinder pathfinder = new AStarPathfinder(map);
+	final IntIntMap tileNodes = new IntIntMap();
+	final IntArray nodeTiles = new IntArray();
+	final Array<IntArray> edges = new Array<IntArray>();
+
+	// entrances along the right and upper border of every cluster
+	for (int clusterY = 0; clusterY * CLUSTER_SIZE < numTilesY; ++clusterY) {
+	    for (int clusterX = 0; clusterX * CLUSTER_SIZE < numTilesX; ++clusterX) {
+		final int minX = clusterX * CLUSTER_SIZE;
+		final int minY = clusterY * CLUSTER_SIZE;
+		final int maxX = Math.min(numTilesX, minX + CLUSTER_SIZE) - 1;
+		final int maxY = Math.min(numTilesY, minY + CLUSTER_SIZE) - 1;
+		if (maxX + 1 < numTilesX) {
+		    addEntrances(map, maxX, minY, 0, 1, 1, 0, maxY - minY + 1, tileNodes, nodeTiles, edges);
+		}
+		if (maxY + 1 < numTilesY) {
+		    addEntrances(map, minX, maxY, 1, 0, 0, 1, maxX - minX + 1, tileNodes, nodeTiles, edges);
+		}
+	    }
+	}
+
+	// shortest paths between the nodes of the same cluster
+	final int numClustersX = (numTilesX + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+	final int numClustersY = (numTilesY + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+	final Array<IntArray> clusterNodes = new Array<IntArray>(numClustersX * numClustersY);
+	for (int i = 0; i < numClustersX * numClustersY; ++i) {
+	    clusterNodes.add(new IntArray());
+	}
+	for (int node = 0; node < nodeTiles.size; ++node) {
+	    final int tileIndex = nodeTiles.get(node);
+	    clusterNodes.get((tileIndex / numTilesX / CLUSTER_SIZE) * numClustersX + (tileIndex % numTilesX) / CLUSTER_SIZE).add(node);
+	}
+	final IntArray path = new IntArray();
+	for (int cluster = 0; cluster < clusterNodes.size; ++cluster) {
+	    final IntArray nodes = clusterNodes.get(cluster);
+	    final int minX = (cluster % numClustersX) * CLUSTER_SIZE;
+	    final int minY = (cluster / numClustersX) * CLUSTER_SIZE;
+	    final int maxX = Math.min(numTilesX, minX + CLUSTER_SIZE) - 1;
+	    final int maxY = Math.min(numTilesY, minY + CLUSTER_SIZE) - 1;
+	    for (int i = 0; i < nodes.size; ++i) {
+		for (int j = i + 1; j < nodes.size; ++j) {
+		    final int nodeA = nodes.get(i);
+		    final int nodeB = nodes.get(j);
+		    if (pathfinder.findPath(nodeTiles.get(nodeA), nodeTiles.get(nodeB), CLUSTER_SIZE * CLUSTER_SIZE, minX, minY, maxX, maxY, path)) {
+			addEdge(edges, nodeA, nodeB, pathfinder.getPathCost(path));
+		    }
+		}
+	    }
+	}
+
+	// compress the adjacency lists
+	final int[] edgeOffsets = new int[nodeTiles.size + 1];
+	final IntArray edgeTargets = new IntArray();
+	final IntArray edgeCosts = new IntArray();
+	for (int node = 0; node < nodeTiles.size; ++node) {
+	    edgeOffsets[node] = edgeTargets.size;
+	    final IntArray nodeEdges = edges.get(node);
+	    for (int i = 0; i < nodeEdges.size; i += 2) {
+		edgeTargets.add(nodeEdges.get(i));
+		edgeCosts.add(nodeEdges.get(i + 1));
+	    }
+	}
+	edgeOffsets[nodeTiles.size] = edgeTargets.size;
+
+	return new PathAbstraction(CLUSTER_SIZE, numTilesX, numTilesY, nodeTiles.toArray(), edgeOffsets, edgeTargets.toArray(), edgeCosts.toArray());
+    }
+
+    // scans the border that starts at the given tile in direction (stepX, stepY). The tiles on the other side are at offset (crossX, crossY)
+    private static void addEntrances(Map map, int startX, int startY, int stepX, int stepY, int crossX, int crossY, int length, IntIntMap tileNodes, IntArray nodeTiles,
+	    Array<IntArray> edges) {
+	int runStart = -1;
+	for (int i = 0; i <= length; ++i) {
+	    final int x = startX + i * stepX;
+	    final int y = startY + i * stepY;
+	    final boolean open = i < length && map.isTileWalkable(x, y) && map.isTileWalkable(x + crossX, y + crossY);
+	    if (open && runStart == -1) {
+		runStart = i;
+	    } else if (!open && runStart != -1) {
+		final int runEnd = i - 1;
+		if (runEnd - runStart + 1 >= WIDE_ENTRANCE_SIZE) {
+		    addTransition(map, startX + runStart * stepX, startY + runStart * stepY, crossX, crossY, tileNodes, nodeTiles, edges);
+		    addTransition(map, startX + runEnd * stepX, startY + runEnd * stepY, crossX, crossY, tileNodes, nodeTiles, edges);
+		} else {
+		    final int middle = (runStart + runEnd) / 2;
+		    addTransition(map, startX + middle * stepX, startY + middle * stepY, crossX, crossY, tileNodes, nodeTiles, edges);
+		}
+		runStart = -1;
+	    }
+	}
+    }
+
+    private static void addTransition(Map map, int x, int y, int crossX, int crossY, IntIntMap tileNodes, IntArray nodeTiles, Array<IntArray> edges) {
+	final int nodeA = getOrAddNode(y * map.getNumTilesX() + x, tileNodes, nodeTiles, edges);
+	final int nodeB = getOrAddNode((y + crossY) * map.getNumTilesX() + x + crossX, tileNodes, nodeTiles, edges);
+	addEdge(edges, nodeA, nodeB, AStarPathfinder.STRAIGHT_COST);
+    }
+
+    private static int getOrAddNode(int tileIndex, IntIntMap tileNodes, IntArray nodeTiles, Array<IntArray> edges) {
+	int node = tileNodes.get(tileIndex, -1);
+	if (node == -1) {
+	    node = nodeTiles.size;
+	    nodeTiles.add(tileIndex);
+	    edges.add(new IntArray());
+	    tileNodes.put(tileIndex, node);
+	}
+	return node;
+    }
+
+    // edges are stored as pairs of target and cost
+    private static void addEdge(Array<IntArray> edges, int nodeA, int nodeB, int cost) {
+	edges.get(nodeA).add(nodeB);
+	edges.get(nodeA).add(cost);
+	edges.get(nodeB).add(nodeA);
+	edges.get(nodeB).add(cost);
+    }
+
+    public int getNumNodes() {
+	return nodeTiles.length;
+    }
+
+    public int getNumEdges() {
+	return edgeTargets.length;
+    }
+
+    /**
+     * Returns true if the abstraction was built for a map with the same size. Loaded abstractions must be checked before they are used.
+     */
+    public boolean isCompatible(Map map) {
+	return clusterSize == CLUSTER_SIZE && numTilesX == map.getNumTilesX() && numTilesY == map.getNumTilesY();
+    }
+
+    private int getCluster(int tileIndex) {
+	return (tileIndex / numTilesX / clusterSize) * numClustersX + (tileIndex % numTilesX) / clusterSize;
+    }
+
+    /**
+     * Searches the abstract path from the start to the goal tile and stores its waypoints including start and goal in the given array. Two
+     * consecutive waypoints are either within the same cluster or within two neighbor clusters. Returns false if there is no path.
+     */
+    boolean findWaypoints(AStarPathfinder pathfinder, int startTileIndex, int goalTileIndex, IntArray waypoints) {
+	waypoints.clear();
+	if (startTileIndex == goalTileIndex) {
+	    waypoints.add(startTileIndex);
+	    return true;
+	}
+
+	final int startCluster = getCluster(startTileIndex);
+	final int goalCluster = getCluster(goalTileIndex);
+	if (startCluster == goalCluster && findClusterPath(pathfinder, startTileIndex, goalTileIndex, startCluster, segment)) {
+	    waypoints.add(startTileIndex);
+	    waypoints.add(goalTileIndex);
+	    return true;
+	}
+
+	// temporary edges of the start and goal tile to the nodes of their cluster
+	connect(pathfinder, startTileIndex, startCluster, startNodes, startCosts);
+	connect(pathfinder, goalTileIndex, goalCluster, goalNodes, goalCosts);
+	if (startNodes.size == 0 || goalNodes.size == 0) {
+	    return false;
+	}
+
+	final int startNode = nodeTiles.length;
+	final int goalNode = nodeTiles.length + 1;
+	final int goalX = goalTileIndex % numTilesX;
+	final int goalY = goalTileIndex / numTilesX;
+	++searchID;
+	openList.clear();
+	final AbstractNode start = getSearchNode(startNode);
+	start.cost = 0;
+	openList.add(start, getHeuristic(startTileIndex, goalX, goalY));
+
+	while (openList.size > 0) {
+	    final AbstractNode node = openList.pop();
+	    if (node.index == goalNode) {
+		for (int index = goalNode; index != -1; index = searchNodes[index].parent) {
+		    waypoints.add(index == startNode ? startTileIndex : index == goalNode ? goalTileIndex : nodeTiles[index]);
+		}
+		waypoints.reverse();
+		return true;
+	    }
+
+	    node.closed = true;
+	    if (node.index == startNode) {
+		for (int i = 0; i < startNodes.size; ++i) {
+		    relax(node, startNodes.get(i), startCosts.get(i), goalTileIndex, goalX, goalY);
+		}
+		continue;
+	    }
+
+	    for (int edge = edgeOffsets[node.index]; edge < edgeOffsets[node.index + 1]; ++edge) {
+		relax(node, edgeTargets[edge], edgeCosts[edge], goalTileIndex, goalX, goalY);
+	    }
+	    final int goalIndex = goalNodes.indexOf(node.index);
+	    if (goalIndex != -1) {
+		relax(node, goalNode, goalCosts.get(goalIndex), goalTileIndex, goalX, goalY);
+	    }
+	}
+
+	return false;
+    }
+
+    private void relax(AbstractNode node, int neighborIndex, int edgeCost, int goalTileIndex, int goalX, int goalY) {
+	final AbstractNode neighbor = getSearchNode(neighborIndex);
+	final int cost = node.cost + edgeCost;
+	if (neighbor.closed || cost >= neighbor.cost) {
+	    return;
+	}
+
+	final boolean open = neighbor.cost != Integer.MAX_VALUE;
+	neighbor.cost = cost;
+	neighbor.parent = node.index;
+	final int tileIndex = neighborIndex < nodeTiles.length ? nodeTiles[neighborIndex] : goalTileIndex;
+	if (open) {
+	    openList.setValue(neighbor, cost + getHeuristic(tileIndex, goalX, goalY));
+	} else {
+	    openList.add(neighbor, cost + getHeuristic(tileIndex, goalX, goalY));
+	}
+    }
+
+    private void connect(AStarPathfinder pathfinder, int tileIndex, int cluster, IntArray nodes, IntArray costs) {
+	nodes.clear();
+	costs.clear();
+	final IntArray candidates = clusterNodes.get(cluster);
+	for (int i = 0; i < candidates.size; ++i) {
+	    if (findClusterPath(pathfinder, tileIndex, nodeTiles[candidates.get(i)], cluster, segment)) {
+		nodes.add(candidates.get(i));
+		costs.add(pathfinder.getPathCost(segment));
+	    }
+	}
+    }
+
+    private boolean findClusterPath(AStarPathfinder pathfinder, int startTileIndex, int goalTileIndex, int cluster, IntArray path) {
+	final int minX = (cluster % numClustersX) * clusterSize;
+	final int minY = (cluster / numClustersX) * clusterSize;
+	return pathfinder.findPath(startTileIndex, goalTileIndex, clusterSize * clusterSize, minX, minY, Math.min(numTilesX, minX + clusterSize) - 1,
+		Math.min(numTilesY, minY + clusterSize) - 1, path);
+    }
+
+    /**
+     * Stores the tiles from one waypoint to the next waypoint of an abstract path in the given array.
+     */
+    boolean refine(AStarPathfinder pathfinder, int fromTileIndex, int toTileIndex, IntArray path) {
+	final int fromCluster = getCluster(fromTileIndex);
+	final int toCluster = getCluster(toTileIndex);
+	final int minX = Math.min(fromCluster % numClustersX, toCluster % numClustersX) * clusterSize;
+	final int minY = Math.min(fromCluster / numClustersX, toCluster / numClustersX) * clusterSize;
+	final int maxX = Math.min(numTilesX, (Math.max(fromCluster % numClustersX, toCluster % numClustersX) + 1) * clusterSize) - 1;
+	final int maxY = Math.min(numTilesY, (Math.max(fromCluster / numClustersX, toCluster / numClustersX) + 1) * clusterSize) - 1;
+	return pathfinder.findPath(fromTileIndex, toTileIndex, (maxX - minX + 1) * (maxY - minY + 1), minX, minY, maxX, maxY, path);
+    }
+
+    private AbstractNode getSearchNode(int index) {
+	final AbstractNode node = searchNodes[index];
+	if (node.searchID != searchID) {
+	    node.searchID = searchID;
+	    node.cost = Integer.MAX_VALUE;
+	    node.parent = -1;
+	    node.closed = false;
+	}
+	return node;
+    }
+
+    private int getHeuristic(int tileIndex, int goalX, int goalY) {
+	return AStarPathfinder.getOctileDistance(tileIndex % numTilesX, tileIndex / numTilesX, goalX, goalY);
+    }
+
+    /**
+     * Writes the graph in a binary format. Used for the cached metadata of a map (see MapMetadata).
+     */
+    public void write(DataOutputStream out) throws IOException {
+	out.writeInt(clusterSize);
+	out.writeInt(numTilesX);
+	out.writeInt(numTilesY);
+	writeInts(out, nodeTiles);
+	writeInts(out, edgeOffsets);
+	writeInts(out, edgeTargets);
+	writeInts(out, edgeCosts);
+    }
+
+    public static PathAbstraction read(DataInputStream in) throws IOException {
+	return new PathAbstraction(in.readInt(), in.readInt(), in.readInt(), readInts(in), readInts(in), readInts(in), readInts(in));
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+	out.writeInt(values.length);
+	for (int value : values) {
+	    out.writeInt(value);
+	}
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+	final int[] values = new int[in.readInt()];
+	for (int i = 0; i < values.length; ++i) {
+	    values[i] = in.readInt();
+	}
+	return values;
+    }
+
+}
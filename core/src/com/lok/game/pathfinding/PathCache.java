@@ -0,0 +1,56 @@
+package com.lok.game.pathfinding;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+
+// Tile indices of searches by their start and goal tile. The collision areas of a map never change, so a search result stays valid until the
+// map changes. The oldest entry is dropped once the cache is full and its array is reused for the new entry. Failed searches are cached as
+// empty arrays so that an unreachable goal is not searched again every tick.
+class PathCache {
+    private final LongMap<IntArray> paths;
+    // keys of the cached paths in the order they were added
+    private final long[]	    keys;
+    private int			    nextSlot;
+
+    PathCache(int maxPaths) {
+	this.paths = new LongMap<IntArray>(maxPaths);
+	this.keys = new long[maxPaths];
+	this.nextSlot = 0;
+    }
+
+    /**
+     * Returns the cached tiles of the search from the start to the goal tile or null if the search is not cached.
+     */
+    IntArray get(int startTileIndex, int goalTileIndex) {
+	return paths.get(getKey(startTileIndex, goalTileIndex));
+    }
+
+    /**
+     * Returns an empty array for the result of the search from the start to the goal tile that replaces the oldest entry if the cache is full.
+     */
+    IntArray add(int startTileIndex, int goalTileIndex) {
+	IntArray path = null;
+	if (paths.size >= keys.length) {
+	    path = paths.remove(keys[nextSlot]);
+	}
+	if (path == null) {
+	    path = new IntArray();
+	}
+
+	path.clear();
+	final long key = getKey(startTileIndex, goalTileIndex);
+	paths.put(key, path);
+	keys[nextSlot] = key;
+	nextSlot = (nextSlot + 1) % keys.length;
+	return path;
+    }
+
+    void clear() {
+	paths.clear();
+	nextSlot = 0;
+    }
+
+    private static long getKey(int startTileIndex, int goalTileIndex) {
+	return ((long) startTileIndex << 32) | (goalTileIndex & 0xFFFFFFFFL);
+    }
+}
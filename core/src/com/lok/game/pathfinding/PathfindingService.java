@@ -0,0 +1,109 @@
+package com.lok.game.pathfinding;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.IntArray;
+import com.lok.game.map.Map;
+import com.lok.game.map.MapListener;
+import com.lok.game.map.MapManager;
+
+// Pathfinding over the walkable tiles of the current map.
+// The shared flow field leads all chasers towards the player. Chasers outside of the flow field follow a HierarchicalPath.
+// The waypoints of the abstract searches and the tiles of the refined segments are cached by their start and goal tile. Chasers with the same
+// goal share the segments between the entrances of the PathAbstraction, and a chaser that searches again from the same tile costs no search.
+public class PathfindingService implements MapListener {
+    private static final String	      TAG		 = PathfindingService.class.getName();
+    static final int		      MAX_EXPANDED_TILES = 2048;
+    private static final int	      MAX_CACHED_PATHS	 = 256;
+    private static PathfindingService instance		 = null;
+
+    private Map			      map;
+    private AStarPathfinder	      pathfinder;
+    private FlowField		      flowField;
+    private final PathCache	      waypointCache;
+    private final PathCache	      segmentCache;
+
+    private PathfindingService() {
+	this.map = null;
+	this.pathfinder = null;
+	this.flowField = null;
+	this.waypointCache = new PathCache(MAX_CACHED_PATHS);
+	this.segmentCache = new PathCache(MAX_CACHED_PATHS);
+
+	final MapManager mapManager = MapManager.getManager();
+	mapManager.addMapListener(this);
+	if (mapManager.getCurrentMap() != null) {
+	    onMapChange(mapManager, mapManager.getCurrentMap());
+	}
+    }
+
+    public static PathfindingService getService() {
+	if (instance == null) {
+	    instance = new PathfindingService();
+	}
+
+	return instance;
+    }
+
+    @Override
+    public void onMapChange(MapManager manager, Map map) {
+	if (map == this.map) {
+	    return;
+	}
+
+	Gdx.app.debug(TAG, "Initializing pathfinding for map " + map.getMapID());
+	this.map = map;
+	this.pathfinder = new AStarPathfinder(map);
+	this.flowField = new FlowField(map);
+	waypointCache.clear();
+	segmentCache.clear();
+    }
+
+    public Map getMap() {
+	return map;
+    }
+
+    /**
+     * Returns the flow field of the current map or null if there is no map.
+     */
+    public FlowField getFlowField() {
+	return flowField;
+    }
+
+    /**
+     * Searches a path from the start to the goal tile that is refined into tiles segment by segment (see {@link HierarchicalPath}). Long paths use
+     * the PathAbstraction of the map and only cost a search on the abstract graph. Returns false if there is no path.
+     */
+    public boolean findPath(int startTileIndexX, int startTileIndexY, int goalTileIndexX, int goalTileIndexY, HierarchicalPath path) {
+	path.clear();
+	if (map == null || !isOnMap(startTileIndexX, startTileIndexY) || !isOnMap(goalTileIndexX, goalTileIndexY)) {
+	    return false;
+	}
+
+	final int numTilesX = map.getNumTilesX();
+	final int startTileIndex = startTileIndexY * numTilesX + startTileIndexX;
+	final int goalTileIndex = goalTileIndexY * numTilesX + goalTileIndexX;
+	path.startTileIndex = startTileIndex;
+	path.goalTileIndex = goalTileIndex;
+	path.pathfinder = pathfinder;
+	path.abstraction = map.getPathAbstraction();
+	path.segmentCache = segmentCache;
+	if (path.abstraction == null) {
+	    // single segment that is searched on the tiles
+	    path.waypoints.add(startTileIndex);
+	    path.waypoints.add(goalTileIndex);
+	    return true;
+	}
+
+	IntArray waypoints = waypointCache.get(startTileIndex, goalTileIndex);
+	if (waypoints == null) {
+	    waypoints = waypointCache.add(startTileIndex, goalTileIndex);
+	    path.abstraction.findWaypoints(pathfinder, startTileIndex, goalTileIndex, waypoints);
+	}
+	path.waypoints.addAll(waypoints);
+	return path.waypoints.size > 0;
+    }
+
+    private boolean isOnMap(int tileIndexX, int tileIndexY) {
+	return tileIndexX >= 0 && tileIndexY >= 0 && tileIndexX < map.getNumTilesX() && tileIndexY < map.getNumTilesY();
+    }
+}
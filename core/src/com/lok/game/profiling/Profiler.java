@@ -0,0 +1,58 @@
+package com.lok.game.profiling;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+// Collection of named timers for the systems, renderer and UI. Timers only measure while the profiler is enabled.
+// The simulation thread measures the systems while the render thread toggles the profiler and reads the timers for the HUD.
+public class Profiler {
+    private static Profiler			   instance = null;
+
+    private final ObjectMap<String, ProfilerTimer> timers;
+    // timers in the order they were created to get a stable order for the HUD
+    private final Array<ProfilerTimer>		   timerList;
+    private volatile boolean			   enabled;
+
+    private Profiler() {
+	this.timers = new ObjectMap<String, ProfilerTimer>();
+	this.timerList = new Array<ProfilerTimer>();
+	this.enabled = false;
+    }
+
+    public static Profiler getProfiler() {
+	if (instance == null) {
+	    instance = new Profiler();
+	}
+	return instance;
+    }
+
+    public ProfilerTimer getTimer(String name) {
+	ProfilerTimer timer = timers.get(name);
+	if (timer == null) {
+	    timer = new ProfilerTimer(this, name);
+	    timers.put(name, timer);
+	    timerList.add(timer);
+	}
+	return timer;
+    }
+
+    public Array<ProfilerTimer> getTimers() {
+	return timerList;
+    }
+
+    public boolean isEnabled() {
+	return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+	if (this.enabled == enabled) {
+	    return;
+	}
+
+	this.enabled = enabled;
+	// samples from a previous session would distort the percentiles
+	for (ProfilerTimer timer : timerList) {
+	    timer.reset();
+	}
+    }
+}
@@ -0,0 +1,91 @@
+package com.lok.game.profiling;
+
+import java.util.Arrays;
+
+// Measures the time between start and stop and keeps the last samples in a ring buffer to calculate rolling percentiles.
+// When the profiler is disabled start and stop only check a flag. The samples are written and read by different threads and are therefore only
+// accessed while holding the lock of the timer.
+public class ProfilerTimer {
+    private static final int WINDOW_SIZE = 128;
+
+    private final Profiler   profiler;
+    private final String     name;
+    private final long[]     samples;
+    private final long[]     sortedSamples;
+    private int		     nextSampleIndex;
+    private int		     numSamples;
+    private long	     startTime;
+
+    ProfilerTimer(Profiler profiler, String name) {
+	this.profiler = profiler;
+	this.name = name;
+	this.samples = new long[WINDOW_SIZE];
+	this.sortedSamples = new long[WINDOW_SIZE];
+	reset();
+    }
+
+    public String getName() {
+	return name;
+    }
+
+    public void start() {
+	startTime = profiler.isEnabled() ? System.nanoTime() : 0;
+    }
+
+    public void stop() {
+	if (startTime == 0) {
+	    // profiler is disabled or was enabled between start and stop
+	    return;
+	}
+
+	final long sample = System.nanoTime() - startTime;
+	startTime = 0;
+	synchronized (this) {
+	    samples[nextSampleIndex] = sample;
+	    nextSampleIndex = (nextSampleIndex + 1) % WINDOW_SIZE;
+	    if (numSamples < WINDOW_SIZE) {
+		++numSamples;
+	    }
+	}
+    }
+
+    public synchronized int getNumSamples() {
+	return numSamples;
+    }
+
+    /**
+     * Returns the given percentile (0..1) of the samples of the current window in nanoseconds or 0 if there are no samples. Sorts the window and should therefore not be
+     * called after every sample.
+     */
+    public synchronized long getPercentile(float percentile) {
+	if (numSamples == 0) {
+	    return 0;
+	}
+
+	System.arraycopy(samples, 0, sortedSamples, 0, numSamples);
+	Arrays.sort(sortedSamples, 0, numSamples);
+	return sortedSamples[Math.min(numSamples - 1, (int) (percentile * numSamples))];
+    }
+
+    /**
+     * Fills the result array with the percentiles (0..1) given in the same array in nanoseconds. The window is only sorted once.
+     */
+    public synchronized void getPercentiles(float[] percentiles, long[] result) {
+	if (numSamples == 0) {
+	    Arrays.fill(result, 0);
+	    return;
+	}
+
+	System.arraycopy(samples, 0, sortedSamples, 0, numSamples);
+	Arrays.sort(sortedSamples, 0, numSamples);
+	for (int i = 0; i < percentiles.length; ++i) {
+	    result[i] = sortedSamples[Math.min(numSamples - 1, (int) (percentiles[i] * numSamples))];
+	}
+    }
+
+    public synchronized void reset() {
+	nextSampleIndex = 0;
+	numSamples = 0;
+	startTime = 0;
+    }
+}
@@ -7,6 +7,8 @@ import com.badlogic.ashley.core.Family;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.Array;
@@ -25,16 +27,18 @@ import com.lok.game.ecs.components.IDComponent;
 import com.lok.game.ecs.components.SpeedComponent;
 import com.lok.game.ecs.systems.CollisionSystem;
 import com.lok.game.ecs.systems.CollisionSystem.CollisionListener;
-import com.lok.game.map.Map;
-import com.lok.game.map.MapListener;
 import com.lok.game.map.MapManager;
 import com.lok.game.map.Portal;
 import com.lok.game.serialization.PreferencesManager;
 import com.lok.game.ui.Animation;
 import com.lok.game.ui.GameUI;
+import com.lok.game.ui.RenderSnapshotBuffer;
 
-public class GameScreen extends Screen<GameUI> implements EntityListener, CollisionListener, MapListener, AbilityListener {
+// The game runs on a SimulationThread. Listener callbacks of the engine are therefore called on the simulation thread and hand their UI changes
+// over to the render thread.
+public class GameScreen extends Screen<GameUI> implements EntityListener, CollisionListener, AbilityListener {
     private final EntityEngine			      entityEngine;
+    private final RenderSnapshotBuffer		      snapshotBuffer;
 
     private final ComponentMapper<SpeedComponent>     speedComponentMapper;
     private final ComponentMapper<AnimationComponent> animationComponentMapper;
@@ -45,10 +49,15 @@ public class GameScreen extends Screen<GameUI> implements EntityListener, Collis
 	super(game, assetManager, GameUI.class, uiSkin);
 
 	this.entityEngine = EntityEngine.getEngine();
+	this.snapshotBuffer = screenUI.getSnapshotBuffer();
 	this.player = null;
 	this.speedComponentMapper = ComponentMapper.getFor(SpeedComponent.class);
 	this.animationComponentMapper = ComponentMapper.getFor(AnimationComponent.class);
 	this.abilityComponentMapper = ComponentMapper.getFor(AbilityComponent.class);
+
+	// the maps are loaded by the MapManager
+	assetManifest.add("lights/lights.atlas", TextureAtlas.class);
+	assetManifest.add("sounds/effects/teleport.wav", Sound.class);
     }
 
     @Override
@@ -56,26 +65,42 @@ public class GameScreen extends Screen<GameUI> implements EntityListener, Collis
 	entityEngine.addEntityListener(Family.all(IDComponent.class).get(), this);
 	entityEngine.getSystem(CollisionSystem.class).addCollisionListener(this);
 	entityEngine.getAbilitySystem().addAbilityListener(this);
-	MapManager.getManager().addMapListener(this);
 	PreferencesManager.getManager().addPreferencesListener(MapManager.getManager());
 
 	super.show();
     }
 
+    @Override
+    protected boolean useSimulationThread() {
+	return true;
+    }
+
+    @Override
+    protected void onSimulationStart() {
+	// the renderer needs a snapshot of the loaded state before the first tick
+	publishSnapshot(0);
+    }
+
     @Override
     public void onUpdate(float fixedPhysicsStep) {
 	entityEngine.update(fixedPhysicsStep);
+	MapManager.getManager().update();
+	publishSnapshot(fixedPhysicsStep);
+    }
+
+    private void publishSnapshot(float deltaTime) {
+	final MapManager mapManager = MapManager.getManager();
+	snapshotBuffer.publish(mapManager.getCurrentMap(), mapManager.getCurrentMapEntities(), player, deltaTime);
     }
 
     @Override
     public void hide() {
 	super.hide();
-	MapManager.getManager().removeMapEntities();
+	MapManager.getManager().releaseMaps();
 
 	entityEngine.removeEntityListener(this);
 	entityEngine.getSystem(CollisionSystem.class).removeCollisionListener(this);
 	entityEngine.getAbilitySystem().removeAbilityListener(this);
-	MapManager.getManager().removeMapListener(this);
 	PreferencesManager.getManager().removePreferencesListener(MapManager.getManager());
     }
 
@@ -131,17 +156,32 @@ public class GameScreen extends Screen<GameUI> implements EntityListener, Collis
     }
 
     @Override
-    public void onEntityCollision(EntityID entityIDA, Entity entityA, EntityID entityIDB, Entity entityB) {
+    public void onCollisionEnter(EntityID entityIDA, Entity entityA, EntityID entityIDB, Entity entityB) {
 	if (entityIDA == EntityID.PLAYER || entityIDB == EntityID.PLAYER) {
 	    Gdx.app.log("DEBUG", "Combat between " + entityIDA + " and " + entityIDB);
 	}
     }
 
     @Override
-    public void onPortalCollision(EntityID entityID, Entity entity, Portal portal) {
-	if (entityID == EntityID.PLAYER) {
-	    portal.activate(entity);
-	}
+    public void onCollisionStay(EntityID entityIDA, Entity entityA, EntityID entityIDB, Entity entityB) {
+    }
+
+    @Override
+    public void onCollisionExit(EntityID entityIDA, Entity entityA, EntityID entityIDB, Entity entityB) {
+    }
+
+    @Override
+    public void onPortalEnter(EntityID entityID, Entity entity, Portal portal) {
+	// only entities that are an activator of the portal are reported
+	portal.activate(entity);
+    }
+
+    @Override
+    public void onPortalStay(EntityID entityID, Entity entity, Portal portal) {
+    }
+
+    @Override
+    public void onPortalExit(EntityID entityID, Entity entity, Portal portal) {
     }
 
     @Override
@@ -149,7 +189,6 @@ public class GameScreen extends Screen<GameUI> implements EntityListener, Collis
 	if (entity.getComponent(IDComponent.class).entityID == EntityID.PLAYER) {
 	    if (entity.getComponent(IDComponent.class).entityID == EntityID.PLAYER) {
 		this.player = entity;
-		screenUI.lockCameraToEntity(entity);
 	    }
 	}
     }
@@ -159,36 +198,53 @@ public class GameScreen extends Screen<GameUI> implements EntityListener, Collis
 	if (entity.getComponent(IDComponent.class).entityID == EntityID.PLAYER) {
 	    if (entity.getComponent(IDComponent.class).entityID == EntityID.PLAYER) {
 		this.player = null;
-		screenUI.lockCameraToEntity(null);
 	    }
 	}
     }
 
-    @Override
-    public void onMapChange(MapManager manager, Map map) {
-	screenUI.setMap(map);
-    }
-
     @Override
     public void onStartCast(Entity caster, Ability ability) {
-	screenUI.showAbilityChannelBar(Utils.getLabel("Ability." + ability.getAbilityID().name() + ".name"), ability.getEffectDelayTime());
+	final String abilityName = Utils.getLabel("Ability." + ability.getAbilityID().name() + ".name");
+	final float effectDelayTime = ability.getEffectDelayTime();
+	Gdx.app.postRunnable(new Runnable() {
+	    @Override
+	    public void run() {
+		screenUI.showAbilityChannelBar(abilityName, effectDelayTime);
+	    }
+	});
     }
 
     @Override
     public void onUpdateAbility(Entity caster, Ability ability) {
-	screenUI.setAbilityChannelBarValue(ability.getChannelTime());
+	final float channelTime = ability.getChannelTime();
+	Gdx.app.postRunnable(new Runnable() {
+	    @Override
+	    public void run() {
+		screenUI.setAbilityChannelBarValue(channelTime);
+	    }
+	});
     }
 
     @Override
     public void onEffectAbility(Entity caster, Ability ability) {
 	if (ability instanceof TownPortal) {
-	    game.setScreen(TownScreen.class);
+	    Gdx.app.postRunnable(new Runnable() {
+		@Override
+		public void run() {
+		    game.setScreen(TownScreen.class);
+		}
+	    });
 	}
     }
 
     @Override
     public void onSopCast(Entity caster, Ability ability) {
-	screenUI.hideAbilityChannelBar();
+	Gdx.app.postRunnable(new Runnable() {
+	    @Override
+	    public void run() {
+		screenUI.hideAbilityChannelBar();
+	    }
+	});
     }
 
     @Override
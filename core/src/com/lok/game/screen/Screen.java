@@ -6,23 +6,34 @@ import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
 import com.badlogic.gdx.utils.reflect.ReflectionException;
 import com.lok.game.LegendOfKaminalyuyu;
+import com.lok.game.assets.AssetManifest;
+import com.lok.game.profiling.Profiler;
+import com.lok.game.profiling.ProfilerTimer;
 import com.lok.game.serialization.PreferencesManager;
 import com.lok.game.serialization.PreferencesManager.PreferencesListener;
 import com.lok.game.ui.ScreenUI;
 import com.lok.game.ui.UIEventListener;
 
 public abstract class Screen<T extends ScreenUI> implements com.badlogic.gdx.Screen, UIEventListener, PreferencesListener {
-    private float			accumulator;
+    private final SimulationClock	clock;
     private final float			fixedPhysicsStep;
     protected final LegendOfKaminalyuyu	game;
     protected final AssetManager	assetManager;
     protected final T			screenUI;
+    // assets of the screen. They are loaded before the screen is shown and released after the next screen is shown
+    protected final AssetManifest	assetManifest;
+    private final ProfilerTimer		frameTimer;
+    // null if onUpdate runs on the render thread
+    private SimulationThread		simulationThread;
 
     public Screen(LegendOfKaminalyuyu game, AssetManager assetManager, Class<T> screenUIType, Skin uiSkin) {
 	this.game = game;
 	this.assetManager = assetManager;
 	this.fixedPhysicsStep = 1.0f / 30.0f; // physics run at constant 30 fps
-	this.accumulator = 0.0f;
+	this.clock = new SimulationClock(fixedPhysicsStep);
+	this.frameTimer = Profiler.getProfiler().getTimer("Frame");
+	this.simulationThread = null;
+	this.assetManifest = new AssetManifest(getClass().getSimpleName());
 	try {
 	    this.screenUI = screenUIType.cast(ClassReflection.getConstructor(screenUIType, AssetManager.class, Skin.class).newInstance(assetManager, uiSkin));
 	} catch (ReflectionException e) {
@@ -32,27 +43,55 @@ public abstract class Screen<T extends ScreenUI> implements com.badlogic.gdx.Scr
 
     @Override
     public void show() {
-	screenUI.addUIEventListener(this);
+	if (useSimulationThread()) {
+	    simulationThread = new SimulationThread(this, fixedPhysicsStep);
+	    // UI events are processed by the simulation thread
+	    screenUI.addUIEventListener(simulationThread);
+	} else {
+	    screenUI.addUIEventListener(this);
+	}
 	screenUI.show();
 
 	PreferencesManager.getManager().addPreferencesListener(this);
 	PreferencesManager.getManager().loadGameState();
+
+	if (simulationThread != null) {
+	    onSimulationStart();
+	    simulationThread.start();
+	}
+    }
+
+    public AssetManifest getAssetManifest() {
+	return assetManifest;
+    }
+
+    /**
+     * Returns true if {@link #onUpdate(float)} and {@link #onUIEvent} should run on a separate simulation thread. Such screens must not touch the UI within
+     * these methods.
+     */
+    protected boolean useSimulationThread() {
+	return false;
+    }
+
+    /**
+     * Called on the render thread after the game state is loaded and before the simulation thread starts.
+     */
+    protected void onSimulationStart() {
     }
 
     @Override
     public void render(float delta) {
-	if (delta > 0.25f) {
-	    delta = 0.25f;
-	}
-
-	accumulator += delta;
-	while (accumulator >= fixedPhysicsStep) {
-	    onUpdate(fixedPhysicsStep);
+	frameTimer.start();
+	clock.advance(delta);
+	while (clock.nextTick()) {
+	    if (simulationThread == null) {
+		onUpdate(fixedPhysicsStep);
+	    }
 	    screenUI.update(fixedPhysicsStep);
-	    accumulator -= fixedPhysicsStep;
 	}
 
-	screenUI.render(accumulator / fixedPhysicsStep);
+	screenUI.render(clock.getAlpha());
+	frameTimer.stop();
     }
 
     public abstract void onUpdate(float fixedPhysicsStep);
@@ -74,10 +113,20 @@ public abstract class Screen<T extends ScreenUI> implements com.badlogic.gdx.Scr
 
     @Override
     public void hide() {
+	if (simulationThread != null) {
+	    // the game state must not change while it is saved
+	    simulationThread.stop();
+	}
+
 	PreferencesManager.getManager().saveGameState();
 	PreferencesManager.getManager().removePreferencesListener(this);
 	screenUI.hide();
-	screenUI.removeUIEventListener(this);
+	if (simulationThread != null) {
+	    screenUI.removeUIEventListener(simulationThread);
+	    simulationThread = null;
+	} else {
+	    screenUI.removeUIEventListener(this);
+	}
     }
 
     @Override
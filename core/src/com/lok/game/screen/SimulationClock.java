@@ -0,0 +1,48 @@
+package com.lok.game.screen;
+
+// Converts real time into fixed steps.
+// Spiral-of-death guard: if the ticks take longer than the time they simulate, the backlog of ticks is capped. Older time is dropped continuously so
+// the game slows down smoothly instead of catching up with ever longer bursts or skipping a big chunk of time at once.
+public class SimulationClock {
+    // ticks that may be caught up in a row
+    private static final int MAX_BACKLOG_TICKS = 4;
+
+    private final float	     fixedStep;
+    private float	     accumulator;
+
+    public SimulationClock(float fixedStep) {
+	this.fixedStep = fixedStep;
+	this.accumulator = 0;
+    }
+
+    public void advance(float deltaTime) {
+	accumulator = Math.min(accumulator + deltaTime, fixedStep * MAX_BACKLOG_TICKS);
+    }
+
+    /**
+     * Returns true and consumes the time of one tick if a tick is due.
+     */
+    public boolean nextTick() {
+	if (accumulator < fixedStep) {
+	    return false;
+	}
+
+	accumulator -= fixedStep;
+	return true;
+    }
+
+    /**
+     * Returns the progress towards the next tick between 0 and 1.
+     */
+    public float getAlpha() {
+	return accumulator / fixedStep;
+    }
+
+    public float getTimeUntilNextTick() {
+	return Math.max(0, fixedStep - accumulator);
+    }
+
+    public void reset() {
+	accumulator = 0;
+    }
+}
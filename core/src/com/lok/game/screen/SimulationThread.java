@@ -0,0 +1,130 @@
+package com.lok.game.screen;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.lok.game.ui.UIEventListener;
+
+// Runs the fixed step update of a screen on its own thread so that slow ticks do not stall the rendering.
+// UI events of the render thread are queued and processed on the simulation thread at the start of the next tick.
+public class SimulationThread implements Runnable, UIEventListener {
+    private static final String	  TAG = SimulationThread.class.getName();
+
+    private final Screen<?>	  screen;
+    private final float		  fixedPhysicsStep;
+    private final SimulationClock clock;
+    private final Array<Actor>	  queuedActors;
+    private final Array<UIEvent>  queuedEvents;
+    private final Array<Actor>	  tickActors;
+    private final Array<UIEvent>  tickEvents;
+    private Thread		  thread;
+    private volatile boolean	  running;
+
+    public SimulationThread(Screen<?> screen, float fixedPhysicsStep) {
+	this.screen = screen;
+	this.fixedPhysicsStep = fixedPhysicsStep;
+	this.clock = new SimulationClock(fixedPhysicsStep);
+	this.queuedActors = new Array<Actor>();
+	this.queuedEvents = new Array<UIEvent>();
+	this.tickActors = new Array<Actor>();
+	this.tickEvents = new Array<UIEvent>();
+	this.thread = null;
+	this.running = false;
+    }
+
+    public void start() {
+	if (thread != null) {
+	    throw new GdxRuntimeException("Simulation thread is already running");
+	}
+
+	Gdx.app.debug(TAG, "Starting simulation thread");
+	running = true;
+	thread = new Thread(this, "Simulation");
+	thread.setDaemon(true);
+	thread.start();
+    }
+
+    /**
+     * Stops the simulation thread and waits until the current tick is finished. Pending UI events are discarded.
+     */
+    public void stop() {
+	if (thread == null) {
+	    return;
+	}
+
+	Gdx.app.debug(TAG, "Stopping simulation thread");
+	running = false;
+	thread.interrupt();
+	try {
+	    thread.join();
+	} catch (InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	}
+	thread = null;
+
+	synchronized (queuedEvents) {
+	    queuedActors.clear();
+	    queuedEvents.clear();
+	}
+    }
+
+    @Override
+    public void onUIEvent(Actor triggerActor, UIEvent event) {
+	synchronized (queuedEvents) {
+	    queuedActors.add(triggerActor);
+	    queuedEvents.add(event);
+	}
+    }
+
+    @Override
+    public void run() {
+	clock.reset();
+	long lastTime = TimeUtils.nanoTime();
+
+	try {
+	    while (running) {
+		final long now = TimeUtils.nanoTime();
+		clock.advance((now - lastTime) / 1000000000f);
+		lastTime = now;
+		if (!clock.nextTick()) {
+		    final long sleepNanos = (long) (clock.getTimeUntilNextTick() * 1000000000L);
+		    try {
+			Thread.sleep(sleepNanos / 1000000L, (int) (sleepNanos % 1000000L));
+		    } catch (InterruptedException e) {
+			// stop() interrupts the sleep
+		    }
+		    continue;
+		}
+
+		processUIEvents();
+		screen.onUpdate(fixedPhysicsStep);
+	    }
+	} catch (final Throwable t) {
+	    running = false;
+	    // let the application fail on the render thread like it did before the split
+	    Gdx.app.postRunnable(new Runnable() {
+		@Override
+		public void run() {
+		    throw new GdxRuntimeException("Simulation thread failed", t);
+		}
+	    });
+	}
+    }
+
+    private void processUIEvents() {
+	synchronized (queuedEvents) {
+	    tickActors.addAll(queuedActors);
+	    tickEvents.addAll(queuedEvents);
+	    queuedActors.clear();
+	    queuedEvents.clear();
+	}
+
+	for (int i = 0; i < tickEvents.size; ++i) {
+	    screen.onUIEvent(tickActors.get(i), tickEvents.get(i));
+	}
+	tickActors.clear();
+	tickEvents.clear();
+    }
+}
@@ -4,6 +4,8 @@ import com.badlogic.ashley.core.ComponentMapper;
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.Array;
@@ -40,6 +42,12 @@ public class TownScreen extends Screen<TownUI> implements ConversationListener {
 	super(game, assetManager, TownUI.class, uiSkin);
 	this.convCompMapper = ComponentMapper.getFor(ConversationComponent.class);
 	this.entityMap = new IntMap<Entity>();
+
+	assetManifest.add("sounds/music/town.ogg", Music.class);
+	assetManifest.add("sounds/effects/menu_selection.wav", Sound.class);
+	for (ConversationID convID : ConversationID.values()) {
+	    assetManifest.add(convID.name(), Conversation.class);
+	}
     }
 
     @Override
@@ -5,6 +5,7 @@ import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.lok.game.Utils;
 
+// Sounds are played by the simulation thread while the music can also be changed by the render thread -> all access is synchronized
 public class SoundManager {
     private static SoundManager	instance = null;
 
@@ -23,7 +24,7 @@ public class SoundManager {
 	return instance;
     }
 
-    public void playMusic(String musicFilePath, boolean loop) {
+    public synchronized void playMusic(String musicFilePath, boolean loop) {
 	if (music != null) {
 	    music.stop();
 	}
@@ -32,20 +33,20 @@ public class SoundManager {
 	music.play();
     }
 
-    public void stopMusic() {
+    public synchronized void stopMusic() {
 	if (music != null) {
 	    music.stop();
 	}
     }
 
-    public long playSound(String soundFilePath, boolean loop) {
+    public synchronized long playSound(String soundFilePath, boolean loop) {
 	final Sound sound = assetManager.get(soundFilePath, Sound.class);
 	final long soundID = sound.play();
 	sound.setLooping(soundID, loop);
 	return soundID;
     }
 
-    public void stopSound(String soundFilePath, long soundID) {
+    public synchronized void stopSound(String soundFilePath, long soundID) {
 	assetManager.get(soundFilePath, Sound.class).stop(soundID);
     }
 }
@@ -0,0 +1,91 @@
+package com.lok.game.ui;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.Pool.Poolable;
+
+// Everything the GameRenderer needs to draw an entity. The simulation thread captures it into a RenderSnapshot after every tick
+// and the GameRenderer copies it with the interpolated position into its own states. Nothing of it refers to the components of the entity.
+public class EntityRenderState implements Poolable {
+    // unique per created entity (see IDComponent.instanceID)
+    public int			      instanceID;
+    // position of the previous tick. The renderer interpolates from there to x/y
+    public float		      previousX, previousY;
+    public float		      x, y, width, height;
+    // null if the entity has no animation
+    public TextureRegion	      keyFrame;
+    public final Color		      color;
+    public float		      originX, originY;
+    // key frames of the origin effects and their width/height pairs
+    public final Array<TextureRegion> effectKeyFrames;
+    public final FloatArray	      effectSizes;
+    // relative to x/y. Only used for the debug rendering
+    public boolean		      hasCollision;
+    public final Rectangle	      collisionRectangle;
+    public float		      lightRadius;
+    public final Color		      lightColor;
+    public float		      lightOffsetX, lightOffsetY;
+
+    // bits of the RenderQueue. Only used by the render thread
+    int				      flags;
+    // frame of the GameRenderer in which the state was last updated
+    int				      frame;
+
+    public EntityRenderState() {
+	this.color = new Color(1, 1, 1, 1);
+	this.effectKeyFrames = new Array<TextureRegion>(false, 2, TextureRegion.class);
+	this.effectSizes = new FloatArray(false, 4);
+	this.collisionRectangle = new Rectangle();
+	this.lightColor = new Color(1, 1, 1, 1);
+	reset();
+    }
+
+    @Override
+    public void reset() {
+	instanceID = 0;
+	previousX = previousY = 0;
+	x = y = width = height = 0;
+	keyFrame = null;
+	color.set(1, 1, 1, 1);
+	originX = originY = 0;
+	effectKeyFrames.clear();
+	effectSizes.clear();
+	hasCollision = false;
+	collisionRectangle.set(0, 0, 0, 0);
+	lightRadius = 0;
+	lightColor.set(1, 1, 1, 1);
+	lightOffsetX = lightOffsetY = 0;
+	flags = 0;
+	frame = 0;
+    }
+
+    /**
+     * Copies the given state and interpolates its position between the previous and the current tick.
+     */
+    public void set(EntityRenderState state, float alpha) {
+	instanceID = state.instanceID;
+	previousX = state.previousX;
+	previousY = state.previousY;
+	x = state.previousX + (state.x - state.previousX) * alpha;
+	y = state.previousY + (state.y - state.previousY) * alpha;
+	width = state.width;
+	height = state.height;
+	keyFrame = state.keyFrame;
+	color.set(state.color);
+	originX = state.originX;
+	originY = state.originY;
+	effectKeyFrames.clear();
+	effectKeyFrames.addAll(state.effectKeyFrames);
+	effectSizes.clear();
+	effectSizes.addAll(state.effectSizes);
+	hasCollision = state.hasCollision;
+	collisionRectangle.set(state.collisionRectangle);
+	lightRadius = state.lightRadius;
+	lightColor.set(state.lightColor);
+	lightOffsetX = state.lightOffsetX;
+	lightOffsetY = state.lightOffsetY;
+    }
+}
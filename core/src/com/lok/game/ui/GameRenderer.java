@@ -1,18 +1,17 @@
 package com.lok.game.ui;
 
 import java.util.Comparator;
+import java.util.Iterator;
 
-import com.badlogic.ashley.core.ComponentMapper;
-import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.FrameBuffer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
@@ -21,34 +20,35 @@ import com.badlogic.gdx.maps.tiled.TiledMapImageLayer;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.scenes.scene2d.utils.ScissorStack;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.lok.game.Utils;
-import com.lok.game.ecs.components.AnimationComponent;
-import com.lok.game.ecs.components.CollisionComponent;
-import com.lok.game.ecs.components.MapRevelationComponent;
-import com.lok.game.ecs.components.SizeComponent;
 import com.lok.game.map.Map;
 import com.lok.game.map.MapManager;
 import com.lok.game.map.Portal;
 
 public class GameRenderer extends OrthogonalTiledMapRenderer {
-    private final static String TAG = GameRenderer.class.getName();
-
-    private static class yPositionComparator implements Comparator<Entity> {
-	private final ComponentMapper<SizeComponent> sizeComponentMapper;
-
-	private yPositionComparator(ComponentMapper<SizeComponent> sizeComponentMapper) {
-	    this.sizeComponentMapper = sizeComponentMapper;
-	}
-
+    private final static String	TAG			   = GameRenderer.class.getName();
+    // resolution of the light frame buffer relative to the screen resolution (f.e. 0.5 or 0.25). The light map is a soft gradient and gets upsampled with linear filtering.
+    // The scale is a graphics preference
+    private final static String	GRAPHICS_PREFERENCES	   = "lok-graphics";
+    private final static String	LIGHT_BUFFER_SCALE_KEY	   = "lightBufferScale";
+    private final static float	DEFAULT_LIGHT_BUFFER_SCALE = 0.5f;
+
+    // total order: top to bottom, then left to right and creation order for entities at the same position
+    public static class yPositionComparator implements Comparator<EntityRenderState> {
 	@Override
-	public int compare(Entity o1, Entity o2) {
+	public int compare(EntityRenderState o1, EntityRenderState o2) {
 	    if (o1 == o2) {
 		return 0;
 	    } else if (o1 == null) {
@@ -57,36 +57,54 @@ public class GameRenderer extends OrthogonalTiledMapRenderer {
 		return 1;
 	    }
 
-	    return sizeComponentMapper.get(o1).boundingRectangle.y > sizeComponentMapper.get(o2).boundingRectangle.y ? -1 : 1;
+	    if (o1.y != o2.y) {
+		return o1.y > o2.y ? -1 : 1;
+	    } else if (o1.x != o2.x) {
+		return o1.x < o2.x ? -1 : 1;
+	    }
+
+	    return Integer.compare(o1.instanceID, o2.instanceID);
 	}
 
     }
 
-    private SizeComponent			      cameraLockEntitySizeComponent;
-    private MapRevelationComponent		      cameraLockEntityRevelationComponent;
-
-    private Map					      map;
-    private TiledMapTileLayer			      groundLayer;
-    private final Array<TiledMapTileLayer>	      backgroundLayers;
-    private final Array<TiledMapTileLayer>	      foregroundLayers;
-    private TiledMapImageLayer			      lightMapLayer;
-
-    private Array<Entity>			      mapEntities;
-    private final yPositionComparator		      entityComparator;
-
-    private final ComponentMapper<SizeComponent>      sizeComponentMapper;
-    private final ComponentMapper<AnimationComponent> animationComponentMapper;
-
-    private final Camera			      camera;
-    private final Viewport			      viewport;
-    private final Rectangle			      visibleArea;
-    private final Rectangle			      scissors;
-
-    private final ShapeRenderer			      shapeRenderer;
-
-    private FrameBuffer				      frameBuffer;
-    private final AtlasRegion			      lightTexture;
-    private final AtlasRegion			      shadowTexture;
+    // render state of the simulation thread
+    private final RenderSnapshotBuffer	    snapshotBuffer;
+    // interpolated states of the current frame by their instance id
+    private final IntMap<EntityRenderState> renderStates;
+    private final Pool<EntityRenderState>   renderStatePool;
+    private final Array<EntityRenderState>  entityStates;
+    private final Array<EntityRenderState>  lightStates;
+    private int				    frame;
+
+    // entity that the camera is locked to
+    private final EntityRenderState	    cameraState;
+    private boolean			    hasCamera;
+    private boolean			    hasRevelation;
+    private float			    revelationRadius;
+    private final Circle		    revelationCircle;
+    private final Rectangle		    entityBounds;
+
+    private Map				    map;
+    private TileLayerCache		    groundLayer;
+    private final Array<TileLayerCache>	    backgroundLayers;
+    private final Array<TileLayerCache>	    foregroundLayers;
+    private TiledMapImageLayer		    lightMapLayer;
+
+    private final RenderQueue		    renderQueue;
+
+    private final Camera		    camera;
+    private final Viewport		    viewport;
+    private final Rectangle		    visibleArea;
+    private final Rectangle		    scissors;
+
+    private final ShapeRenderer		    shapeRenderer;
+
+    private FrameBuffer			    frameBuffer;
+    private float			    lightBufferScale;
+    // regions of the lights atlas. Only valid while the GameScreen is shown
+    private AtlasRegion			    lightTexture;
+    private AtlasRegion			    shadowTexture;
 
     public GameRenderer() {
 	super(null, MapManager.WORLD_UNITS_PER_PIXEL);
@@ -104,37 +122,91 @@ public class GameRenderer extends OrthogonalTiledMapRenderer {
 	visibleArea = new Rectangle();
 	scissors = new Rectangle();
 
-	this.backgroundLayers = new Array<TiledMapTileLayer>();
-	this.foregroundLayers = new Array<TiledMapTileLayer>();
+	this.backgroundLayers = new Array<TileLayerCache>();
+	this.foregroundLayers = new Array<TileLayerCache>();
 
-	this.sizeComponentMapper = ComponentMapper.getFor(SizeComponent.class);
-	this.animationComponentMapper = ComponentMapper.getFor(AnimationComponent.class);
+	this.snapshotBuffer = new RenderSnapshotBuffer();
+	this.renderStates = new IntMap<EntityRenderState>();
+	this.renderStatePool = new Pool<EntityRenderState>() {
+	    @Override
+	    protected EntityRenderState newObject() {
+		return new EntityRenderState();
+	    }
+	};
+	this.entityStates = new Array<EntityRenderState>(false, 64, EntityRenderState.class);
+	this.lightStates = new Array<EntityRenderState>(false, 16, EntityRenderState.class);
+	this.frame = 0;
+	this.cameraState = new EntityRenderState();
+	this.hasCamera = false;
+	this.hasRevelation = false;
+	this.revelationRadius = 0;
+	this.revelationCircle = new Circle();
+	this.entityBounds = new Rectangle();
+
+	this.renderQueue = new RenderQueue(new yPositionComparator());
+
+	lightTexture = null;
+	shadowTexture = null;
+	frameBuffer = null;
+	setLightBufferScale(Gdx.app.getPreferences(GRAPHICS_PREFERENCES).getFloat(LIGHT_BUFFER_SCALE_KEY, DEFAULT_LIGHT_BUFFER_SCALE));
+    }
+
+    public float getLightBufferScale() {
+	return lightBufferScale;
+    }
+
+    /**
+     * Sets the resolution of the light frame buffer relative to the screen resolution (0..1] and recreates the buffer if it already exists.
+     */
+    public void setLightBufferScale(float lightBufferScale) {
+	if (lightBufferScale <= 0 || lightBufferScale > 1) {
+	    throw new GdxRuntimeException("Invalid light buffer scale " + lightBufferScale);
+	}
 
-	this.mapEntities = null;
-	this.entityComparator = new yPositionComparator(sizeComponentMapper);
+	this.lightBufferScale = lightBufferScale;
+	if (frameBuffer != null) {
+	    createLightFrameBuffer();
+	}
+    }
 
+    /**
+     * Looks up the regions of the lights atlas. The atlas belongs to the manifest of the GameScreen and is only loaded while the screen is shown.
+     */
+    public void show() {
 	final TextureAtlas textureAtlas = Utils.getAssetManager().get("lights/lights.atlas", TextureAtlas.class);
 	lightTexture = textureAtlas.findRegion("light");
 	shadowTexture = textureAtlas.findRegion("shadow");
-	frameBuffer = null;
     }
 
-    public void setMap(Map map) {
+    /**
+     * Forgets the regions of the lights atlas because the atlas is unloaded once the next screen is shown.
+     */
+    public void hide() {
+	lightTexture = null;
+	shadowTexture = null;
+    }
+
+    public RenderSnapshotBuffer getSnapshotBuffer() {
+	return snapshotBuffer;
+    }
+
+    private void setMap(Map map) {
 	this.map = map;
 	super.setMap(map.getTiledMap());
-	mapEntities = MapManager.getManager().getCurrentMapEntities();
+	renderQueue.clear();
 
-	this.backgroundLayers.clear();
-	this.foregroundLayers.clear();
+	disposeTileLayerCaches();
 	this.lightMapLayer = null;
 	for (MapLayer mapLayer : map.getTiledMap().getLayers()) {
 	    if (mapLayer instanceof TiledMapTileLayer) {
+		// tile layers never change -> bake them once per map
+		final TileLayerCache tileLayerCache = new TileLayerCache((TiledMapTileLayer) mapLayer, unitScale);
 		if ("ground".equals(mapLayer.getName())) {
-		    groundLayer = (TiledMapTileLayer) mapLayer;
+		    groundLayer = tileLayerCache;
 		} else if (mapLayer.getName().startsWith("background")) {
-		    backgroundLayers.add((TiledMapTileLayer) mapLayer);
+		    backgroundLayers.add(tileLayerCache);
 		} else {
-		    foregroundLayers.add((TiledMapTileLayer) mapLayer);
+		    foregroundLayers.add(tileLayerCache);
 		}
 	    } else if (mapLayer instanceof TiledMapImageLayer) {
 		lightMapLayer = (TiledMapImageLayer) mapLayer;
@@ -147,50 +219,94 @@ public class GameRenderer extends OrthogonalTiledMapRenderer {
 	viewport.update(width, height, false);
 	visibleArea.set(0, 0, viewport.getWorldWidth(), viewport.getWorldHeight());
 	Gdx.app.debug(TAG, "To viewport " + viewport.getScreenWidth() + "x" + viewport.getScreenHeight());
+	createLightFrameBuffer();
+    }
 
+    private void createLightFrameBuffer() {
 	if (frameBuffer != null) {
 	    frameBuffer.dispose();
 	}
 
+	final int lightBufferWidth = Math.max(1, Math.round(viewport.getScreenWidth() * lightBufferScale));
+	final int lightBufferHeight = Math.max(1, Math.round(viewport.getScreenHeight() * lightBufferScale));
+	Gdx.app.debug(TAG, "Creating light frame buffer with " + lightBufferWidth + "x" + lightBufferHeight);
 	try {
-	    frameBuffer = FrameBuffer.createFrameBuffer(Pixmap.Format.RGBA8888, viewport.getScreenWidth(), viewport.getScreenHeight(), false);
+	    frameBuffer = FrameBuffer.createFrameBuffer(Pixmap.Format.RGBA8888, lightBufferWidth, lightBufferHeight, false);
 	} catch (GdxRuntimeException e) {
-	    frameBuffer = FrameBuffer.createFrameBuffer(Pixmap.Format.RGB565, viewport.getScreenWidth(), viewport.getScreenHeight(), false);
+	    frameBuffer = FrameBuffer.createFrameBuffer(Pixmap.Format.RGB565, lightBufferWidth, lightBufferHeight, false);
 	}
+	frameBuffer.getColorBufferTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
     }
 
-    public void lockCameraToEntity(Entity entity) {
-	if (entity == null) {
-	    cameraLockEntitySizeComponent = null;
-	    cameraLockEntityRevelationComponent = null;
-	} else {
-	    cameraLockEntityRevelationComponent = entity.getComponent(MapRevelationComponent.class);
-	    cameraLockEntitySizeComponent = entity.getComponent(SizeComponent.class);
+    // copies the latest snapshot of the simulation thread into the render states of this frame. Positions are interpolated between
+    // the previous and the current tick of the snapshot
+    private Map interpolateEntities() {
+	++frame;
+	final Map snapshotMap;
+	synchronized (snapshotBuffer) {
+	    final RenderSnapshot snapshot = snapshotBuffer.getFront();
+	    snapshotMap = snapshot.map;
+	    // the snapshot is shown one tick late -> it takes one tick from its publication until the current position is reached
+	    final float alpha = snapshot.deltaTime <= 0 ? 1 : MathUtils.clamp((TimeUtils.nanoTime() - snapshot.publishTime) / (snapshot.deltaTime * 1000000000f), 0, 1);
+
+	    entityStates.clear();
+	    for (EntityRenderState state : snapshot.entities) {
+		EntityRenderState renderState = renderStates.get(state.instanceID);
+		if (renderState == null) {
+		    renderState = renderStatePool.obtain();
+		    renderStates.put(state.instanceID, renderState);
+		}
+		renderState.set(state, alpha);
+		renderState.frame = frame;
+		entityStates.add(renderState);
+	    }
 
-	    if (cameraLockEntitySizeComponent == null) {
-		throw new GdxRuntimeException("Trying to lock camera to an entity without size component: " + entity);
+	    renderStatePool.freeAll(lightStates);
+	    lightStates.clear();
+	    for (EntityRenderState state : snapshot.lights) {
+		final EntityRenderState renderState = renderStatePool.obtain();
+		renderState.set(state, alpha);
+		lightStates.add(renderState);
 	    }
-	}
-    }
 
-    private void interpolateEntities(float alpha) {
-	for (Entity entity : mapEntities) {
-	    final SizeComponent sizeComp = sizeComponentMapper.get(entity);
+	    hasCamera = snapshot.hasCamera;
+	    hasRevelation = snapshot.hasRevelation;
+	    revelationRadius = snapshot.revelationRadius;
+	    revelationCircle.radius = snapshot.revelationCircleRadius;
+	    if (hasCamera) {
+		cameraState.set(snapshot.camera, alpha);
+	    }
+	}
 
-	    final float invAlpha = 1.0f - alpha;
-	    sizeComp.interpolatedPosition.x = sizeComp.interpolatedPosition.x * invAlpha + sizeComp.boundingRectangle.x * alpha;
-	    sizeComp.interpolatedPosition.y = sizeComp.interpolatedPosition.y * invAlpha + sizeComp.boundingRectangle.y * alpha;
+	// entities that are no longer part of the map. The RenderQueue drops freed states because their flags are reset
+	final Iterator<EntityRenderState> stateIterator = renderStates.values();
+	while (stateIterator.hasNext()) {
+	    final EntityRenderState renderState = stateIterator.next();
+	    if (renderState.frame != frame) {
+		stateIterator.remove();
+		renderStatePool.free(renderState);
+	    }
 	}
+
+	return snapshotMap;
     }
 
-    public void render(float alpha) {
-	AnimatedTiledMapTile.updateAnimationBaseTime();
-	interpolateEntities(alpha);
-	mapEntities.sort(entityComparator);
+    public void render() {
+	final Map snapshotMap = interpolateEntities();
+	if (snapshotMap == null) {
+	    // nothing published yet
+	    return;
+	} else if (snapshotMap != map) {
+	    setMap(snapshotMap);
+	}
 
-	if (cameraLockEntitySizeComponent != null) {
-	    camera.position.set(cameraLockEntitySizeComponent.interpolatedPosition, 0);
-	    visibleArea.setCenter(cameraLockEntitySizeComponent.interpolatedPosition);
+	AnimatedTiledMapTile.updateAnimationBaseTime();
+	if (hasCamera) {
+	    final float centerX = cameraState.x + cameraState.width * 0.5f;
+	    final float centerY = cameraState.y + cameraState.height * 0.5f;
+	    camera.position.set(cameraState.x, cameraState.y, 0);
+	    visibleArea.setCenter(cameraState.x, cameraState.y);
+	    revelationCircle.setPosition(centerX, centerY);
 	}
 
 	prepareLightFrameBuffer();
@@ -200,28 +316,39 @@ public class GameRenderer extends OrthogonalTiledMapRenderer {
 
 	viewport.apply();
 	setView(camera.combined, visibleArea.x, visibleArea.y, visibleArea.width, visibleArea.height);
-	batch.begin();
+	updateRenderQueue();
+	final Array<EntityRenderState> visibleEntities = renderQueue.getEntities();
 	viewport.calculateScissors(batch.getTransformMatrix(), visibleArea, scissors);
 	ScissorStack.pushScissors(scissors);
+	// tile layers are drawn with their own sprite caches -> the batch is only active for the entity passes
 	if (groundLayer != null) {
-	    renderTileLayer(groundLayer);
+	    groundLayer.render(batch, camera.combined, viewBounds);
 	}
-	for (Entity entity : mapEntities) {
-	    renderEntityShadow(entity);
-	}
-	for (TiledMapTileLayer layer : backgroundLayers) {
-	    renderTileLayer(layer);
+	batch.begin();
+	for (EntityRenderState entity : visibleEntities) {
+	    if (RenderQueue.needsDraw(entity, RenderQueue.DRAW_SHADOW)) {
+		renderEntityShadow(entity);
+	    }
 	}
-	for (Entity entity : mapEntities) {
-	    renderEntityEffects(entity);
+	batch.end();
+	for (TileLayerCache layer : backgroundLayers) {
+	    layer.render(batch, camera.combined, viewBounds);
 	}
-	for (Entity entity : mapEntities) {
-	    renderEntity(entity);
+	batch.begin();
+	for (EntityRenderState entity : visibleEntities) {
+	    if (RenderQueue.needsDraw(entity, RenderQueue.DRAW_EFFECTS)) {
+		renderEntityEffects(entity);
+	    }
 	}
-	for (TiledMapTileLayer layer : foregroundLayers) {
-	    renderTileLayer(layer);
+	for (EntityRenderState entity : visibleEntities) {
+	    if (RenderQueue.needsDraw(entity, RenderQueue.DRAW_SPRITE)) {
+		renderEntity(entity);
+	    }
 	}
 	batch.end();
+	for (TileLayerCache layer : foregroundLayers) {
+	    layer.render(batch, camera.combined, viewBounds);
+	}
 
 	applyLightFrameBuffer();
 
@@ -232,70 +359,55 @@ public class GameRenderer extends OrthogonalTiledMapRenderer {
 	ScissorStack.popScissors();
     }
 
-    private void renderEntityShadow(Entity entity) {
-	final AnimationComponent animationComp = animationComponentMapper.get(entity);
-
-	if (animationComp.animation != null) {
-	    final SizeComponent sizeComp = sizeComponentMapper.get(entity);
-	    if (!viewBounds.overlaps(sizeComp.boundingRectangle)) {
-		return;
+    // culls all map entities once per frame. The layer passes only walk the visible entities and check their draw flags
+    private void updateRenderQueue() {
+	renderQueue.begin();
+	for (EntityRenderState entity : entityStates) {
+	    if (entity.keyFrame == null) {
+		continue;
 	    }
 
-	    if (cameraLockEntityRevelationComponent != null && !Intersector.overlaps(cameraLockEntityRevelationComponent.revelationCircle, sizeComp.boundingRectangle)) {
-		return;
+	    entityBounds.set(entity.x, entity.y, entity.width, entity.height);
+	    if (!viewBounds.overlaps(entityBounds)) {
+		continue;
 	    }
 
-	    batch.draw(shadowTexture, sizeComp.interpolatedPosition.x, sizeComp.interpolatedPosition.y - sizeComp.boundingRectangle.height * 0.2f, sizeComp.boundingRectangle.width,
-		    sizeComp.boundingRectangle.height * 0.5f);
-	}
-    }
-
-    private void renderEntityEffects(Entity entity) {
-	final AnimationComponent animationComp = animationComponentMapper.get(entity);
-
-	if (animationComp.animation != null && animationComp.originEffects.size > 0) {
-	    final SizeComponent sizeComp = sizeComponentMapper.get(entity);
-	    if (!viewBounds.overlaps(sizeComp.boundingRectangle)) {
-		return;
-	    }
-
-	    if (cameraLockEntityRevelationComponent != null && !Intersector.overlaps(cameraLockEntityRevelationComponent.revelationCircle, sizeComp.boundingRectangle)) {
-		return;
+	    if (hasRevelation && !Intersector.overlaps(revelationCircle, entityBounds)) {
+		continue;
 	    }
 
-	    final float x = sizeComp.interpolatedPosition.x + animationComp.originPoint.x;
-	    final float y = sizeComp.interpolatedPosition.y + animationComp.originPoint.y;
-	    for (SpecialEffect effect : animationComp.originEffects) {
-		final float width = effect.getWidth();
-		final float height = effect.getHeight();
-		batch.draw(effect.getCurrentKeyFrame(), x - width * 0.5f, y - height * 0.5f, width, height);
+	    int drawFlags = RenderQueue.DRAW_SHADOW | RenderQueue.DRAW_SPRITE;
+	    if (entity.effectKeyFrames.size > 0) {
+		drawFlags |= RenderQueue.DRAW_EFFECTS;
 	    }
+	    renderQueue.add(entity, drawFlags);
 	}
+	renderQueue.end();
     }
 
-    private void renderEntity(Entity entity) {
-	final AnimationComponent animationComp = animationComponentMapper.get(entity);
-
-	if (animationComp.animation != null) {
-	    final SizeComponent sizeComp = sizeComponentMapper.get(entity);
-	    if (!viewBounds.overlaps(sizeComp.boundingRectangle)) {
-		return;
-	    }
-
-	    if (cameraLockEntityRevelationComponent != null && !Intersector.overlaps(cameraLockEntityRevelationComponent.revelationCircle, sizeComp.boundingRectangle)) {
-		return;
-	    }
+    private void renderEntityShadow(EntityRenderState entity) {
+	batch.draw(shadowTexture, entity.x, entity.y - entity.height * 0.2f, entity.width, entity.height * 0.5f);
+    }
 
-	    final Color batchColor = batch.getColor();
-	    batch.setColor(animationComp.color);
-	    final TextureRegion keyFrame = animationComp.animation.getKeyFrame(animationComp.animationTime, true);
-	    batch.draw(keyFrame, sizeComp.interpolatedPosition.x, sizeComp.interpolatedPosition.y, sizeComp.boundingRectangle.width, sizeComp.boundingRectangle.height);
-	    batch.setColor(batchColor);
+    private void renderEntityEffects(EntityRenderState entity) {
+	final float x = entity.x + entity.originX;
+	final float y = entity.y + entity.originY;
+	for (int i = 0; i < entity.effectKeyFrames.size; ++i) {
+	    final float width = entity.effectSizes.get(i * 2);
+	    final float height = entity.effectSizes.get(i * 2 + 1);
+	    batch.draw(entity.effectKeyFrames.get(i), x - width * 0.5f, y - height * 0.5f, width, height);
 	}
     }
 
+    private void renderEntity(EntityRenderState entity) {
+	final Color batchColor = batch.getColor();
+	batch.setColor(entity.color);
+	batch.draw(entity.keyFrame, entity.x, entity.y, entity.width, entity.height);
+	batch.setColor(batchColor);
+    }
+
     private void prepareLightFrameBuffer() {
-	if (cameraLockEntityRevelationComponent != null) {
+	if (hasRevelation) {
 	    frameBuffer.begin();
 
 	    final Color mapBackgroundColor = map.getBackgroundColor();
@@ -310,10 +422,8 @@ public class GameRenderer extends OrthogonalTiledMapRenderer {
 	    }
 
 	    batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
-	    final Rectangle boundingRectangle = cameraLockEntitySizeComponent.boundingRectangle;
-	    batch.draw(lightTexture, cameraLockEntitySizeComponent.interpolatedPosition.x + boundingRectangle.width * 0.5f - cameraLockEntityRevelationComponent.revelationRadius, // x
-		    cameraLockEntitySizeComponent.interpolatedPosition.y + boundingRectangle.height * 0.5f - cameraLockEntityRevelationComponent.revelationRadius, // y
-		    cameraLockEntityRevelationComponent.revelationRadius * 2f, cameraLockEntityRevelationComponent.revelationRadius * 2f);
+	    batch.draw(lightTexture, revelationCircle.x - revelationRadius, revelationCircle.y - revelationRadius, revelationRadius * 2f, revelationRadius * 2f);
+	    renderLights();
 
 	    batch.end();
 
@@ -321,8 +431,27 @@ public class GameRenderer extends OrthogonalTiledMapRenderer {
 	}
     }
 
+    private void renderLights() {
+	// all lights use the same texture -> the batch only flushes when it is full
+	final Color batchColor = batch.getColor();
+	final float viewRight = viewBounds.x + viewBounds.width;
+	final float viewTop = viewBounds.y + viewBounds.height;
+	for (EntityRenderState light : lightStates) {
+	    final float radius = light.lightRadius;
+	    final float x = light.x + light.width * 0.5f + light.lightOffsetX - radius;
+	    final float y = light.y + light.height * 0.5f + light.lightOffsetY - radius;
+	    if (radius <= 0 || x > viewRight || y > viewTop || x + radius * 2f < viewBounds.x || y + radius * 2f < viewBounds.y) {
+		continue;
+	    }
+
+	    batch.setColor(light.lightColor);
+	    batch.draw(lightTexture, x, y, radius * 2f, radius * 2f);
+	}
+	batch.setColor(batchColor);
+    }
+
     private void applyLightFrameBuffer() {
-	if (cameraLockEntityRevelationComponent != null) {
+	if (hasRevelation) {
 	    batch.setProjectionMatrix(batch.getProjectionMatrix().idt());
 	    batch.setBlendFunction(GL20.GL_ZERO, GL20.GL_SRC_COLOR);
 	    batch.begin();
@@ -340,20 +469,15 @@ public class GameRenderer extends OrthogonalTiledMapRenderer {
 	    shapeRenderer.rect(rect.x, rect.y, rect.width, rect.height);
 	}
 
-	for (Entity entity : mapEntities) {
-	    final CollisionComponent collisionComponent = entity.getComponent(CollisionComponent.class);
-	    final SizeComponent sizeComp = sizeComponentMapper.get(entity);
-	    if (collisionComponent != null) {
+	for (EntityRenderState entity : entityStates) {
+	    if (entity.hasCollision) {
 		shapeRenderer.setColor(Color.RED);
-		shapeRenderer.rect(sizeComp.interpolatedPosition.x + collisionComponent.rectOffset.x, sizeComp.interpolatedPosition.y + collisionComponent.rectOffset.y,
-			collisionComponent.collisionRectangle.width, collisionComponent.collisionRectangle.height);
-	    }
-
-	    if (sizeComp != null) {
-		shapeRenderer.setColor(Color.BLUE);
-		shapeRenderer.rect(sizeComp.interpolatedPosition.x, sizeComp.interpolatedPosition.y, sizeComp.boundingRectangle.width, sizeComp.boundingRectangle.height);
+		shapeRenderer.rect(entity.x + entity.collisionRectangle.x, entity.y + entity.collisionRectangle.y, entity.collisionRectangle.width,
+			entity.collisionRectangle.height);
 	    }
 
+	    shapeRenderer.setColor(Color.BLUE);
+	    shapeRenderer.rect(entity.x, entity.y, entity.width, entity.height);
 	}
 
 	shapeRenderer.setColor(Color.BLUE);
@@ -361,20 +485,34 @@ public class GameRenderer extends OrthogonalTiledMapRenderer {
 	    shapeRenderer.rect(portal.getArea().x, portal.getArea().y, portal.getArea().width, portal.getArea().height);
 	}
 
-	if (cameraLockEntityRevelationComponent != null) {
+	if (hasRevelation) {
 	    shapeRenderer.setColor(Color.WHITE);
-	    shapeRenderer.circle(cameraLockEntitySizeComponent.interpolatedPosition.x + cameraLockEntitySizeComponent.boundingRectangle.width * 0.5f,
-		    cameraLockEntitySizeComponent.interpolatedPosition.y + cameraLockEntitySizeComponent.boundingRectangle.height * 0.5f,
-		    cameraLockEntityRevelationComponent.revelationCircle.radius, 64);
+	    shapeRenderer.circle(revelationCircle.x, revelationCircle.y, revelationCircle.radius, 64);
 	}
 
 	shapeRenderer.end();
     }
 
+    private void disposeTileLayerCaches() {
+	if (groundLayer != null) {
+	    groundLayer.dispose();
+	    groundLayer = null;
+	}
+	for (TileLayerCache layer : backgroundLayers) {
+	    layer.dispose();
+	}
+	backgroundLayers.clear();
+	for (TileLayerCache layer : foregroundLayers) {
+	    layer.dispose();
+	}
+	foregroundLayers.clear();
+    }
+
     @Override
     public void dispose() {
 	Gdx.app.debug(TAG, "Disposing Gamerenderer");
 	super.dispose();
+	disposeTileLayerCaches();
 	if (shapeRenderer != null) {
 	    shapeRenderer.dispose();
 	}
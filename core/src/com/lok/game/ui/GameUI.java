@@ -1,22 +1,34 @@
 package com.lok.game.ui;
 
-import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.scenes.scene2d.Event;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.Button;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.StringBuilder;
 import com.lok.game.ability.Ability.AbilityID;
-import com.lok.game.map.Map;
+import com.lok.game.profiling.Profiler;
+import com.lok.game.profiling.ProfilerTimer;
 import com.lok.game.ui.Touchpad.TouchpadDirection;
 import com.lok.game.ui.UIEventListener.UIEvent;
 
 public class GameUI extends ScreenUI {
-    private final GameRenderer renderer;
-    private final Touchpad     touchpad;
-    private final Button       btn_townPortal;
-    private final Bar	       abilityChannelBar;
+    // update interval of the profiler HUD in seconds
+    private static final float	 PROFILER_HUD_INTERVAL = 0.5f;
+    private static final float[] PROFILER_PERCENTILES  = { 0.5f, 0.95f, 0.99f };
+
+    private final GameRenderer	 renderer;
+    private final Touchpad	 touchpad;
+    private final Button	 btn_townPortal;
+    private final Bar		 abilityChannelBar;
+    private final ProfilerTimer	 rendererTimer;
+    private final Label		 profilerLabel;
+    private final StringBuilder	 profilerText;
+    private final long[]	 profilerPercentiles;
+    private float		 profilerHUDTimer;
 
     public GameUI(AssetManager assetManager, Skin skin) {
 	super(assetManager, skin);
@@ -38,13 +50,72 @@ public class GameUI extends ScreenUI {
 	abilityChannelBar.setPosition(500, 20);
 	abilityChannelBar.setVisible(false);
 	stage.addActor(abilityChannelBar);
+
+	rendererTimer = Profiler.getProfiler().getTimer(GameRenderer.class.getSimpleName());
+	profilerLabel = new Label("", skin, "normal");
+	profilerLabel.setAlignment(Align.topLeft);
+	profilerLabel.setPosition(15, 720 - 15, Align.topLeft);
+	profilerLabel.setVisible(Profiler.getProfiler().isEnabled());
+	stage.addActor(profilerLabel);
+	profilerText = new StringBuilder();
+	profilerPercentiles = new long[PROFILER_PERCENTILES.length];
+	profilerHUDTimer = 0;
+    }
+
+    @Override
+    public void update(float fixedPhysicsStep) {
+	super.update(fixedPhysicsStep);
+
+	if (profilerLabel.isVisible()) {
+	    profilerHUDTimer -= fixedPhysicsStep;
+	    if (profilerHUDTimer <= 0) {
+		profilerHUDTimer = PROFILER_HUD_INTERVAL;
+		updateProfilerHUD(fixedPhysicsStep);
+	    }
+	}
+    }
+
+    private void updateProfilerHUD(float fixedPhysicsStep) {
+	profilerText.setLength(0);
+	profilerText.append("budget ").append(toMillis((long) (fixedPhysicsStep * 1000000000L))).append(" ms   p50 / p95 / p99 in ms");
+	for (ProfilerTimer timer : Profiler.getProfiler().getTimers()) {
+	    timer.getPercentiles(PROFILER_PERCENTILES, profilerPercentiles);
+	    profilerText.append('\n').append(timer.getName()).append(": ");
+	    for (int i = 0; i < profilerPercentiles.length; ++i) {
+		if (i > 0) {
+		    profilerText.append(" / ");
+		}
+		profilerText.append(toMillis(profilerPercentiles[i]));
+	    }
+	}
+	profilerLabel.setText(profilerText);
+	profilerLabel.pack();
+	profilerLabel.setPosition(15, 720 - 15, Align.topLeft);
+    }
+
+    private static float toMillis(long nanos) {
+	// two decimals are enough for the HUD
+	return (nanos / 10000) / 100.0f;
+    }
+
+    private void toggleProfiler() {
+	final Profiler profiler = Profiler.getProfiler();
+	profiler.setEnabled(!profiler.isEnabled());
+	profilerLabel.setVisible(profiler.isEnabled());
+	profilerLabel.setText("");
+	profilerHUDTimer = PROFILER_HUD_INTERVAL;
     }
 
     @Override
     public void render(float alpha) {
-	renderer.render(alpha);
+	rendererTimer.start();
+	// the renderer interpolates with the timing of the simulation thread
+	renderer.render();
+	rendererTimer.stop();
 	stage.getViewport().apply();
+	stageDrawTimer.start();
 	stage.draw();
+	stageDrawTimer.stop();
     }
 
     @Override
@@ -53,9 +124,16 @@ public class GameUI extends ScreenUI {
 	super.resize(width, height);
     }
 
+    @Override
+    public void show() {
+	renderer.show();
+	super.show();
+    }
+
     @Override
     public void hide() {
 	btn_townPortal.setChecked(false);
+	renderer.hide();
 	super.hide();
     }
 
@@ -90,6 +168,9 @@ public class GameUI extends ScreenUI {
 		    btn_townPortal.setChecked(true);
 		}
 		return true;
+	    case Keys.F3:
+		toggleProfiler();
+		return true;
 	    default:
 		return false;
 	}
@@ -189,11 +270,7 @@ public class GameUI extends ScreenUI {
 	return false;
     }
 
-    public void lockCameraToEntity(Entity entity) {
-	renderer.lockCameraToEntity(entity);
-    }
-
-    public void setMap(Map map) {
-	renderer.setMap(map);
+    public RenderSnapshotBuffer getSnapshotBuffer() {
+	return renderer.getSnapshotBuffer();
     }
 }
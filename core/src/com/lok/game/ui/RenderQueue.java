@@ -0,0 +1,93 @@
+package com.lok.game.ui;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.utils.Array;
+
+// Sorted list of the entities that are visible in the current frame.
+// The order of the previous frame is kept and only fixed with an insertion sort because entities move just a little bit from one frame to the next.
+// Membership and the draws that an entity needs are tracked with bits of EntityRenderState.flags which are reset when a state gets freed.
+public class RenderQueue {
+    public final static int			DRAW_SHADOW  = 1 << 0;
+    public final static int			DRAW_EFFECTS = 1 << 1;
+    public final static int			DRAW_SPRITE  = 1 << 2;
+    private final static int			DRAW_MASK    = DRAW_SHADOW | DRAW_EFFECTS | DRAW_SPRITE;
+    public final static int			FLAG_VISIBLE = 1 << 30;
+    public final static int			FLAG_QUEUED  = 1 << 29;
+
+    private final Comparator<EntityRenderState>	comparator;
+    private final Array<EntityRenderState>	entities;
+    private final Array<EntityRenderState>	newEntities;
+
+    public RenderQueue(Comparator<EntityRenderState> comparator) {
+	this.comparator = comparator;
+	this.entities = new Array<EntityRenderState>(true, 64, EntityRenderState.class);
+	this.newEntities = new Array<EntityRenderState>(false, 16);
+    }
+
+    public void begin() {
+	newEntities.clear();
+    }
+
+    public void add(EntityRenderState entity, int drawFlags) {
+	entity.flags = (entity.flags & ~DRAW_MASK) | drawFlags | FLAG_VISIBLE;
+	if ((entity.flags & FLAG_QUEUED) == 0) {
+	    newEntities.add(entity);
+	}
+    }
+
+    public void end() {
+	// keep the entities that are still visible in their previous order
+	int size = 0;
+	for (int i = 0; i < entities.size; ++i) {
+	    final EntityRenderState entity = entities.get(i);
+	    if ((entity.flags & FLAG_VISIBLE) != 0) {
+		entity.flags = (entity.flags & ~FLAG_VISIBLE) | FLAG_QUEUED;
+		entities.set(size++, entity);
+	    } else {
+		entity.flags &= ~(FLAG_QUEUED | DRAW_MASK);
+	    }
+	}
+	entities.truncate(size);
+
+	// entities that became visible in this frame. A freed and reused state can still be part of the queue
+	for (EntityRenderState entity : newEntities) {
+	    if ((entity.flags & FLAG_QUEUED) == 0) {
+		entity.flags = (entity.flags & ~FLAG_VISIBLE) | FLAG_QUEUED;
+		entities.add(entity);
+	    }
+	}
+	newEntities.clear();
+
+	insertionSort();
+    }
+
+    private void insertionSort() {
+	final EntityRenderState[] items = entities.items;
+	for (int i = 1; i < entities.size; ++i) {
+	    final EntityRenderState entity = items[i];
+	    int j = i - 1;
+	    while (j >= 0 && comparator.compare(items[j], entity) > 0) {
+		items[j + 1] = items[j];
+		--j;
+	    }
+	    items[j + 1] = entity;
+	}
+    }
+
+    public static boolean needsDraw(EntityRenderState entity, int drawFlag) {
+	return (entity.flags & drawFlag) != 0;
+    }
+
+    public Array<EntityRenderState> getEntities() {
+	return entities;
+    }
+
+    public void clear() {
+	for (EntityRenderState entity : entities) {
+	    entity.flags &= ~(FLAG_VISIBLE | FLAG_QUEUED | DRAW_MASK);
+	}
+	entities.clear();
+	newEntities.clear();
+    }
+}
@@ -0,0 +1,63 @@
+package com.lok.game.ui;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+import com.lok.game.map.Map;
+
+// Render state of the simulation at the end of one tick (see RenderSnapshotBuffer)
+public class RenderSnapshot {
+    private final Pool<EntityRenderState> statePool;
+    // map entities in the order of MapManager.getCurrentMapEntities
+    final Array<EntityRenderState>	  entities;
+    final Array<EntityRenderState>	  lights;
+    // entity that the camera is locked to. Only valid if hasCamera is true
+    final EntityRenderState		  camera;
+    boolean				  hasCamera;
+    boolean				  hasRevelation;
+    float				  revelationRadius;
+    float				  revelationCircleRadius;
+    Map					  map;
+    float				  deltaTime;
+    // TimeUtils.nanoTime of the publication
+    long				  publishTime;
+
+    RenderSnapshot() {
+	this.statePool = new Pool<EntityRenderState>() {
+	    @Override
+	    protected EntityRenderState newObject() {
+		return new EntityRenderState();
+	    }
+	};
+	this.entities = new Array<EntityRenderState>(false, 64, EntityRenderState.class);
+	this.lights = new Array<EntityRenderState>(false, 16, EntityRenderState.class);
+	this.camera = new EntityRenderState();
+	clear();
+    }
+
+    EntityRenderState addEntity() {
+	final EntityRenderState state = statePool.obtain();
+	entities.add(state);
+	return state;
+    }
+
+    EntityRenderState addLight() {
+	final EntityRenderState state = statePool.obtain();
+	lights.add(state);
+	return state;
+    }
+
+    void clear() {
+	statePool.freeAll(entities);
+	entities.clear();
+	statePool.freeAll(lights);
+	lights.clear();
+	camera.reset();
+	hasCamera = false;
+	hasRevelation = false;
+	revelationRadius = 0;
+	revelationCircleRadius = 0;
+	map = null;
+	deltaTime = 0;
+	publishTime = 0;
+    }
+}
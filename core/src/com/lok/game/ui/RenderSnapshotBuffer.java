@@ -0,0 +1,146 @@
+package com.lok.game.ui;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.lok.game.ecs.EntityEngine;
+import com.lok.game.ecs.components.AnimationComponent;
+import com.lok.game.ecs.components.CollisionComponent;
+import com.lok.game.ecs.components.IDComponent;
+import com.lok.game.ecs.components.LightComponent;
+import com.lok.game.ecs.components.MapRevelationComponent;
+import com.lok.game.ecs.components.SizeComponent;
+import com.lok.game.map.Map;
+
+// Double buffer between the simulation and the render thread. The simulation thread captures its render state into the back snapshot
+// after every tick and swaps it with the front snapshot. The GameRenderer only reads the front snapshot while holding the lock of this buffer.
+public class RenderSnapshotBuffer {
+    private RenderSnapshot				  front;
+    private RenderSnapshot				  back;
+
+    private final ComponentMapper<IDComponent>		  idComponentMapper;
+    private final ComponentMapper<SizeComponent>	  sizeComponentMapper;
+    private final ComponentMapper<AnimationComponent>	  animationComponentMapper;
+    private final ComponentMapper<CollisionComponent>	  collisionComponentMapper;
+    private final ComponentMapper<LightComponent>	  lightComponentMapper;
+    private final ComponentMapper<MapRevelationComponent> revelationComponentMapper;
+    private final ImmutableArray<Entity>		  lightEntities;
+
+    public RenderSnapshotBuffer() {
+	this.front = new RenderSnapshot();
+	this.back = new RenderSnapshot();
+
+	this.idComponentMapper = ComponentMapper.getFor(IDComponent.class);
+	this.sizeComponentMapper = ComponentMapper.getFor(SizeComponent.class);
+	this.animationComponentMapper = ComponentMapper.getFor(AnimationComponent.class);
+	this.collisionComponentMapper = ComponentMapper.getFor(CollisionComponent.class);
+	this.lightComponentMapper = ComponentMapper.getFor(LightComponent.class);
+	this.revelationComponentMapper = ComponentMapper.getFor(MapRevelationComponent.class);
+	this.lightEntities = EntityEngine.getEngine().getEntitiesFor(Family.all(LightComponent.class, SizeComponent.class).get());
+    }
+
+    /**
+     * Captures the render state of the given map entities, all lights and the camera entity into the back snapshot and publishes it. Must be called by the
+     * simulation thread at the end of every tick.
+     */
+    public void publish(Map map, Array<Entity> mapEntities, Entity cameraEntity, float deltaTime) {
+	back.clear();
+	back.map = map;
+	back.deltaTime = deltaTime;
+
+	for (Entity entity : mapEntities) {
+	    captureEntity(entity, back.addEntity());
+	}
+	for (int i = 0; i < lightEntities.size(); ++i) {
+	    captureLight(lightEntities.get(i), back.addLight());
+	}
+	if (cameraEntity != null && sizeComponentMapper.has(cameraEntity)) {
+	    back.hasCamera = true;
+	    capturePosition(cameraEntity, back.camera);
+	    final MapRevelationComponent revelationComp = revelationComponentMapper.get(cameraEntity);
+	    if (revelationComp != null) {
+		back.hasRevelation = true;
+		back.revelationRadius = revelationComp.revelationRadius;
+		back.revelationCircleRadius = revelationComp.revelationCircle.radius;
+	    }
+	}
+
+	// the next tick interpolates from the current position
+	for (Entity entity : mapEntities) {
+	    final SizeComponent sizeComp = sizeComponentMapper.get(entity);
+	    sizeComp.interpolatedPosition.set(sizeComp.boundingRectangle.x, sizeComp.boundingRectangle.y);
+	}
+	for (int i = 0; i < lightEntities.size(); ++i) {
+	    final SizeComponent sizeComp = sizeComponentMapper.get(lightEntities.get(i));
+	    sizeComp.interpolatedPosition.set(sizeComp.boundingRectangle.x, sizeComp.boundingRectangle.y);
+	}
+
+	synchronized (this) {
+	    back.publishTime = TimeUtils.nanoTime();
+	    final RenderSnapshot published = back;
+	    back = front;
+	    front = published;
+	}
+    }
+
+    /**
+     * Returns the latest published snapshot. Callers must hold the lock of this buffer while accessing it.
+     */
+    RenderSnapshot getFront() {
+	return front;
+    }
+
+    private void capturePosition(Entity entity, EntityRenderState state) {
+	final IDComponent idComp = idComponentMapper.get(entity);
+	final SizeComponent sizeComp = sizeComponentMapper.get(entity);
+	final Rectangle boundingRectangle = sizeComp.boundingRectangle;
+
+	state.instanceID = idComp == null ? 0 : idComp.instanceID;
+	// interpolatedPosition is the position of the previous tick unless the entity was just created or teleported
+	state.previousX = sizeComp.interpolatedPosition.x;
+	state.previousY = sizeComp.interpolatedPosition.y;
+	state.x = boundingRectangle.x;
+	state.y = boundingRectangle.y;
+	state.width = boundingRectangle.width;
+	state.height = boundingRectangle.height;
+    }
+
+    private void captureEntity(Entity entity, EntityRenderState state) {
+	capturePosition(entity, state);
+
+	final AnimationComponent animationComp = animationComponentMapper.get(entity);
+	if (animationComp != null && animationComp.animation != null) {
+	    // key frames are resolved here because Animation.getKeyFrame temporarily changes the play mode of the shared animation
+	    state.keyFrame = animationComp.animation.getKeyFrame(animationComp.animationTime, true);
+	    state.color.set(animationComp.color);
+	    state.originX = animationComp.originPoint.x;
+	    state.originY = animationComp.originPoint.y;
+	    for (SpecialEffect effect : animationComp.originEffects) {
+		state.effectKeyFrames.add(effect.getCurrentKeyFrame());
+		state.effectSizes.add(effect.getWidth());
+		state.effectSizes.add(effect.getHeight());
+	    }
+	}
+
+	final CollisionComponent collisionComp = collisionComponentMapper.get(entity);
+	if (collisionComp != null) {
+	    state.hasCollision = true;
+	    state.collisionRectangle.set(collisionComp.rectOffset.x, collisionComp.rectOffset.y, collisionComp.collisionRectangle.width,
+		    collisionComp.collisionRectangle.height);
+	}
+    }
+
+    private void captureLight(Entity entity, EntityRenderState state) {
+	capturePosition(entity, state);
+
+	final LightComponent lightComp = lightComponentMapper.get(entity);
+	state.lightRadius = lightComp.radius;
+	state.lightColor.set(lightComp.color);
+	state.lightOffsetX = lightComp.offset.x;
+	state.lightOffsetY = lightComp.offset.y;
+    }
+}
@@ -10,7 +10,8 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.viewport.FitViewport;
-import com.lok.game.screen.Screen;
+import com.lok.game.profiling.Profiler;
+import com.lok.game.profiling.ProfilerTimer;
 
 public abstract class ScreenUI extends InputAdapter implements EventListener {
     protected final AssetManager	   assetManager;
@@ -18,6 +19,8 @@ public abstract class ScreenUI extends InputAdapter implements EventListener {
     protected final Stage		   stage;
     protected final Array<UIEventListener> uiEventListeners;
     private final InputMultiplexer	   inputMultiplexer;
+    protected final ProfilerTimer	   stageActTimer;
+    protected final ProfilerTimer	   stageDrawTimer;
 
     public ScreenUI(AssetManager assetManager, Skin skin) {
 	this.assetManager = assetManager;
@@ -25,6 +28,8 @@ public abstract class ScreenUI extends InputAdapter implements EventListener {
 	this.stage = new Stage(new FitViewport(1280, 720));
 	this.uiEventListeners = new Array<UIEventListener>();
 	this.inputMultiplexer = new InputMultiplexer(this, stage);
+	this.stageActTimer = Profiler.getProfiler().getTimer("Stage.act");
+	this.stageDrawTimer = Profiler.getProfiler().getTimer("Stage.draw");
     }
 
     public void show() {
@@ -32,14 +37,18 @@ public abstract class ScreenUI extends InputAdapter implements EventListener {
     }
 
     public void update(float fixedPhysicsStep) {
+	stageActTimer.start();
 	stage.act(fixedPhysicsStep);
+	stageActTimer.stop();
     }
 
     public void render(float alpha) {
 	Gdx.gl.glClearColor(0, 0, 0, 1);
 	Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 	stage.getViewport().apply();
+	stageDrawTimer.start();
 	stage.draw();
+	stageDrawTimer.stop();
     }
 
     public void resize(int width, int height) {
@@ -54,12 +63,12 @@ public abstract class ScreenUI extends InputAdapter implements EventListener {
 	stage.dispose();
     }
 
-    public void addUIEventListener(Screen<? extends ScreenUI> screen) {
-	this.uiEventListeners.add(screen);
+    public void addUIEventListener(UIEventListener listener) {
+	this.uiEventListeners.add(listener);
     }
 
-    public void removeUIEventListener(Screen<? extends ScreenUI> screen) {
-	this.uiEventListeners.removeValue(screen, false);
+    public void removeUIEventListener(UIEventListener listener) {
+	this.uiEventListeners.removeValue(listener, false);
     }
 
 }
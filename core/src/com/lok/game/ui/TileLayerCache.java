@@ -0,0 +1,338 @@
+package com.lok.game.ui;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+
+// Static geometry of a tile layer which is baked into SpriteCaches. The layer is split into chunks of CHUNK_SIZE_IN_TILES x CHUNK_SIZE_IN_TILES tiles
+// and every chunk is a single cache so that rendering the layer is only one draw call per visible chunk.
+// Only a window of chunks around the view is baked. The window is baked again when the view leaves it which keeps the memory independent of the map size.
+// Animated tiles cannot be baked. They are kept per chunk and are drawn every frame with the batch.
+public class TileLayerCache implements Disposable {
+    public final static int	     CHUNK_SIZE_IN_TILES     = 16;
+    // additional chunks around the visible chunks that are baked to not bake again on every chunk border
+    private final static int	     WINDOW_MARGIN_IN_CHUNKS = 1;
+    // maximum amount of sprites of a SpriteCache that uses indices
+    private final static int	     MAX_SPRITES_PER_CACHE   = 8191;
+    private final static int	     VERTICES_PER_TILE	     = 20;
+
+    private final TiledMapTileLayer  layer;
+    private final float		     unitScale;
+    private final float		     tileWidth;
+    private final float		     tileHeight;
+    private final float		     offsetX;
+    private final float		     offsetY;
+    private final float		     color;
+    private final int		     numChunksX;
+    private final int		     numChunksY;
+
+    // caches are reused for every window and only get added if a window does not fit into the existing ones
+    private final Array<SpriteCache> spriteCaches;
+    private int			     windowFirstChunkX;
+    private int			     windowLastChunkX;
+    private int			     windowFirstChunkY;
+    private int			     windowLastChunkY;
+    // index of the SpriteCache and cache id of every chunk. -1 for chunks that are not baked or do not have static tiles
+    private final int[]		     chunkSpriteCacheIndices;
+    private final int[]		     chunkCacheIDs;
+    // cell indices (row * layer width + column) of the animated tiles of every chunk. null for chunks without animated tiles
+    private final IntArray[]	     chunkAnimatedCells;
+
+    private final float[]	     vertices;
+
+    public TileLayerCache(TiledMapTileLayer layer, float unitScale) {
+	this.layer = layer;
+	this.unitScale = unitScale;
+	this.tileWidth = layer.getTileWidth() * unitScale;
+	this.tileHeight = layer.getTileHeight() * unitScale;
+	this.offsetX = layer.getRenderOffsetX() * unitScale;
+	this.offsetY = -layer.getRenderOffsetY() * unitScale;
+	this.color = Color.toFloatBits(1, 1, 1, layer.getOpacity());
+	this.numChunksX = (layer.getWidth() + CHUNK_SIZE_IN_TILES - 1) / CHUNK_SIZE_IN_TILES;
+	this.numChunksY = (layer.getHeight() + CHUNK_SIZE_IN_TILES - 1) / CHUNK_SIZE_IN_TILES;
+
+	final int numChunks = numChunksX * numChunksY;
+	this.spriteCaches = new Array<SpriteCache>();
+	this.chunkSpriteCacheIndices = new int[numChunks];
+	this.chunkCacheIDs = new int[numChunks];
+	this.chunkAnimatedCells = new IntArray[numChunks];
+	this.vertices = new float[VERTICES_PER_TILE];
+	this.windowFirstChunkX = this.windowFirstChunkY = 0;
+	this.windowLastChunkX = this.windowLastChunkY = -1;
+
+	for (int i = 0; i < numChunks; ++i) {
+	    chunkSpriteCacheIndices[i] = -1;
+	    chunkCacheIDs[i] = -1;
+	}
+
+	for (int row = 0; row < layer.getHeight(); ++row) {
+	    for (int col = 0; col < layer.getWidth(); ++col) {
+		final Cell cell = layer.getCell(col, row);
+		if (cell != null && cell.getTile() instanceof AnimatedTiledMapTile) {
+		    final int chunkIndex = getChunkIndex(col / CHUNK_SIZE_IN_TILES, row / CHUNK_SIZE_IN_TILES);
+		    if (chunkAnimatedCells[chunkIndex] == null) {
+			chunkAnimatedCells[chunkIndex] = new IntArray();
+		    }
+		    chunkAnimatedCells[chunkIndex].add(row * layer.getWidth() + col);
+		}
+	    }
+	}
+    }
+
+    private void bakeWindow(int firstChunkX, int lastChunkX, int firstChunkY, int lastChunkY) {
+	for (int chunkY = windowFirstChunkY; chunkY <= windowLastChunkY; ++chunkY) {
+	    for (int chunkX = windowFirstChunkX; chunkX <= windowLastChunkX; ++chunkX) {
+		final int chunkIndex = getChunkIndex(chunkX, chunkY);
+		chunkSpriteCacheIndices[chunkIndex] = -1;
+		chunkCacheIDs[chunkIndex] = -1;
+	    }
+	}
+	for (SpriteCache spriteCache : spriteCaches) {
+	    spriteCache.clear();
+	}
+
+	windowFirstChunkX = firstChunkX;
+	windowLastChunkX = lastChunkX;
+	windowFirstChunkY = firstChunkY;
+	windowLastChunkY = lastChunkY;
+
+	// fill the caches in chunk order. The next cache is used when a chunk does not fit anymore
+	int spriteCacheIndex = 0;
+	int spriteCacheSize = 0;
+	for (int chunkY = firstChunkY; chunkY <= lastChunkY; ++chunkY) {
+	    for (int chunkX = firstChunkX; chunkX <= lastChunkX; ++chunkX) {
+		final int numSprites = getNumStaticTiles(chunkX, chunkY);
+		if (numSprites == 0) {
+		    continue;
+		}
+
+		if (spriteCacheSize + numSprites > MAX_SPRITES_PER_CACHE) {
+		    ++spriteCacheIndex;
+		    spriteCacheSize = 0;
+		}
+		if (spriteCacheIndex == spriteCaches.size) {
+		    spriteCaches.add(new SpriteCache(MAX_SPRITES_PER_CACHE, true));
+		}
+		spriteCacheSize += numSprites;
+
+		final SpriteCache spriteCache = spriteCaches.get(spriteCacheIndex);
+		spriteCache.beginCache();
+		final int lastRow = Math.min(layer.getHeight(), (chunkY + 1) * CHUNK_SIZE_IN_TILES);
+		final int lastCol = Math.min(layer.getWidth(), (chunkX + 1) * CHUNK_SIZE_IN_TILES);
+		for (int row = chunkY * CHUNK_SIZE_IN_TILES; row < lastRow; ++row) {
+		    for (int col = chunkX * CHUNK_SIZE_IN_TILES; col < lastCol; ++col) {
+			final Cell cell = layer.getCell(col, row);
+			if (isStaticTile(cell)) {
+			    final TextureRegion region = computeVertices(cell, col, row);
+			    spriteCache.add(region.getTexture(), vertices, 0, VERTICES_PER_TILE);
+			}
+		    }
+		}
+
+		final int chunkIndex = getChunkIndex(chunkX, chunkY);
+		chunkSpriteCacheIndices[chunkIndex] = spriteCacheIndex;
+		chunkCacheIDs[chunkIndex] = spriteCache.endCache();
+	    }
+	}
+    }
+
+    private int getNumStaticTiles(int chunkX, int chunkY) {
+	int result = 0;
+	final int lastRow = Math.min(layer.getHeight(), (chunkY + 1) * CHUNK_SIZE_IN_TILES);
+	final int lastCol = Math.min(layer.getWidth(), (chunkX + 1) * CHUNK_SIZE_IN_TILES);
+	for (int row = chunkY * CHUNK_SIZE_IN_TILES; row < lastRow; ++row) {
+	    for (int col = chunkX * CHUNK_SIZE_IN_TILES; col < lastCol; ++col) {
+		if (isStaticTile(layer.getCell(col, row))) {
+		    ++result;
+		}
+	    }
+	}
+	return result;
+    }
+
+    private boolean isStaticTile(Cell cell) {
+	return cell != null && cell.getTile() != null && !(cell.getTile() instanceof AnimatedTiledMapTile);
+    }
+
+    private int getChunkIndex(int chunkX, int chunkY) {
+	return chunkY * numChunksX + chunkX;
+    }
+
+    // same vertex layout, flipping and rotation as OrthogonalTiledMapRenderer.renderTileLayer
+    private TextureRegion computeVertices(Cell cell, int col, int row) {
+	final TiledMapTile tile = cell.getTile();
+	final TextureRegion region = tile.getTextureRegion();
+
+	final float x1 = col * tileWidth + offsetX + tile.getOffsetX() * unitScale;
+	final float y1 = row * tileHeight + offsetY + tile.getOffsetY() * unitScale;
+	final float x2 = x1 + region.getRegionWidth() * unitScale;
+	final float y2 = y1 + region.getRegionHeight() * unitScale;
+
+	final float u1 = region.getU();
+	final float v1 = region.getV2();
+	final float u2 = region.getU2();
+	final float v2 = region.getV();
+
+	vertices[Batch.X1] = x1;
+	vertices[Batch.Y1] = y1;
+	vertices[Batch.C1] = color;
+	vertices[Batch.U1] = u1;
+	vertices[Batch.V1] = v1;
+
+	vertices[Batch.X2] = x1;
+	vertices[Batch.Y2] = y2;
+	vertices[Batch.C2] = color;
+	vertices[Batch.U2] = u1;
+	vertices[Batch.V2] = v2;
+
+	vertices[Batch.X3] = x2;
+	vertices[Batch.Y3] = y2;
+	vertices[Batch.C3] = color;
+	vertices[Batch.U3] = u2;
+	vertices[Batch.V3] = v2;
+
+	vertices[Batch.X4] = x2;
+	vertices[Batch.Y4] = y1;
+	vertices[Batch.C4] = color;
+	vertices[Batch.U4] = u2;
+	vertices[Batch.V4] = v1;
+
+	if (cell.getFlipHorizontally()) {
+	    swap(Batch.U1, Batch.U3);
+	    swap(Batch.U2, Batch.U4);
+	}
+	if (cell.getFlipVertically()) {
+	    swap(Batch.V1, Batch.V3);
+	    swap(Batch.V2, Batch.V4);
+	}
+
+	switch (cell.getRotation()) {
+	    case Cell.ROTATE_90:
+		rotate(Batch.V1, Batch.V2, Batch.V3, Batch.V4);
+		rotate(Batch.U1, Batch.U2, Batch.U3, Batch.U4);
+		break;
+	    case Cell.ROTATE_180:
+		swap(Batch.U1, Batch.U3);
+		swap(Batch.U2, Batch.U4);
+		swap(Batch.V1, Batch.V3);
+		swap(Batch.V2, Batch.V4);
+		break;
+	    case Cell.ROTATE_270:
+		rotate(Batch.V1, Batch.V4, Batch.V3, Batch.V2);
+		rotate(Batch.U1, Batch.U4, Batch.U3, Batch.U2);
+		break;
+	    default:
+		break;
+	}
+
+	return region;
+    }
+
+    private void swap(int index1, int index2) {
+	final float temp = vertices[index1];
+	vertices[index1] = vertices[index2];
+	vertices[index2] = temp;
+    }
+
+    // moves the value of index2 to index1, index3 to index2, index4 to index3 and index1 to index4
+    private void rotate(int index1, int index2, int index3, int index4) {
+	final float temp = vertices[index1];
+	vertices[index1] = vertices[index2];
+	vertices[index2] = vertices[index3];
+	vertices[index3] = vertices[index4];
+	vertices[index4] = temp;
+    }
+
+    /**
+     * Renders all chunks that overlap the view bounds. Must not be called between begin and end of the batch.
+     */
+    public void render(Batch batch, Matrix4 projectionMatrix, Rectangle viewBounds) {
+	if (!layer.isVisible()) {
+	    return;
+	}
+
+	final int firstChunkX = Math.max(0, (int) ((viewBounds.x - offsetX) / tileWidth) / CHUNK_SIZE_IN_TILES);
+	final int lastChunkX = Math.min(numChunksX - 1, (int) ((viewBounds.x + viewBounds.width - offsetX) / tileWidth) / CHUNK_SIZE_IN_TILES);
+	final int firstChunkY = Math.max(0, (int) ((viewBounds.y - offsetY) / tileHeight) / CHUNK_SIZE_IN_TILES);
+	final int lastChunkY = Math.min(numChunksY - 1, (int) ((viewBounds.y + viewBounds.height - offsetY) / tileHeight) / CHUNK_SIZE_IN_TILES);
+	if (firstChunkX > lastChunkX || firstChunkY > lastChunkY) {
+	    return;
+	}
+	if (firstChunkX < windowFirstChunkX || lastChunkX > windowLastChunkX || firstChunkY < windowFirstChunkY || lastChunkY > windowLastChunkY) {
+	    bakeWindow(Math.max(0, firstChunkX - WINDOW_MARGIN_IN_CHUNKS), Math.min(numChunksX - 1, lastChunkX + WINDOW_MARGIN_IN_CHUNKS),
+		    Math.max(0, firstChunkY - WINDOW_MARGIN_IN_CHUNKS), Math.min(numChunksY - 1, lastChunkY + WINDOW_MARGIN_IN_CHUNKS));
+	}
+
+	Gdx.gl.glEnable(GL20.GL_BLEND);
+	Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+	SpriteCache activeSpriteCache = null;
+	boolean hasAnimatedCells = false;
+	for (int chunkY = firstChunkY; chunkY <= lastChunkY; ++chunkY) {
+	    for (int chunkX = firstChunkX; chunkX <= lastChunkX; ++chunkX) {
+		final int chunkIndex = getChunkIndex(chunkX, chunkY);
+		hasAnimatedCells |= chunkAnimatedCells[chunkIndex] != null;
+		if (chunkCacheIDs[chunkIndex] == -1) {
+		    continue;
+		}
+
+		final SpriteCache spriteCache = spriteCaches.get(chunkSpriteCacheIndices[chunkIndex]);
+		if (spriteCache != activeSpriteCache) {
+		    if (activeSpriteCache != null) {
+			activeSpriteCache.end();
+		    }
+		    activeSpriteCache = spriteCache;
+		    activeSpriteCache.setProjectionMatrix(projectionMatrix);
+		    activeSpriteCache.begin();
+		}
+		activeSpriteCache.draw(chunkCacheIDs[chunkIndex]);
+	    }
+	}
+	if (activeSpriteCache != null) {
+	    activeSpriteCache.end();
+	}
+
+	if (hasAnimatedCells) {
+	    batch.begin();
+	    for (int chunkY = firstChunkY; chunkY <= lastChunkY; ++chunkY) {
+		for (int chunkX = firstChunkX; chunkX <= lastChunkX; ++chunkX) {
+		    final IntArray animatedCells = chunkAnimatedCells[getChunkIndex(chunkX, chunkY)];
+		    if (animatedCells == null) {
+			continue;
+		    }
+
+		    for (int i = 0; i < animatedCells.size; ++i) {
+			final int col = animatedCells.get(i) % layer.getWidth();
+			final int row = animatedCells.get(i) / layer.getWidth();
+			final TextureRegion region = computeVertices(layer.getCell(col, row), col, row);
+			batch.draw(region.getTexture(), vertices, 0, VERTICES_PER_TILE);
+		    }
+		}
+	    }
+	    batch.end();
+	}
+    }
+
+    public TiledMapTileLayer getLayer() {
+	return layer;
+    }
+
+    @Override
+    public void dispose() {
+	for (SpriteCache spriteCache : spriteCaches) {
+	    spriteCache.dispose();
+	}
+	spriteCaches.clear();
+    }
+}
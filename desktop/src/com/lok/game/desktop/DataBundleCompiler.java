@@ -0,0 +1,53 @@
+package com.lok.game.desktop;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import com.lok.game.assets.DataBundle;
+import com.lok.game.assets.DataBundleWriter;
+
+// Compiles the json files of the given asset directories into the DataBundle (see buildDataBundle task).
+// Arguments: <assets directory> [<directory relative to the assets directory> ...]
+public class DataBundleCompiler {
+    private static final String[] DEFAULT_DIRECTORIES = { "json", "conversations" };
+
+    public static void main(String[] args) throws IOException {
+	if (args.length < 1) {
+	    System.err.println("Usage: DataBundleCompiler <assets directory> [<json directory> ...]");
+	    System.exit(1);
+	}
+
+	final File assetsDir = new File(args[0]);
+	final String[] directories = args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : DEFAULT_DIRECTORIES;
+	final JsonReader jsonReader = new JsonReader();
+	final DataBundleWriter writer = new DataBundleWriter();
+	for (String directory : directories) {
+	    final File[] files = new File(assetsDir, directory).listFiles();
+	    if (files == null) {
+		throw new IOException("Directory " + directory + " does not exist in " + assetsDir);
+	    }
+	    // same order on every system so that the bundle only changes with its content
+	    Arrays.sort(files);
+	    for (File file : files) {
+		if (file.isFile() && file.getName().endsWith(".json")) {
+		    writer.addDocument(directory + "/" + file.getName(), file.lastModified(), jsonReader.parse(new FileHandle(file)));
+		}
+	    }
+	}
+
+	final File bundleFile = new File(assetsDir, DataBundle.BUNDLE_PATH);
+	final OutputStream outputStream = new FileOutputStream(bundleFile);
+	try {
+	    writer.write(outputStream);
+	} finally {
+	    outputStream.close();
+	}
+	System.out.println("Compiled " + writer.getNumDocuments() + " documents with " + writer.getNumStrings() + " strings into " + bundleFile.getPath() + " ("
+		+ bundleFile.length() + " bytes)");
+    }
+}
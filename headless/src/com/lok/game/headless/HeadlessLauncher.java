@@ -0,0 +1,29 @@
+package com.lok.game.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+public class HeadlessLauncher {
+    // one hour of game time
+    private static final long DEFAULT_TICKS = 30 * 60 * 60;
+
+    public static void main(String[] arg) {
+	final long numTicks = arg.length > 0 ? Long.parseLong(arg[0]) : DEFAULT_TICKS;
+
+	launch(numTicks);
+    }
+
+    /**
+     * Starts a headless simulation and waits until it is initialized. See {@link HeadlessSimulation#HeadlessSimulation(long)} for numTicks.
+     */
+    public static HeadlessSimulation launch(long numTicks) {
+	final HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+	// as fast as possible for a soak test. Otherwise the application thread only idles
+	config.renderInterval = numTicks > 0 ? 0 : 1;
+
+	final HeadlessSimulation simulation = new HeadlessSimulation(numTicks);
+	new HeadlessApplication(simulation, config);
+	simulation.awaitReady();
+	return simulation;
+    }
+}
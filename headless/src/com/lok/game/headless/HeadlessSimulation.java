@@ -0,0 +1,192 @@
+package com.lok.game.headless;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CountDownLatch;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.I18NBundle;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.lok.game.GameContext;
+import com.lok.game.assets.GameAssets;
+import com.lok.game.assets.loader.AnimationLoader;
+import com.lok.game.assets.loader.EntityConfigurationLoader;
+import com.lok.game.assets.loader.MapLoader;
+import com.lok.game.ecs.EntityConfiguration;
+import com.lok.game.ecs.EntityEngine;
+import com.lok.game.map.Map;
+import com.lok.game.map.MapManager;
+import com.lok.game.ui.Animation;
+
+// Runs the EntityEngine and MapManager without a window, rendering or audio.
+// Textures of the animations and tilesets are created with a GL20 that does nothing so that the regular asset loaders can be used.
+public class HeadlessSimulation implements ApplicationListener, GameContext {
+    private static final String	 TAG	    = HeadlessSimulation.class.getSimpleName();
+    // same step as the fixed physics step of the game screens
+    public static final float	 FIXED_STEP = 1.0f / 30.0f;
+
+    private final long		 numTicks;
+    private final CountDownLatch readyLatch;
+    private AssetManager	 assetManager;
+    private I18NBundle		 localizationBundle;
+    private Throwable		 createError;
+    private long		 tick;
+    private long		 startTime;
+
+    /**
+     * @param numTicks
+     *            number of ticks to simulate as fast as possible before the application exits. With 0 the simulation only gets initialized and ticks have to be done
+     *            manually via {@link #step(int)}.
+     */
+    public HeadlessSimulation(long numTicks) {
+	this.numTicks = numTicks;
+	this.readyLatch = new CountDownLatch(1);
+    }
+
+    private static GL20 createNoopGL() {
+	return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] { GL20.class }, new InvocationHandler() {
+	    @Override
+	    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		final Class<?> returnType = method.getReturnType();
+		if (returnType == boolean.class) {
+		    return false;
+		} else if (returnType == int.class) {
+		    return 0;
+		} else if (returnType == float.class) {
+		    return 0f;
+		} else if (returnType == String.class) {
+		    return "";
+		}
+		return null;
+	    }
+	});
+    }
+
+    @Override
+    public void create() {
+	try {
+	    Gdx.app.setLogLevel(Application.LOG_INFO);
+	    Gdx.gl = Gdx.gl20 = createNoopGL();
+
+	    startTime = TimeUtils.millis();
+	    assetManager = new AssetManager();
+	    assetManager.setLoader(TiledMap.class, new TmxMapLoader(new InternalFileHandleResolver()));
+	    assetManager.setLoader(Animation.class, new AnimationLoader(new InternalFileHandleResolver()));
+	    assetManager.setLoader(Map.class, new MapLoader(new InternalFileHandleResolver()));
+	    assetManager.setLoader(EntityConfiguration.class, new EntityConfigurationLoader(new InternalFileHandleResolver()));
+
+	    assetManager.load("localization/Labels", I18NBundle.class);
+	    GameAssets.loadAnimations(assetManager);
+	    GameAssets.loadMaps(assetManager);
+	    GameAssets.loadEntityConfigurations(assetManager);
+	    assetManager.finishLoading();
+	    localizationBundle = assetManager.get("localization/Labels", I18NBundle.class);
+
+	    // never touch the gamestate of the player -> start with empty preferences
+	    final Preferences preferences = Gdx.app.getPreferences("lok-headless");
+	    preferences.clear();
+	    MapManager.getManager().onLoad(new Json(), preferences);
+	    Gdx.app.log(TAG, "Initialized simulation in " + TimeUtils.timeSinceMillis(startTime) / 1000.0f + " seconds");
+	} catch (Throwable t) {
+	    createError = t;
+	    throw t;
+	} finally {
+	    readyLatch.countDown();
+	}
+
+	startTime = TimeUtils.millis();
+    }
+
+    /**
+     * Blocks until the simulation is initialized. Throws an exception if the initialization failed.
+     */
+    public void awaitReady() {
+	try {
+	    readyLatch.await();
+	} catch (InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	    throw new GdxRuntimeException("Interrupted while waiting for the headless simulation", e);
+	}
+
+	if (createError != null) {
+	    throw new GdxRuntimeException("Could not initialize headless simulation", createError);
+	}
+    }
+
+    public void step(int numSteps) {
+	for (int i = 0; i < numSteps; ++i) {
+	    EntityEngine.getEngine().update(FIXED_STEP);
+	    MapManager.getManager().update();
+	}
+	tick += numSteps;
+    }
+
+    public long getTick() {
+	return tick;
+    }
+
+    @Override
+    public void render() {
+	if (numTicks <= 0 || tick >= numTicks) {
+	    // exit is processed after the current frame
+	    return;
+	}
+
+	step(1);
+	if (tick == numTicks) {
+	    final float seconds = Math.max(1, TimeUtils.timeSinceMillis(startTime)) / 1000.0f;
+	    Gdx.app.log(TAG, "Simulated " + tick + " ticks (" + tick * FIXED_STEP + " game seconds) in " + seconds + " seconds -> " + (int) (tick / seconds) + " ticks per second");
+	    Gdx.app.exit();
+	}
+    }
+
+    @Override
+    public AssetManager getAssetManager() {
+	return assetManager;
+    }
+
+    @Override
+    public String getLabel(String labelKey) {
+	return localizationBundle.format(labelKey);
+    }
+
+    @Override
+    public Skin getUISkin() {
+	// there is no UI
+	return null;
+    }
+
+    @Override
+    public void resize(int width, int height) {
+	// not needed
+    }
+
+    @Override
+    public void pause() {
+	// not needed
+    }
+
+    @Override
+    public void resume() {
+	// not needed
+    }
+
+    @Override
+    public void dispose() {
+	if (assetManager != null) {
+	    assetManager.dispose();
+	}
+    }
+}